@@ -0,0 +1,113 @@
+package com.core.bank.application.cache;
+
+/**
+ * Filtro de Bloom con un contador de 8 bits por posición, para admitir bajas.
+ * <p>
+ * Un contador que llega a 255 queda fijo y no vuelve a bajar, así que la saturación solo añade falsos
+ * positivos. Las consultas no bloquean; altas y bajas se serializan. Una consulta concurrente con el alta del
+ * mismo valor puede no verlo, igual que no vería en la base una fila aún sin confirmar.
+ */
+final class CountingBloomFilter {
+
+    private static final int SATURATED = 0xFF;
+
+    private final byte[] counters;
+    private final int hashes;
+    private int occupied;
+    private long keys;
+
+    CountingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long expected = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long size = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counters = new byte[(int) Math.max(64, Math.min(size, Integer.MAX_VALUE - 8))];
+        this.hashes = (int) Math.max(1, Math.round((double) counters.length / expected * ln2));
+    }
+
+    /**
+     * false si el valor seguro no se añadió (o se quitó después); true si quizá está.
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            if (counters[index(h1, h2, i)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int index = index(h1, h2, i);
+            int count = counters[index] & 0xFF;
+            if (count == 0) {
+                occupied++;
+            }
+            if (count != SATURATED) {
+                counters[index] = (byte) (count + 1);
+            }
+        }
+        keys++;
+    }
+
+    /**
+     * Quita un valor añadido antes. Quitar uno que no se añadió dejaría fuera a otros: solo se hace si el filtro
+     * todavía lo considera presente.
+     */
+    synchronized void remove(String key) {
+        if (!mightContain(key)) {
+            return;
+        }
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int index = index(h1, h2, i);
+            int count = counters[index] & 0xFF;
+            if (count != 0 && count != SATURATED) {
+                counters[index] = (byte) (count - 1);
+                if (count == 1) {
+                    occupied--;
+                }
+            }
+        }
+        keys--;
+    }
+
+    /**
+     * Probabilidad de falso positivo con la ocupación actual: (posiciones ocupadas / total)^k.
+     */
+    synchronized double estimatedFalsePositiveRate() {
+        return Math.pow((double) occupied / counters.length, hashes);
+    }
+
+    synchronized long keys() {
+        return keys;
+    }
+
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined < 0 ? ~combined : combined) % counters.length;
+    }
+
+    // FNV-1a de 64 bits con el mezclado final de MurmurHash3 para repartir los bits altos y bajos
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
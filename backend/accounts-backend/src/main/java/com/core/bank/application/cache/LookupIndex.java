@@ -0,0 +1,134 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.application.utils.TransactionHooks;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opciones (id y etiqueta) de los selectores de clientes y cuentas, buscadas por prefijo en memoria.
+ * <p>
+ * Clientes por cualquier palabra del nombre o por identificación; cuentas por número. Se carga al arrancar,
+ * se actualiza tras confirmar cada alta, cambio o baja de esta instancia y se recarga completo cada
+ * {@code app.lookup.refresh} para recoger los cambios de otras instancias. Una recarga que se cruza con un
+ * cambio se repite.
+ */
+@Slf4j
+@Component
+public class LookupIndex {
+
+    public record Option(String id, String label) {
+    }
+
+    private static final String CUSTOMERS_QUERY =
+            "SELECT id, name, identification FROM personas WHERE tipo_persona = 'CLIENTE'";
+    private static final String ACCOUNTS_QUERY = "SELECT id, account_number, account_type FROM cuentas";
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile PrefixIndex customers = new PrefixIndex();
+    private volatile PrefixIndex accounts = new PrefixIndex();
+    private volatile boolean ready;
+
+    public LookupIndex(JdbcTemplate jdbcTemplate, BankMetrics bankMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        bankMetrics.lookupEntries("customers", () -> customers.size());
+        bankMetrics.lookupEntries("accounts", () -> accounts.size());
+    }
+
+    public List<Option> customers(String prefix, int limit) {
+        ensureLoaded();
+        return customers.find(prefix, limit);
+    }
+
+    public List<Option> accounts(String prefix, int limit) {
+        ensureLoaded();
+        return accounts.find(prefix, limit);
+    }
+
+    public void customerChanged(String id, String name, String identification) {
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            putCustomer(customers, id, name, identification);
+        });
+    }
+
+    public void customerRemoved(String id) {
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            customers.remove(id);
+        });
+    }
+
+    public void accountChanged(String id, String accountNumber, String accountType) {
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            putAccount(accounts, id, accountNumber, accountType);
+        });
+    }
+
+    public void accountRemoved(String id) {
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            accounts.remove(id);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.lookup.refresh:PT5M}",
+            initialDelayString = "${app.lookup.refresh:PT5M}")
+    public synchronized void refresh() {
+        try {
+            for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+                long version = changes.get();
+                PrefixIndex loadedCustomers = new PrefixIndex();
+                PrefixIndex loadedAccounts = new PrefixIndex();
+                jdbcTemplate.query(CUSTOMERS_QUERY, rs -> {
+                    putCustomer(loadedCustomers, rs.getString(1), rs.getString(2), rs.getString(3));
+                });
+                jdbcTemplate.query(ACCOUNTS_QUERY, rs -> {
+                    putAccount(loadedAccounts, rs.getString(1), rs.getString(2), rs.getString(3));
+                });
+                // En el último intento se publica igual: lo que falte llega con la siguiente recarga
+                if (changes.get() == version || attempt == RELOAD_ATTEMPTS) {
+                    customers = loadedCustomers;
+                    accounts = loadedAccounts;
+                    ready = true;
+                    log.debug("Índice de selectores cargado: {} clientes, {} cuentas",
+                            loadedCustomers.size(), loadedAccounts.size());
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudo cargar el índice de selectores: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            refresh();
+        }
+    }
+
+    private static void putCustomer(PrefixIndex index, String id, String name, String identification) {
+        List<String> terms = new ArrayList<>(Arrays.asList(name.trim().split("\\s+")));
+        terms.add(identification);
+        index.put(id, name + " (" + identification + ")", terms);
+    }
+
+    private static void putAccount(PrefixIndex index, String id, String accountNumber, String accountType) {
+        index.put(id, accountNumber + " - " + accountType, List.of(accountNumber));
+    }
+}
@@ -0,0 +1,86 @@
+package com.core.bank.application.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice ordenado de opciones por términos normalizados (minúsculas y sin tildes). Cada término entra como
+ * {@code término \0 id} en una skip list, así una búsqueda por prefijo es un recorrido por rango. Las búsquedas
+ * no bloquean; altas y bajas se serializan.
+ */
+final class PrefixIndex {
+
+    private static final char SEPARATOR = '\0';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final ConcurrentSkipListMap<String, LookupIndex.Option> byTerm = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, LookupIndex.Option> byLabel = new ConcurrentSkipListMap<>();
+    private final Map<String, Indexed> byId = new ConcurrentHashMap<>();
+
+    private record Indexed(LookupIndex.Option option, List<String> termKeys, String labelKey) {
+    }
+
+    /**
+     * Agrega la opción o reemplaza la que tenga el mismo id.
+     */
+    synchronized void put(String id, String label, Collection<String> terms) {
+        remove(id);
+        LookupIndex.Option option = new LookupIndex.Option(id, label);
+        List<String> termKeys = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            String normalized = normalize(term);
+            if (!normalized.isEmpty()) {
+                String key = normalized + SEPARATOR + id;
+                byTerm.put(key, option);
+                termKeys.add(key);
+            }
+        }
+        String labelKey = normalize(label) + SEPARATOR + id;
+        byLabel.put(labelKey, option);
+        byId.put(id, new Indexed(option, termKeys, labelKey));
+    }
+
+    synchronized void remove(String id) {
+        Indexed indexed = byId.remove(id);
+        if (indexed != null) {
+            indexed.termKeys().forEach(byTerm::remove);
+            byLabel.remove(indexed.labelKey());
+        }
+    }
+
+    /**
+     * Opciones con algún término que empieza por el prefijo, sin repetir, hasta limit. Sin prefijo, las
+     * primeras por etiqueta.
+     */
+    List<LookupIndex.Option> find(String prefix, int limit) {
+        String normalized = prefix != null ? normalize(prefix) : "";
+        Collection<LookupIndex.Option> candidates = normalized.isEmpty()
+                ? byLabel.values()
+                : byTerm.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values();
+        Map<String, LookupIndex.Option> found = new LinkedHashMap<>();
+        for (LookupIndex.Option option : candidates) {
+            if (found.size() >= limit) {
+                break;
+            }
+            found.putIfAbsent(option.id(), option);
+        }
+        return List.copyOf(found.values());
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
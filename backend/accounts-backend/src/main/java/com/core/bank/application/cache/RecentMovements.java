@@ -0,0 +1,281 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.domain.repository.TransactionRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Últimos movimientos de una cuenta en un anillo de arreglos paralelos: id como dos long, fecha como segundos y
+ * nanos, montos como centavos y el tipo como referencia compartida. Solo la descripción es un objeto por fila.
+ * <p>
+ * Guarda siempre los {@code size} movimientos más recientes de la cuenta y el total de la cuenta; con
+ * {@code size == total} están todos. Los arreglos crecen hasta {@code capacity}. No es seguro entre hilos:
+ * {@link RecentMovementsCache} lo usa bajo su propio bloqueo.
+ */
+final class RecentMovements {
+
+    private static final String[] TYPES = {"DEBITO", "CREDITO"};
+    private static final int MIN_LENGTH = 8;
+    private static final int SCALE = 2;
+    // Cabeceras de los ocho arreglos y campos del objeto
+    private static final long OVERHEAD_BYTES = 8 * 16 + 48;
+    // id, fecha, montos y dos referencias por fila
+    private static final long ROW_BYTES = 16 + 12 + 16 + 8;
+
+    private final String accountId;
+    private final int capacity;
+    private long[] idHigh;
+    private long[] idLow;
+    private long[] seconds;
+    private int[] nanos;
+    private long[] amounts;
+    private long[] balances;
+    private String[] types;
+    private String[] descriptions;
+    // Posición física del más antiguo
+    private int head;
+    private int size;
+    private long total;
+
+    private RecentMovements(String accountId, int capacity, int length) {
+        this.accountId = accountId;
+        this.capacity = capacity;
+        allocate(length);
+    }
+
+    /**
+     * Construye el anillo a partir de los movimientos más recientes en orden descendente, como los devuelve el
+     * listado. Devuelve null si alguno no se puede representar (id que no es UUID o monto fuera de rango).
+     */
+    static RecentMovements of(String accountId, int capacity, List<TransactionRow> newest, long total) {
+        int loaded = Math.min(newest.size(), capacity);
+        RecentMovements recent = new RecentMovements(accountId, capacity,
+                Math.min(capacity, Math.max(MIN_LENGTH, loaded)));
+        try {
+            for (int i = loaded - 1; i >= 0; i--) {
+                recent.write(recent.size++, newest.get(i));
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return null;
+        }
+        recent.total = Math.max(total, loaded);
+        return recent;
+    }
+
+    long total() {
+        return total;
+    }
+
+    /**
+     * true si la página sale completa de memoria: está dentro de lo guardado o se guardan todos.
+     */
+    boolean covers(int offset, int limit) {
+        return size == total || (long) offset + limit <= size;
+    }
+
+    /**
+     * Página en orden descendente de fecha, como el listado de la base.
+     */
+    List<TransactionRow> page(int offset, int limit) {
+        int end = (int) Math.min(size, (long) offset + limit);
+        List<TransactionRow> rows = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            rows.add(read(physical(size - 1 - i)));
+        }
+        return rows;
+    }
+
+    /**
+     * Movimiento confirmado en la cuenta. Entra si es más reciente que el más antiguo guardado (o si se guardan
+     * todos); si no, solo suma al total. Con el anillo lleno sale el más antiguo.
+     *
+     * @return false si no se puede representar y hay que descartar la cuenta
+     */
+    boolean add(TransactionRow row) {
+        if (!representable(row)) {
+            return false;
+        }
+        if (indexOf(row.id()) >= 0) {
+            return true;
+        }
+        boolean all = size == total;
+        total++;
+        // Hay anteriores sin guardar y este no es más reciente que el más antiguo: no se sabe dónde va
+        if (!all && (size == 0 || before(row.date(), 0))) {
+            return true;
+        }
+        if (size == capacity) {
+            if (before(row.date(), 0)) {
+                return true;
+            }
+            head = physical(1);
+            size--;
+        } else if (size == idHigh.length) {
+            grow();
+        }
+        // Posición lógica: después de todos los que tienen fecha menor o igual
+        int position = size;
+        while (position > 0 && before(row.date(), position - 1)) {
+            position--;
+        }
+        for (int i = size; i > position; i--) {
+            move(physical(i - 1), physical(i));
+        }
+        size++;
+        write(position, row);
+        return true;
+    }
+
+    /**
+     * Movimiento anulado. Los guardados siguen siendo los más recientes de la cuenta.
+     */
+    void remove(String id) {
+        total = Math.max(0, total - 1);
+        int position = indexOf(id);
+        if (position < 0) {
+            return;
+        }
+        for (int i = position; i < size - 1; i++) {
+            move(physical(i + 1), physical(i));
+        }
+        size--;
+        descriptions[physical(size)] = null;
+        types[physical(size)] = null;
+    }
+
+    /**
+     * Memoria aproximada: arreglos reservados más las descripciones guardadas (cadenas Latin-1).
+     */
+    long estimatedBytes() {
+        long bytes = OVERHEAD_BYTES + accountId.length() + (long) idHigh.length * ROW_BYTES;
+        for (int i = 0; i < size; i++) {
+            String description = descriptions[physical(i)];
+            bytes += description != null ? 40 + description.length() : 0;
+        }
+        return bytes;
+    }
+
+    private static boolean representable(TransactionRow row) {
+        try {
+            UUID.fromString(row.id());
+            cents(row.amount());
+            cents(row.balance());
+            return true;
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return false;
+        }
+    }
+
+    private int indexOf(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            int p = physical(i);
+            if (idHigh[p] == uuid.getMostSignificantBits() && idLow[p] == uuid.getLeastSignificantBits()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // true si la fecha es anterior a la del movimiento en la posición lógica indicada
+    private boolean before(LocalDateTime date, int position) {
+        int p = physical(position);
+        long epochSecond = date.toEpochSecond(ZoneOffset.UTC);
+        return epochSecond < seconds[p] || (epochSecond == seconds[p] && date.getNano() < nanos[p]);
+    }
+
+    private void write(int position, TransactionRow row) {
+        UUID uuid = UUID.fromString(row.id());
+        int p = physical(position);
+        idHigh[p] = uuid.getMostSignificantBits();
+        idLow[p] = uuid.getLeastSignificantBits();
+        seconds[p] = row.date().toEpochSecond(ZoneOffset.UTC);
+        nanos[p] = row.date().getNano();
+        amounts[p] = cents(row.amount());
+        balances[p] = cents(row.balance());
+        types[p] = canonical(row.type());
+        descriptions[p] = row.description();
+    }
+
+    private TransactionRow read(int p) {
+        return new TransactionRow(new UUID(idHigh[p], idLow[p]).toString(),
+                LocalDateTime.ofEpochSecond(seconds[p], nanos[p], ZoneOffset.UTC), descriptions[p], types[p],
+                BigDecimal.valueOf(amounts[p], SCALE), BigDecimal.valueOf(balances[p], SCALE), accountId);
+    }
+
+    private void move(int from, int to) {
+        idHigh[to] = idHigh[from];
+        idLow[to] = idLow[from];
+        seconds[to] = seconds[from];
+        nanos[to] = nanos[from];
+        amounts[to] = amounts[from];
+        balances[to] = balances[from];
+        types[to] = types[from];
+        descriptions[to] = descriptions[from];
+    }
+
+    private int physical(int position) {
+        return (head + position) % idHigh.length;
+    }
+
+    // Duplica los arreglos (hasta capacity) dejando el más antiguo en la posición 0
+    private void grow() {
+        RecentMovements grown = new RecentMovements(accountId, capacity, Math.min(capacity, idHigh.length * 2));
+        for (int i = 0; i < size; i++) {
+            int p = physical(i);
+            grown.idHigh[i] = idHigh[p];
+            grown.idLow[i] = idLow[p];
+            grown.seconds[i] = seconds[p];
+            grown.nanos[i] = nanos[p];
+            grown.amounts[i] = amounts[p];
+            grown.balances[i] = balances[p];
+            grown.types[i] = types[p];
+            grown.descriptions[i] = descriptions[p];
+        }
+        idHigh = grown.idHigh;
+        idLow = grown.idLow;
+        seconds = grown.seconds;
+        nanos = grown.nanos;
+        amounts = grown.amounts;
+        balances = grown.balances;
+        types = grown.types;
+        descriptions = grown.descriptions;
+        head = 0;
+    }
+
+    private void allocate(int length) {
+        idHigh = new long[length];
+        idLow = new long[length];
+        seconds = new long[length];
+        nanos = new int[length];
+        amounts = new long[length];
+        balances = new long[length];
+        types = new String[length];
+        descriptions = new String[length];
+    }
+
+    // DECIMAL(19, 2): mismo redondeo que aplica la base al guardar
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static String canonical(String type) {
+        for (String known : TYPES) {
+            if (known.equals(type)) {
+                return known;
+            }
+        }
+        return type;
+    }
+}
@@ -0,0 +1,211 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.domain.repository.TransactionRow;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.infrastructure.persistence.ReplicaRoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Últimos {@code per-account} movimientos y total de movimientos por cuenta, en un LRU de hasta
+ * {@code max-accounts} cuentas. Sirve desde memoria el listado de una cuenta sin filtro de fechas (y su total)
+ * cuando la página cae dentro de lo guardado.
+ * <p>
+ * Se carga la primera vez que se pide una cuenta y se mantiene con los movimientos que esta instancia confirma
+ * o anula. Como en {@link ReportCache}, cada cuenta tiene una versión que se lee antes de cargar: si cambia
+ * mientras tanto, lo cargado no se guarda. El TTL acota los cambios hechos por otras instancias. La carga se
+ * lee del primario: una réplica atrasada dejaría guardados movimientos viejos durante todo el TTL.
+ */
+@Component
+public class RecentMovementsCache {
+
+    /**
+     * Movimientos más recientes de una cuenta, en orden descendente, y su total.
+     */
+    public record Snapshot(List<TransactionRow> newest, long total) {
+    }
+
+    private final BankMetrics bankMetrics;
+    private final Clock clock;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries;
+    private final int perAccount;
+    private final Duration ttl;
+    private final boolean enabled;
+
+    @Autowired
+    public RecentMovementsCache(BankMetrics bankMetrics,
+                                @Value("${app.movements.recent.per-account:50}") int perAccount,
+                                @Value("${app.movements.recent.max-accounts:10000}") int maxAccounts,
+                                @Value("${app.movements.recent.ttl:PT1M}") Duration ttl,
+                                @Value("${app.movements.recent.enabled:true}") boolean enabled) {
+        this(bankMetrics, perAccount, maxAccounts, ttl, enabled, Clock.systemDefaultZone());
+    }
+
+    RecentMovementsCache(BankMetrics bankMetrics, int perAccount, int maxAccounts, Duration ttl, boolean enabled,
+                         Clock clock) {
+        this.bankMetrics = bankMetrics;
+        this.perAccount = perAccount;
+        this.ttl = ttl;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxAccounts;
+            }
+        };
+        bankMetrics.recentMovements(this::accounts, this::estimatedBytes);
+    }
+
+    /**
+     * Página del listado de la cuenta sin fechas; vacío si no cabe en lo que se guarda por cuenta y hay que
+     * consultar la base. {@code loader} recibe cuántos movimientos cargar.
+     */
+    public Optional<List<TransactionRow>> page(String accountId, int offset, int limit,
+                                               IntFunction<Snapshot> loader) {
+        if (!enabled || (long) offset + limit > perAccount) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            RecentMovements recent = fresh(accountId);
+            if (recent != null && recent.covers(offset, limit)) {
+                bankMetrics.recentMovementsLookup(true);
+                return Optional.of(recent.page(offset, limit));
+            }
+        }
+        bankMetrics.recentMovementsLookup(false);
+        RecentMovements recent = load(accountId, loader);
+        synchronized (entries) {
+            return recent != null && recent.covers(offset, limit)
+                    ? Optional.of(recent.page(offset, limit))
+                    : Optional.empty();
+        }
+    }
+
+    /**
+     * Total de movimientos de la cuenta; vacío si no se pudo cargar.
+     */
+    public OptionalLong total(String accountId, IntFunction<Snapshot> loader) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        synchronized (entries) {
+            RecentMovements recent = fresh(accountId);
+            if (recent != null) {
+                bankMetrics.recentMovementsLookup(true);
+                return OptionalLong.of(recent.total());
+            }
+        }
+        bankMetrics.recentMovementsLookup(false);
+        RecentMovements recent = load(accountId, loader);
+        synchronized (entries) {
+            return recent != null ? OptionalLong.of(recent.total()) : OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Movimiento confirmado; llamar después del commit.
+     */
+    public void added(TransactionRow row) {
+        if (!enabled) {
+            return;
+        }
+        version(row.accountId()).incrementAndGet();
+        synchronized (entries) {
+            Entry entry = entries.get(row.accountId());
+            if (entry != null && !entry.recent().add(row)) {
+                entries.remove(row.accountId());
+            }
+        }
+    }
+
+    /**
+     * Movimiento anulado; llamar después del commit.
+     */
+    public void removed(String accountId, String transactionId) {
+        if (!enabled) {
+            return;
+        }
+        version(accountId).incrementAndGet();
+        synchronized (entries) {
+            Entry entry = entries.get(accountId);
+            if (entry != null) {
+                entry.recent().remove(transactionId);
+            }
+        }
+    }
+
+    /**
+     * Descarta la cuenta: la próxima lectura la vuelve a cargar.
+     */
+    public void evict(String accountId) {
+        if (!enabled) {
+            return;
+        }
+        version(accountId).incrementAndGet();
+        synchronized (entries) {
+            entries.remove(accountId);
+        }
+    }
+
+    private RecentMovements fresh(String accountId) {
+        Entry entry = entries.get(accountId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.loadedAt().plus(ttl).isBefore(clock.instant())) {
+            entries.remove(accountId);
+            return null;
+        }
+        return entry.recent();
+    }
+
+    // La versión se lee antes de consultar: un cambio confirmado durante la carga la deja sin guardar
+    private RecentMovements load(String accountId, IntFunction<Snapshot> loader) {
+        long version = version(accountId).get();
+        Snapshot snapshot = ReplicaRoutingContext.onPrimary(() -> loader.apply(perAccount));
+        RecentMovements recent = RecentMovements.of(accountId, perAccount, snapshot.newest(), snapshot.total());
+        if (recent == null) {
+            return null;
+        }
+        synchronized (entries) {
+            if (version(accountId).get() == version) {
+                entries.put(accountId, new Entry(recent, clock.instant()));
+            }
+        }
+        return recent;
+    }
+
+    private AtomicLong version(String accountId) {
+        return versions.computeIfAbsent(accountId, key -> new AtomicLong());
+    }
+
+    private int accounts() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private long estimatedBytes() {
+        synchronized (entries) {
+            return entries.values().stream().mapToLong(entry -> entry.recent().estimatedBytes()).sum();
+        }
+    }
+
+    private record Entry(RecentMovements recent, Instant loadedAt) {
+    }
+}
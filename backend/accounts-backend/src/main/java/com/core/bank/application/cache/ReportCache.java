@@ -0,0 +1,123 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de reportes por (cliente, from, to, formato, versión de datos y de cuál de las dos).
+ * <p>
+ * Cada cliente tiene dos versiones: la "viva", que cambia con cualquier movimiento, y la "cerrada", que solo
+ * cambia cuando se toca un movimiento de un día anterior a hoy. Los rangos que terminan antes de hoy usan la
+ * versión cerrada y se conservan durante {@code closed-ttl}; los que incluyen hoy usan la viva, de modo que
+ * un movimiento nuevo deja inalcanzables solo esos reportes. Los TTL acotan además los cambios hechos por
+ * otras instancias.
+ */
+@Slf4j
+@Component
+public class ReportCache {
+
+    private final BankMetrics bankMetrics;
+    private final Clock clock;
+    private final Map<String, AtomicLong> liveVersions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> closedVersions = new ConcurrentHashMap<>();
+    private final Map<Key, Entry> entries;
+    private final Duration closedTtl;
+    private final Duration openTtl;
+    private final boolean enabled;
+
+    @Autowired
+    public ReportCache(BankMetrics bankMetrics,
+                       @Value("${app.reports.cache.max-entries:500}") int maxEntries,
+                       @Value("${app.reports.cache.closed-ttl:PT24H}") Duration closedTtl,
+                       @Value("${app.reports.cache.open-ttl:PT10M}") Duration openTtl,
+                       @Value("${app.reports.cache.enabled:true}") boolean enabled) {
+        this(bankMetrics, maxEntries, closedTtl, openTtl, enabled, Clock.systemDefaultZone());
+    }
+
+    ReportCache(BankMetrics bankMetrics, int maxEntries, Duration closedTtl, Duration openTtl, boolean enabled,
+                Clock clock) {
+        this.bankMetrics = bankMetrics;
+        this.closedTtl = closedTtl;
+        this.openTtl = openTtl;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String customerId, LocalDate from, LocalDate to, String format, Supplier<T> generator) {
+        if (!enabled) {
+            return generator.get();
+        }
+        boolean closed = to.isBefore(LocalDate.now(clock));
+        // La versión se lee antes de generar: si llega un movimiento mientras tanto, el resultado queda bajo
+        // una versión vieja y ninguna lectura posterior lo devuelve
+        long version = version(closed ? closedVersions : liveVersions, customerId).get();
+        // Las dos versiones avanzan por separado: un rango guardado como vivo no se sirve como cerrado tras medianoche
+        Key key = new Key(customerId, from, to, format, closed, version);
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            bankMetrics.reportCacheLookup(format, true);
+            return (T) cached.value();
+        }
+
+        bankMetrics.reportCacheLookup(format, false);
+        T value = generator.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(value, now.plus(closed ? closedTtl : openTtl)));
+        }
+        return value;
+    }
+
+    /**
+     * Un movimiento del cliente se creó o eliminó con la fecha indicada.
+     */
+    public void movementChanged(String customerId, LocalDateTime movementDate) {
+        version(liveVersions, customerId).incrementAndGet();
+        if (movementDate != null && movementDate.toLocalDate().isBefore(LocalDate.now(clock))) {
+            version(closedVersions, customerId).incrementAndGet();
+        }
+        log.debug("Reportes del cliente {} invalidados por movimiento del {}", customerId, movementDate);
+    }
+
+    /**
+     * Cambiaron datos del cliente o de sus cuentas que aparecen en todos sus reportes.
+     */
+    public void customerChanged(String customerId) {
+        version(liveVersions, customerId).incrementAndGet();
+        version(closedVersions, customerId).incrementAndGet();
+    }
+
+    private static AtomicLong version(Map<String, AtomicLong> versions, String customerId) {
+        return versions.computeIfAbsent(customerId, id -> new AtomicLong());
+    }
+
+    private record Key(String customerId, LocalDate from, LocalDate to, String format, boolean closed, long version) {
+    }
+
+    private record Entry(Object value, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.application.utils.TransactionHooks;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Filtro en memoria de las claves únicas (identificación de cliente y número de cuenta) para evitar la consulta
+ * de duplicado cuando el valor seguro no existe.
+ * <p>
+ * Solo descarta: un "quizá existe" sigue yendo a la base y el índice único sigue siendo el árbitro final (por
+ * ejemplo, ante altas de otra instancia). Las altas se añaden dentro de la transacción, así un rollback deja a
+ * lo sumo un falso positivo; las bajas se quitan tras confirmar. Mientras no se haya cargado, todo va a la base.
+ */
+@Slf4j
+@Component
+public class UniqueKeyFilter {
+
+    public enum Key {
+        IDENTIFICATION("identification", "SELECT identification FROM personas"),
+        ACCOUNT_NUMBER("account_number", "SELECT account_number FROM cuentas");
+
+        private final String tag;
+        private final String query;
+
+        Key(String tag, String query) {
+            this.tag = tag;
+            this.query = query;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BankMetrics bankMetrics;
+    private final Map<Key, CountingBloomFilter> filters = new EnumMap<>(Key.class);
+    private final boolean enabled;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public UniqueKeyFilter(JdbcTemplate jdbcTemplate,
+                           BankMetrics bankMetrics,
+                           @Value("${app.unique-keys.filter.expected-keys:1000000}") long expectedKeys,
+                           @Value("${app.unique-keys.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${app.unique-keys.filter.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bankMetrics = bankMetrics;
+        this.enabled = enabled;
+        for (Key key : Key.values()) {
+            CountingBloomFilter filter = new CountingBloomFilter(expectedKeys, falsePositiveRate);
+            filters.put(key, filter);
+            bankMetrics.uniqueKeyFilter(key.tag, filter::estimatedFalsePositiveRate);
+        }
+    }
+
+    /**
+     * true si el valor seguro no existe y puede omitirse la consulta; false si hay que consultar.
+     */
+    public boolean isDefinitelyNew(Key key, String value) {
+        if (!enabled || !ready || value == null) {
+            return false;
+        }
+        if (filters.get(key).mightContain(value)) {
+            return false;
+        }
+        bankMetrics.uniqueKeyLookup(key.tag, "skipped");
+        return true;
+    }
+
+    /**
+     * Resultado de la consulta hecha tras un "quizá existe"; si no existía, fue un falso positivo.
+     */
+    public void lookedUp(Key key, boolean found) {
+        if (enabled && ready) {
+            bankMetrics.uniqueKeyLookup(key.tag, found ? "found" : "false_positive");
+        }
+    }
+
+    public void added(Key key, String value) {
+        if (enabled && value != null) {
+            filters.get(key).add(value);
+        }
+    }
+
+    public void removed(Key key, String value) {
+        if (enabled && value != null) {
+            TransactionHooks.afterCommit(() -> filters.get(key).remove(value));
+        }
+    }
+
+    /**
+     * Recorre las claves existentes sin materializarlas en una lista. Las altas que lleguen durante la carga ya
+     * se añaden al filtro; si la carga falla se sigue consultando siempre la base.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Key key : Key.values()) {
+                CountingBloomFilter filter = filters.get(key);
+                jdbcTemplate.query(key.query, rs -> {
+                    String value = rs.getString(1);
+                    if (value != null) {
+                        filter.add(value);
+                    }
+                });
+                log.info("Filtro de {} cargado: {} claves, falso positivo estimado {}", key.tag, filter.keys(),
+                        String.format("%.4f", filter.estimatedFalsePositiveRate()));
+            }
+            ready = true;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo cargar el filtro de claves únicas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.core.bank.application.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resultado de una consulta por ids: lo encontrado en el orden pedido (sin repetidos) y los ids que no existen.
+ */
+public record BatchResult<T>(List<T> found, List<String> missingIds) {
+
+    public static <T> BatchResult<T> of(List<String> ids, List<T> rows, Function<T, String> idOf) {
+        Map<String, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        List<T> found = new ArrayList<>(rows.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            T row = byId.get(id);
+            if (row != null) {
+                found.add(row);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResult<>(found, missingIds);
+    }
+}
@@ -0,0 +1,24 @@
+package com.core.bank.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@Builder
+@Getter
+public class InterestRunSummary {
+
+    private String period;
+    private String status;
+    private Long accountsScanned;
+    private Long creditsPosted;
+    private BigDecimal totalInterest;
+    private Duration elapsed;
+
+    public double accountsPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? accountsScanned / seconds : 0;
+    }
+}
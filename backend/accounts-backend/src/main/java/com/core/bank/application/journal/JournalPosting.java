@@ -0,0 +1,68 @@
+package com.core.bank.application.journal;
+
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento validado tal como se guarda en el diario: id y saldo resultante ya asignados, así aplicarlo en la
+ * base de datos no vuelve a decidir nada.
+ */
+public record JournalPosting(String id, String accountId, String type, BigDecimal amount, BigDecimal balance,
+                             LocalDateTime date, String description) {
+
+    private static final byte VERSION = 1;
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(id);
+            out.writeUTF(accountId);
+            out.writeUTF(type);
+            out.writeUTF(amount.toPlainString());
+            out.writeUTF(balance.toPlainString());
+            out.writeUTF(date.toString());
+            out.writeUTF(description);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static JournalPosting decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Versión de registro del diario desconocida: " + version);
+            }
+            return new JournalPosting(in.readUTF(), in.readUTF(), in.readUTF(), new BigDecimal(in.readUTF()),
+                    new BigDecimal(in.readUTF()), LocalDateTime.parse(in.readUTF()), in.readUTF());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Transaction toTransaction() {
+        Account account = new Account();
+        account.setId(accountId);
+        return Transaction.builder()
+                .id(id)
+                .account(account)
+                .type(type)
+                .amount(amount)
+                .balance(balance)
+                .date(date)
+                .description(description)
+                .createdAt(date)
+                .build();
+    }
+}
@@ -0,0 +1,313 @@
+package com.core.bank.application.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario de solo anexado sobre segmentos mapeados en memoria ({@code <offset inicial>.journal}).
+ * <p>
+ * Cada registro es {@code [largo int][crc32c int][payload]}; los offsets son globales (inicio del segmento más
+ * posición) y siempre apuntan al inicio de un registro. {@link #sync(long)} agrupa los fsync: un hilo fuerza a
+ * disco todo lo escrito hasta ese momento y los demás que esperaban quedan cubiertos por ese mismo fsync.
+ * Al abrir se recorre el último segmento y un registro incompleto o con CRC inválido (escritura cortada por una
+ * caída) se descarta junto con lo que le sigue.
+ */
+public class PostingJournal implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String SUFFIX = ".journal";
+
+    public record Entry(long offset, long next, byte[] payload) {
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+
+    // Protegidos por this
+    private long activeStart;
+    private MappedByteBuffer active;
+    private long writeOffset;
+    private long writtenRecords;
+
+    // Protegidos por syncLock
+    private long durableOffset;
+    private long durableRecords;
+    private boolean syncing;
+    private IOException failure;
+
+    private PostingJournal(Path dir, int segmentSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Abre el diario del directorio recuperando la posición de escritura; sin segmentos empieza en
+     * {@code minOffset} (el último offset aplicado) para no reutilizar offsets ya confirmados.
+     */
+    public static PostingJournal open(Path dir, int segmentSize, long minOffset) throws IOException {
+        Files.createDirectories(dir);
+        PostingJournal journal = new PostingJournal(dir, segmentSize);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long start = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                journal.segments.put(start, map(file, segmentSize));
+            }
+        }
+        if (journal.segments.isEmpty()) {
+            journal.roll(Math.max(0, minOffset));
+        } else {
+            Map.Entry<Long, MappedByteBuffer> last = journal.segments.lastEntry();
+            journal.activeStart = last.getKey();
+            journal.active = last.getValue();
+            journal.writeOffset = journal.activeStart + journal.recover(journal.active);
+        }
+        journal.durableOffset = journal.writeOffset;
+        return journal;
+    }
+
+    /**
+     * Copia el registro al segmento activo (sin fsync) y devuelve el offset siguiente, el que hay que pasar a
+     * {@link #sync(long)} para esperar que sea durable.
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        if (active == null) {
+            throw new IOException("El diario está cerrado");
+        }
+        if (payload.length == 0 || payload.length > segmentSize - HEADER_BYTES - Integer.BYTES) {
+            throw new IllegalArgumentException("Registro de " + payload.length + " bytes fuera de rango para el diario");
+        }
+        int position = (int) (writeOffset - activeStart);
+        if (position + HEADER_BYTES + payload.length > segmentSize) {
+            if (position + Integer.BYTES <= segmentSize) {
+                active.putInt(position, END_OF_SEGMENT);
+            }
+            // El segmento cerrado va completo a disco antes de escribir en el siguiente
+            active.force();
+            roll(activeStart + segmentSize);
+            position = 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        active.put(position + HEADER_BYTES, payload);
+        active.putInt(position + Integer.BYTES, (int) crc.getValue());
+        active.putInt(position, payload.length);
+        writeOffset = activeStart + position + HEADER_BYTES + payload.length;
+        writtenRecords++;
+        return writeOffset;
+    }
+
+    /**
+     * Espera a que todo lo escrito hasta {@code offset} esté en disco. Devuelve cuántos registros forzó este hilo
+     * (0 si lo cubrió el fsync de otro).
+     */
+    public long sync(long offset) throws IOException {
+        syncLock.lock();
+        try {
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("El diario quedó inutilizable tras un fsync fallido", failure);
+                }
+                if (durableOffset >= offset) {
+                    return 0;
+                }
+                if (!syncing) {
+                    break;
+                }
+                try {
+                    synced.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Espera de fsync del diario interrumpida");
+                }
+            }
+            syncing = true;
+        } finally {
+            syncLock.unlock();
+        }
+
+        // Líder del grupo: fuerza sin el bloqueo para que otros sigan anexando y esperando el siguiente fsync
+        long from = durableOffset();
+        long target;
+        long records;
+        List<Map.Entry<Long, MappedByteBuffer>> dirty;
+        synchronized (this) {
+            target = writeOffset;
+            records = writtenRecords;
+            dirty = new ArrayList<>(segments.subMap(segments.floorKey(from), true, activeStart, true).entrySet());
+        }
+        IOException error = null;
+        try {
+            for (Map.Entry<Long, MappedByteBuffer> segment : dirty) {
+                long start = segment.getKey();
+                int index = (int) Math.max(0, from - start);
+                int end = (int) Math.min(segmentSize, target - start);
+                if (end > index) {
+                    segment.getValue().force(index, end - index);
+                }
+            }
+        } catch (RuntimeException e) {
+            error = new IOException("No se pudo forzar el diario a disco", e);
+        }
+
+        syncLock.lock();
+        try {
+            syncing = false;
+            long forced = records - durableRecords;
+            if (error == null) {
+                durableOffset = target;
+                durableRecords = records;
+            } else {
+                failure = error;
+            }
+            synced.signalAll();
+            if (error != null) {
+                throw error;
+            }
+            return forced;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public long durableOffset() {
+        syncLock.lock();
+        try {
+            return durableOffset;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Registros desde {@code from} hasta el final escrito, en orden de offset.
+     */
+    public synchronized List<Entry> read(long from) {
+        List<Entry> entries = new ArrayList<>();
+        Long segmentStart = segments.floorKey(from);
+        if (segmentStart == null) {
+            segmentStart = segments.firstKey();
+            from = segmentStart;
+        }
+        for (Map.Entry<Long, MappedByteBuffer> segment : segments.tailMap(segmentStart, true).entrySet()) {
+            long start = segment.getKey();
+            MappedByteBuffer buffer = segment.getValue();
+            int position = (int) Math.max(0, from - start);
+            while (start + position < writeOffset && position + HEADER_BYTES <= segmentSize) {
+                int length = buffer.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                int next = position + HEADER_BYTES + length;
+                entries.add(new Entry(start + position, start + next, payload));
+                position = next;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Borra los segmentos cuyo contenido ya está completamente aplicado.
+     */
+    public synchronized void release(long appliedOffset) throws IOException {
+        while (segments.size() > 1) {
+            long start = segments.firstKey();
+            if (start == activeStart || start + segmentSize > appliedOffset) {
+                return;
+            }
+            segments.remove(start);
+            Files.deleteIfExists(segmentPath(start));
+        }
+    }
+
+    public synchronized long writeOffset() {
+        return writeOffset;
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.values().forEach(MappedByteBuffer::force);
+        segments.clear();
+        active = null;
+    }
+
+    private void roll(long start) throws IOException {
+        MappedByteBuffer buffer = map(segmentPath(start), segmentSize);
+        segments.put(start, buffer);
+        activeStart = start;
+        active = buffer;
+        writeOffset = start;
+        forceDirectory();
+    }
+
+    /**
+     * Posición de escritura del segmento: tras el último registro íntegro. Lo que sigue a un registro cortado
+     * se pone en cero para que una escritura posterior más corta no deje restos legibles.
+     */
+    private int recover(MappedByteBuffer buffer) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length == 0 || length == END_OF_SEGMENT) {
+                break;
+            }
+            if (length < 0 || position + HEADER_BYTES + length > segmentSize || !valid(buffer, position, length)) {
+                for (int i = position; i < segmentSize; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static boolean valid(MappedByteBuffer buffer, int position, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return buffer.getInt(position + Integer.BYTES) == (int) crc.getValue();
+    }
+
+    private Path segmentPath(long start) {
+        return dir.resolve(String.format("%020d%s", start, SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path file, int segmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    // Un segmento nuevo solo es durable si también lo es su entrada en el directorio
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // No soportado en todos los sistemas de archivos
+        }
+    }
+}
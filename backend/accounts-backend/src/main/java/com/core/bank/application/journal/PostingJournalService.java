@@ -0,0 +1,479 @@
+package com.core.bank.application.journal;
+
+import com.core.bank.application.cache.RecentMovementsCache;
+import com.core.bank.application.cache.ReportCache;
+import com.core.bank.application.risk.VelocityEngine;
+import com.core.bank.application.service.BalanceStripingService;
+import com.core.bank.application.service.DebitValidationService;
+import com.core.bank.application.service.OutboxService;
+import com.core.bank.application.service.TransactionStrategyService;
+import com.core.bank.application.stream.AccountUpdate;
+import com.core.bank.application.stream.AccountUpdateHub;
+import com.core.bank.application.strategy.transaction.TransactionStrategy;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.JournalApplyState;
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.AccountRepository;
+import com.core.bank.domain.repository.JournalApplyStateRepository;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.exception.ResourceNotFoundException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.infrastructure.persistence.ReplicaRoutingContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro de movimientos con confirmación en el diario local ({@code app.journal.enabled}).
+ * <p>
+ * El movimiento se valida igual que en {@code TransactionService.create}, se anexa a {@link PostingJournal} y se
+ * confirma al cliente cuando el fsync del diario lo cubre; un hilo aplicador lo escribe después en la base de
+ * datos por lotes (movimientos, saldo, outbox y offset aplicado en una sola transacción). Al arrancar se
+ * reproduce el diario desde el último offset aplicado. Mientras un movimiento no está aplicado su efecto se
+ * suma al saldo disponible de la cuenta, así las validaciones siguientes lo ven.
+ * <p>
+ * El diario es local: todas las escrituras de movimientos de la API deben pasar por una sola instancia.
+ */
+@Slf4j
+@Service
+public class PostingJournalService {
+
+    private static final int LOCK_STRIPES = 256;
+    private static final long EPOCH_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(30);
+    private static final Pending NONE = new Pending(BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+    private static final String INSERT_MOVEMENT = "INSERT INTO movimientos "
+            + "(id, date, description, transaction_type, amount, balance, cuenta_id, created_at) "
+            + "VALUES (:id, :date, :description, :type, :amount, :balance, :accountId, :date)";
+    private static final String UPDATE_BALANCE =
+            "UPDATE cuentas SET current_balance = current_balance + :delta, updated_at = :now WHERE id = :accountId";
+
+    private record Appended(long next, JournalPosting posting, BigDecimal delta) {
+    }
+
+    // Lo aceptado en el diario y aún no aplicado de una cuenta
+    private record Pending(BigDecimal delta, BigDecimal debits, int postings) {
+
+        static Pending of(BigDecimal delta) {
+            return new Pending(delta, delta.signum() < 0 ? delta.negate() : BigDecimal.ZERO, 1);
+        }
+
+        Pending minus(Pending applied) {
+            int left = postings - applied.postings;
+            return left <= 0 ? null : new Pending(delta.subtract(applied.delta), debits.subtract(applied.debits), left);
+        }
+
+        Pending plus(Pending other) {
+            return new Pending(delta.add(other.delta), debits.add(other.debits), postings + other.postings);
+        }
+    }
+
+    private final AccountRepository accountRepository;
+    private final JournalApplyStateRepository applyStateRepository;
+    private final BalanceStripingService balanceStripingService;
+    private final DebitValidationService debitValidationService;
+    private final TransactionStrategyService strategyService;
+    private final OutboxService outboxService;
+    private final VelocityEngine velocityEngine;
+    private final ReportCache reportCache;
+    private final RecentMovementsCache recentMovements;
+    private final AccountUpdateHub accountUpdateHub;
+    private final BankMetrics bankMetrics;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+
+    private final ReentrantLock[] accountLocks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Appended> backlog = new LinkedBlockingQueue<>();
+    // Impar mientras un lote confirma y descuenta lo pendiente: una lectura que lo cruza se repite
+    private final AtomicLong applyEpoch = new AtomicLong();
+
+    private volatile PostingJournal journal;
+    private volatile boolean running;
+    private Thread applier;
+
+    @Value("${app.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.journal.dir:${java.io.tmpdir}/diario-movimientos}")
+    private String dir;
+
+    @Value("${app.journal.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${app.journal.apply-batch-size:500}")
+    private int applyBatchSize;
+
+    @Value("${app.journal.max-backlog:100000}")
+    private int maxBacklog;
+
+    @Value("${app.journal.retry-delay:PT1S}")
+    private Duration retryDelay;
+
+    public PostingJournalService(AccountRepository accountRepository,
+                                 JournalApplyStateRepository applyStateRepository,
+                                 BalanceStripingService balanceStripingService,
+                                 DebitValidationService debitValidationService,
+                                 TransactionStrategyService strategyService,
+                                 OutboxService outboxService,
+                                 VelocityEngine velocityEngine,
+                                 ReportCache reportCache,
+                                 RecentMovementsCache recentMovements,
+                                 AccountUpdateHub accountUpdateHub,
+                                 BankMetrics bankMetrics,
+                                 NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.applyStateRepository = applyStateRepository;
+        this.balanceStripingService = balanceStripingService;
+        this.debitValidationService = debitValidationService;
+        this.strategyService = strategyService;
+        this.outboxService = outboxService;
+        this.velocityEngine = velocityEngine;
+        this.reportCache = reportCache;
+        this.recentMovements = recentMovements;
+        this.accountUpdateHub = accountUpdateHub;
+        this.bankMetrics = bankMetrics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            accountLocks[i] = new ReentrantLock();
+        }
+        bankMetrics.journalBacklog(backlog);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Abre el diario y encola lo que quedó sin aplicar; hasta entonces no se aceptan movimientos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException {
+        if (!enabled || journal != null) {
+            return;
+        }
+        long applied = applyStateRepository.findById(JournalApplyState.SINGLETON_ID)
+                .map(JournalApplyState::getAppliedOffset)
+                .orElse(0L);
+        PostingJournal opened = PostingJournal.open(Path.of(dir), Math.toIntExact(segmentSize.toBytes()), applied);
+        List<PostingJournal.Entry> unapplied = opened.read(applied);
+        for (PostingJournal.Entry entry : unapplied) {
+            JournalPosting posting = JournalPosting.decode(entry.payload());
+            track(new Appended(entry.next(), posting, delta(posting)));
+        }
+        running = true;
+        journal = opened;
+        applier = Thread.ofPlatform().name("journal-applier").start(() -> applyLoop(opened));
+        log.info("Diario de movimientos abierto en {}: {} movimientos por aplicar desde el offset {}",
+                dir, unapplied.size(), applied);
+    }
+
+    /**
+     * Cierra el diario esperando el lote en curso; lo que quede sin aplicar se reproduce al volver a arrancar.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        PostingJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        journal = null;
+        running = false;
+        try {
+            applier.join(SHUTDOWN_WAIT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        current.close();
+        backlog.clear();
+        pending.clear();
+    }
+
+    /**
+     * Valida y registra el movimiento en el diario; vuelve cuando es durable, antes de llegar a la base de datos.
+     */
+    public Transaction post(Transaction transaction) {
+        PostingJournal current = journal;
+        if (current == null) {
+            throw new IllegalStateException("El diario de movimientos no está disponible");
+        }
+        long start = System.nanoTime();
+        String accountId = transaction.getAccount().getId();
+        TransactionStrategy strategy = strategyService.getStrategy(transaction.getType());
+        BigDecimal delta = strategy.apply(BigDecimal.ZERO, transaction.getAmount());
+        boolean debit = delta.signum() < 0;
+
+        Appended appended;
+        ReentrantLock lock = lockFor(accountId);
+        lock.lock();
+        try {
+            if (backlog.size() >= maxBacklog) {
+                throw new BusinessRuleException("Hay demasiados movimientos pendientes de aplicar, intente nuevamente");
+            }
+            BigDecimal available = availableBalance(accountId, debit ? transaction.getAmount() : null);
+            JournalPosting posting = new JournalPosting(UUID.randomUUID().toString(), accountId,
+                    transaction.getType(), transaction.getAmount(), strategy.apply(available, transaction.getAmount()),
+                    LocalDateTime.now(), transaction.getDescription());
+            appended = append(current, posting, delta);
+            if (debit) {
+                velocityEngine.recordDebit(accountId, posting.date(), posting.amount());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            long forced = current.sync(appended.next());
+            if (forced > 0) {
+                bankMetrics.journalSynced(forced);
+            }
+        } catch (IOException e) {
+            // El registro pudo quedar escrito: el resultado es incierto y el diario deja de aceptar movimientos
+            log.error("Movimiento {} sin confirmar en el diario: {}", appended.posting().id(), e.getMessage());
+            if (debit) {
+                velocityEngine.reverseDebit(accountId, appended.posting().date(), appended.posting().amount());
+            }
+            throw new IllegalStateException("No se pudo confirmar el movimiento en el diario", e);
+        }
+        bankMetrics.journalAppended(System.nanoTime() - start);
+        bankMetrics.transactionPosted(transaction.getType());
+        return appended.posting().toTransaction();
+    }
+
+    /**
+     * Si la cuenta tiene movimientos aceptados que todavía no están en la base de datos.
+     */
+    public boolean hasPending(String accountId) {
+        return pending.containsKey(accountId);
+    }
+
+    public int backlog() {
+        return backlog.size();
+    }
+
+    /**
+     * Saldo disponible con lo pendiente del diario; con {@code debitAmount} además valida el débito. Lectura de
+     * base y de lo pendiente deben ser del mismo lado de la confirmación de un lote, si no se repite. Se lee del
+     * primario: en una réplica atrasada faltarían movimientos ya aplicados y descontados de lo pendiente.
+     */
+    private BigDecimal availableBalance(String accountId, BigDecimal debitAmount) {
+        while (true) {
+            long epoch = applyEpoch.get();
+            if ((epoch & 1) != 0) {
+                LockSupport.parkNanos(EPOCH_WAIT_NANOS);
+                continue;
+            }
+            Pending unapplied = pending.getOrDefault(accountId, NONE);
+            try {
+                BigDecimal available = ReplicaRoutingContext.onPrimary(() -> readOnlyTemplate.execute(status -> {
+                    Account account = accountRepository.findById(accountId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+                    balanceStripingService.loadPendingCredits(account);
+                    // Lo pendiente del diario se trata como los créditos en slots: fuera de current_balance
+                    BigDecimal slots = account.getPendingCredits() != null ? account.getPendingCredits() : BigDecimal.ZERO;
+                    account.setPendingCredits(slots.add(unapplied.delta()));
+                    if (debitAmount != null) {
+                        debitValidationService.validate(account, debitAmount, unapplied.debits());
+                    }
+                    return account.getAvailableBalance();
+                }));
+                if (applyEpoch.get() == epoch) {
+                    return available;
+                }
+            } catch (BusinessRuleException e) {
+                if (applyEpoch.get() == epoch) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Appended append(PostingJournal current, JournalPosting posting, BigDecimal delta) {
+        appendLock.lock();
+        try {
+            Appended appended = new Appended(current.append(posting.encode()), posting, delta);
+            // En orden de offset: el aplicador avanza el offset aplicado de forma contigua
+            track(appended);
+            return appended;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo escribir en el diario de movimientos", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void track(Appended appended) {
+        pending.merge(appended.posting().accountId(), Pending.of(appended.delta()), Pending::plus);
+        backlog.add(appended);
+    }
+
+    private void applyLoop(PostingJournal current) {
+        List<Appended> batch = new ArrayList<>(applyBatchSize);
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Appended head = backlog.poll(100, TimeUnit.MILLISECONDS);
+                    if (head == null) {
+                        continue;
+                    }
+                    batch.add(head);
+                    backlog.drainTo(batch, applyBatchSize - 1);
+                }
+                // Solo se aplica lo durable: un offset aplicado nunca puede quedar por delante del diario
+                current.sync(batch.get(batch.size() - 1).next());
+                apply(current, batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Lote de {} movimientos del diario sin aplicar, se reintenta: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(retryDelay.toNanos());
+            }
+        }
+    }
+
+    private void apply(PostingJournal current, List<Appended> batch) {
+        long start = System.nanoTime();
+        Map<String, String> customers = transactionTemplate.execute(status -> write(batch));
+
+        // Ya confirmado: un fallo de aquí en adelante no debe reintentar el lote
+        try {
+            for (Appended appended : batch) {
+                JournalPosting posting = appended.posting();
+                String customerId = customers != null ? customers.get(posting.accountId()) : null;
+                if (customerId != null) {
+                    reportCache.movementChanged(customerId, posting.date());
+                }
+                // Un reintento puede traer movimientos ya aplicados: se descarta la cuenta en lugar de sumarlos
+                recentMovements.evict(posting.accountId());
+                accountUpdateHub.publish(new AccountUpdate(OutboxEvent.CREATED, posting.accountId(), posting.id(),
+                        posting.type(), posting.amount(), posting.balance(), posting.balance(),
+                        posting.description(), posting.date()));
+            }
+            bankMetrics.journalApplied(batch.size(), System.nanoTime() - start);
+            current.release(batch.get(batch.size() - 1).next());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lote del diario aplicado con errores posteriores: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe el lote y avanza el offset aplicado. Lo que ya estaba aplicado (reintento tras un commit de
+     * resultado incierto) se salta. Devuelve el cliente de cada cuenta para invalidar reportes.
+     */
+    private Map<String, String> write(List<Appended> batch) {
+        JournalApplyState state = applyStateRepository.lockById(JournalApplyState.SINGLETON_ID)
+                .orElseGet(() -> new JournalApplyState(JournalApplyState.SINGLETON_ID, 0L));
+        List<Appended> fresh = batch.stream()
+                .filter(appended -> appended.next() > state.getAppliedOffset())
+                .toList();
+        releaseOnCommit(batch);
+
+        // Orden por id de cuenta: los bloqueos de filas se toman siempre en el mismo orden
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        batch.forEach(appended -> deltas.merge(appended.posting().accountId(), BigDecimal.ZERO, BigDecimal::add));
+        if (!fresh.isEmpty()) {
+            fresh.forEach(appended -> deltas.merge(appended.posting().accountId(), appended.delta(), BigDecimal::add));
+            jdbcTemplate.batchUpdate(INSERT_MOVEMENT, fresh.stream()
+                    .map(appended -> movementParams(appended.posting()))
+                    .toArray(SqlParameterSource[]::new));
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, deltas.entrySet().stream()
+                    .filter(entry -> entry.getValue().signum() != 0)
+                    .map(entry -> new MapSqlParameterSource()
+                            .addValue("delta", entry.getValue())
+                            .addValue("now", now)
+                            .addValue("accountId", entry.getKey()))
+                    .toArray(SqlParameterSource[]::new));
+            fresh.forEach(appended -> outboxService.movementPosted(appended.posting().toTransaction()));
+            state.setAppliedOffset(fresh.get(fresh.size() - 1).next());
+            applyStateRepository.save(state);
+        }
+
+        Map<String, String> customers = new HashMap<>();
+        jdbcTemplate.query("SELECT id, cliente_id FROM cuentas WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", deltas.keySet()),
+                rs -> {
+                    customers.put(rs.getString("id"), rs.getString("cliente_id"));
+                });
+        return customers;
+    }
+
+    private void releaseOnCommit(List<Appended> batch) {
+        Map<String, Pending> applied = new HashMap<>();
+        batch.forEach(appended -> applied.merge(appended.posting().accountId(), Pending.of(appended.delta()), Pending::plus));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                applyEpoch.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applied.forEach((accountId, done) ->
+                            pending.computeIfPresent(accountId, (key, left) -> left.minus(done)));
+                }
+                applyEpoch.incrementAndGet();
+            }
+        });
+    }
+
+    private static MapSqlParameterSource movementParams(JournalPosting posting) {
+        return new MapSqlParameterSource()
+                .addValue("id", posting.id())
+                .addValue("date", Timestamp.valueOf(posting.date()))
+                .addValue("description", posting.description())
+                .addValue("type", posting.type())
+                .addValue("amount", posting.amount())
+                .addValue("balance", posting.balance())
+                .addValue("accountId", posting.accountId());
+    }
+
+    private BigDecimal delta(JournalPosting posting) {
+        return strategyService.getStrategy(posting.type()).apply(BigDecimal.ZERO, posting.amount());
+    }
+
+    private ReentrantLock lockFor(String accountId) {
+        return accountLocks[Math.floorMod(accountId.hashCode(), LOCK_STRIPES)];
+    }
+}
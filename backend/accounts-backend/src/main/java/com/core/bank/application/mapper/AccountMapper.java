@@ -1,10 +1,13 @@
 package com.core.bank.application.mapper;
 
+import com.core.bank.application.cache.LookupIndex;
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.repository.AccountRow;
 import com.core.bank.model.dto.AccountDTO;
 import com.core.bank.model.dto.AccountCreate;
 import com.core.bank.model.dto.AccountPatch;
+import com.core.bank.model.dto.LookupItem;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -14,12 +17,18 @@ import java.util.UUID;
 public interface AccountMapper {
 
     @Mapping(source = "accountType", target = "accountType")
+    @Mapping(source = "availableBalance", target = "currentBalance")
+    // Id del proxy de cliente: no lo inicializa, se puede mapear fuera de la transacción
+    @Mapping(source = "customer.id", target = "customerId")
     AccountDTO toDto(Account account);
 
+    AccountDTO toDto(AccountRow row);
+
+    LookupItem toLookupItem(LookupIndex.Option option);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
-    @Mapping(target = "transactions", ignore = true)
     @Mapping(source = "customerId", target = "customer")
     @Mapping(target = "currentBalance", ignore = true)
     @Mapping(source = "accountType", target = "accountType")
@@ -27,6 +36,8 @@ public interface AccountMapper {
     
     Account toEntity(AccountPatch request);
     
+    // balanceSlots pasa por BalanceStripingService.resize (consolida y crea los slots)
+    @Mapping(target = "balanceSlots", ignore = true)
     void updateEntity(AccountPatch request, @MappingTarget Account account);
     
     default Customer uuidToCustomer(UUID customerId) {
@@ -0,0 +1,43 @@
+package com.core.bank.application.mapper;
+
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.model.dto.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ChangeEventMapper {
+
+    ObjectMapper PAYLOAD_READER = new ObjectMapper();
+
+    @Mapping(source = "feedOffset", target = "offset")
+    @Mapping(source = "createdAt", target = "occurredAt")
+    @Mapping(source = "payload", target = "payload", qualifiedByName = "parsePayload")
+    ChangeEvent toDto(OutboxEvent event);
+
+    List<ChangeEvent> toDtoList(List<OutboxEvent> events);
+
+    @Named("parsePayload")
+    default Object parsePayload(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return PAYLOAD_READER.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload de evento inválido", e);
+        }
+    }
+
+    default OffsetDateTime map(LocalDateTime value) {
+        return value == null ? null : value.atOffset(ZoneOffset.UTC);
+    }
+}
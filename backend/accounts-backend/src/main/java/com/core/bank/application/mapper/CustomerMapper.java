@@ -1,10 +1,13 @@
 package com.core.bank.application.mapper;
 
+import com.core.bank.application.cache.LookupIndex;
 import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.repository.CustomerRow;
 import com.core.bank.model.dto.CustomerDTO;
 import com.core.bank.model.dto.CustomerCreate;
 import com.core.bank.model.dto.CustomerUpdate;
 import com.core.bank.model.dto.CustomerPatch;
+import com.core.bank.model.dto.LookupItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
@@ -14,6 +17,10 @@ public interface CustomerMapper {
 
     CustomerDTO toDto(Customer customer);
 
+    CustomerDTO toDto(CustomerRow row);
+
+    LookupItem toLookupItem(LookupIndex.Option option);
+
     Customer toEntity(CustomerCreate request);
     
     Customer toEntity(CustomerUpdate request);
@@ -0,0 +1,19 @@
+package com.core.bank.application.mapper;
+
+import com.core.bank.application.statement.StatementRun;
+import com.core.bank.model.dto.StatementRunStatus;
+import org.mapstruct.Mapper;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+@Mapper(componentModel = "spring")
+public interface StatementRunMapper {
+
+    StatementRunStatus toDto(StatementRun run);
+
+    default OffsetDateTime map(LocalDateTime value) {
+        return value == null ? null : value.atOffset(ZoneOffset.UTC);
+    }
+}
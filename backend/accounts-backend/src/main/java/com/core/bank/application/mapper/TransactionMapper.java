@@ -2,6 +2,7 @@ package com.core.bank.application.mapper;
 
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.TransactionRow;
 import com.core.bank.model.dto.TransactionCreate;
 import com.core.bank.model.dto.TransactionDTO;
 import org.mapstruct.Mapper;
@@ -20,6 +21,9 @@ public interface TransactionMapper {
     @Mapping(source = "account.id", target = "accountId")
     TransactionDTO toDto(Transaction transaction);
 
+    @Mapping(source = "type", target = "transactionType")
+    TransactionDTO toDto(TransactionRow row);
+
     @Mapping(source = "transactionType", target = "type")
     @Mapping(source = "accountId", target = "account.id")
     Transaction toEntity(TransactionCreate request);
@@ -0,0 +1,202 @@
+package com.core.bank.application.risk;
+
+import com.core.bank.domain.repository.RecentDebit;
+import com.core.bank.domain.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ventanas deslizantes de débitos por cuenta, en memoria.
+ * <p>
+ * Cada cuenta tiene un anillo de {@code bucket}s (cantidad y monto en centavos); registrar un débito y evaluar
+ * las reglas cuesta O(buckets), sin consultar movimientos. La ventana se aproxima a la granularidad del bucket
+ * (incluye el bucket en curso completo). Al arrancar se reconstruye con los débitos de la ventana más larga.
+ * El estado es local a cada instancia.
+ */
+@Slf4j
+@Component
+public class VelocityEngine {
+
+    private final TransactionRepository transactionRepository;
+    private final List<VelocityRule> rules;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final Clock clock;
+    private final Map<String, AccountWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VelocityEngine(TransactionRepository transactionRepository,
+                          @Value("${app.velocity.rules:}") String rules,
+                          @Value("${app.velocity.bucket:PT1M}") Duration bucket) {
+        this(transactionRepository, VelocityRule.parseAll(rules), bucket, Clock.systemDefaultZone());
+    }
+
+    VelocityEngine(TransactionRepository transactionRepository, List<VelocityRule> rules, Duration bucket, Clock clock) {
+        this.transactionRepository = transactionRepository;
+        this.rules = rules;
+        this.bucketMillis = bucket.toMillis();
+        this.clock = clock;
+        this.bucketCount = rules.stream()
+                .mapToInt(this::bucketsFor)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * Primera regla que el débito incumpliría, si alguna.
+     */
+    public Optional<VelocityRule> check(String accountId, BigDecimal amount) {
+        if (rules.isEmpty()) {
+            return Optional.empty();
+        }
+        AccountWindow window = windows.get(accountId);
+        long now = bucketOf(LocalDateTime.now(clock));
+        long amountCents = cents(amount);
+        for (VelocityRule rule : rules) {
+            long[] totals = window != null ? window.totals(now, bucketsFor(rule)) : new long[2];
+            boolean exceeded = rule.metric() == VelocityRule.Metric.COUNT
+                    ? totals[0] + 1 > rule.limit().longValue()
+                    : totals[1] + amountCents > cents(rule.limit());
+            if (exceeded) {
+                return Optional.of(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void recordDebit(String accountId, LocalDateTime date, BigDecimal amount) {
+        if (!rules.isEmpty()) {
+            long bucket = bucketOf(date);
+            long amountCents = cents(amount);
+            // Dentro de compute para no competir con evictIdle sobre la misma cuenta
+            windows.compute(accountId, (key, window) -> {
+                AccountWindow target = window != null ? window : new AccountWindow(bucketCount);
+                target.add(bucket, 1, amountCents);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Descuenta un débito anulado si su bucket sigue en el anillo.
+     */
+    public void reverseDebit(String accountId, LocalDateTime date, BigDecimal amount) {
+        AccountWindow window = windows.get(accountId);
+        if (window != null) {
+            window.subtract(bucketOf(date), 1, cents(amount));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rules.isEmpty()) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now(clock).minus(Duration.ofMillis(bucketMillis * bucketCount));
+        try {
+            List<RecentDebit> debits = transactionRepository.findDebitsSince(since);
+            debits.forEach(debit -> recordDebit(debit.accountId(), debit.date(), debit.amount()));
+            log.info("Ventanas de velocidad reconstruidas: {} débitos en {} cuentas", debits.size(), windows.size());
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron reconstruir las ventanas de velocidad: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Quita las cuentas sin débitos dentro de la ventana más larga.
+     */
+    @Scheduled(fixedDelayString = "${app.velocity.sweep:PT5M}")
+    public void evictIdle() {
+        long oldest = bucketOf(LocalDateTime.now(clock)) - bucketCount;
+        windows.keySet().forEach(accountId -> windows.computeIfPresent(accountId,
+                (key, window) -> window.lastBucket() <= oldest ? null : window));
+    }
+
+    int trackedAccounts() {
+        return windows.size();
+    }
+
+    private int bucketsFor(VelocityRule rule) {
+        return (int) Math.max(1, (rule.window().toMillis() + bucketMillis - 1) / bucketMillis);
+    }
+
+    private long bucketOf(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli() / bucketMillis;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static final class AccountWindow {
+
+        private final long[] bucketIds;
+        private final long[] counts;
+        private final long[] amounts;
+
+        AccountWindow(int size) {
+            bucketIds = new long[size];
+            counts = new long[size];
+            amounts = new long[size];
+            Arrays.fill(bucketIds, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long bucket, long count, long amountCents) {
+            int slot = (int) Math.floorMod(bucket, (long) bucketIds.length);
+            if (bucketIds[slot] != bucket) {
+                // Un bucket más viejo que el ocupante ya salió de todas las ventanas
+                if (bucket < bucketIds[slot]) {
+                    return;
+                }
+                bucketIds[slot] = bucket;
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+            counts[slot] += count;
+            amounts[slot] += amountCents;
+        }
+
+        synchronized void subtract(long bucket, long count, long amountCents) {
+            int slot = (int) Math.floorMod(bucket, (long) bucketIds.length);
+            if (bucketIds[slot] == bucket) {
+                counts[slot] = Math.max(0, counts[slot] - count);
+                amounts[slot] = Math.max(0, amounts[slot] - amountCents);
+            }
+        }
+
+        /**
+         * [cantidad, monto en centavos] de los últimos {@code buckets} buckets hasta {@code now} inclusive.
+         */
+        synchronized long[] totals(long now, int buckets) {
+            long[] totals = new long[2];
+            for (int i = 0; i < bucketIds.length; i++) {
+                if (bucketIds[i] <= now && bucketIds[i] > now - buckets) {
+                    totals[0] += counts[i];
+                    totals[1] += amounts[i];
+                }
+            }
+            return totals;
+        }
+
+        synchronized long lastBucket() {
+            return Arrays.stream(bucketIds).max().orElse(Long.MIN_VALUE);
+        }
+    }
+}
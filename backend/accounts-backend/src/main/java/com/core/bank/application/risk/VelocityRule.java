@@ -0,0 +1,50 @@
+package com.core.bank.application.risk;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Regla de velocidad sobre débitos: cantidad o monto acumulado máximo dentro de una ventana.
+ * Formato de configuración: {@code ventana:count|amount:límite}, p. ej. {@code PT10M:count:5,PT1H:amount:800}.
+ */
+public record VelocityRule(Duration window, Metric metric, BigDecimal limit) {
+
+    public enum Metric {
+        COUNT, AMOUNT
+    }
+
+    public static List<VelocityRule> parseAll(String rules) {
+        if (rules == null || rules.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(rules.split(","))
+                .map(String::trim)
+                .filter(rule -> !rule.isEmpty())
+                .map(VelocityRule::parse)
+                .toList();
+    }
+
+    public static VelocityRule parse(String rule) {
+        String[] parts = rule.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Regla de velocidad inválida: " + rule);
+        }
+        Duration window = Duration.parse(parts[0]);
+        Metric metric = Metric.valueOf(parts[1].toUpperCase(Locale.ROOT));
+        BigDecimal limit = new BigDecimal(parts[2]);
+        if (window.isNegative() || window.isZero() || limit.signum() <= 0) {
+            throw new IllegalArgumentException("Regla de velocidad inválida: " + rule);
+        }
+        return new VelocityRule(window, metric, limit);
+    }
+
+    public String describe() {
+        long minutes = window.toMinutes();
+        return metric == Metric.COUNT
+                ? String.format(Locale.ROOT, "máximo %s débitos en %d minutos", limit.toPlainString(), minutes)
+                : String.format(Locale.ROOT, "máximo %s en débitos en %d minutos", limit.toPlainString(), minutes);
+    }
+}
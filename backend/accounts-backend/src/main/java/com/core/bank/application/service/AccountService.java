@@ -1,22 +1,40 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.LookupIndex;
+import com.core.bank.application.cache.ReportCache;
+import com.core.bank.application.cache.UniqueKeyFilter;
+import com.core.bank.application.dto.BatchResult;
 import com.core.bank.application.dto.PaginationMetadata;
+import com.core.bank.application.journal.PostingJournalService;
 import com.core.bank.application.utils.PaginationUtil;
+import com.core.bank.application.utils.TransactionHooks;
 import com.core.bank.application.mapper.AccountMapper;
 import com.core.bank.application.strategy.account.AccountNumberGenerator;
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.OutboxEvent;
 import com.core.bank.domain.repository.AccountRepository;
 import com.core.bank.domain.repository.AccountRepositoryCustom;
+import com.core.bank.domain.repository.AccountRow;
+import com.core.bank.domain.repository.ArchivedTransactionRepository;
 import com.core.bank.domain.repository.TransactionRepository;
 import com.core.bank.infrastructure.exception.ResourceNotFoundException;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.infrastructure.persistence.ReplicaRoutingContext;
+import com.core.bank.model.dto.AccountPatch;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -24,85 +42,228 @@ import java.util.UUID;
 @Transactional
 public class AccountService {
 
+    private static final int MAX_NUMBER_CONFLICTS = 3;
+
     private final AccountRepository accountRepository;
     @Qualifier("AccountRepositoryImpl")
     private final AccountRepositoryCustom accountRepositoryCustom;
     private final AccountValidationService validationService;
+    private final AccountMapper accountMapper;
     private final AccountNumberGenerator accountNumberGenerator;
     private final TransactionRepository transactionRepository;
+    private final BankMetrics bankMetrics;
+    private final ReportCache reportCache;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final OutboxService outboxService;
+    private final BalanceStripingService balanceStripingService;
+    private final PostingJournalService postingJournalService;
+    private final UniqueKeyFilter uniqueKeyFilter;
+    private final LookupIndex lookupIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public AccountService(AccountRepository accountRepository,
                          @Qualifier("AccountRepositoryImpl") AccountRepositoryCustom accountRepositoryCustom,
                          AccountValidationService validationService,
                          AccountMapper accountMapper,
                          AccountNumberGenerator accountNumberGenerator,
-                         TransactionRepository transactionRepository) {
+                         TransactionRepository transactionRepository,
+                         BankMetrics bankMetrics,
+                         ReportCache reportCache,
+                         ArchivedTransactionRepository archivedTransactionRepository,
+                         OutboxService outboxService,
+                         BalanceStripingService balanceStripingService,
+                         PostingJournalService postingJournalService,
+                         UniqueKeyFilter uniqueKeyFilter,
+                         LookupIndex lookupIndex,
+                         TransactionTemplate transactionTemplate) {
         this.accountRepository = accountRepository;
         this.accountRepositoryCustom = accountRepositoryCustom;
         this.validationService = validationService;
+        this.accountMapper = accountMapper;
         this.accountNumberGenerator = accountNumberGenerator;
         this.transactionRepository = transactionRepository;
+        this.bankMetrics = bankMetrics;
+        this.reportCache = reportCache;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.outboxService = outboxService;
+        this.balanceStripingService = balanceStripingService;
+        this.postingJournalService = postingJournalService;
+        this.uniqueKeyFilter = uniqueKeyFilter;
+        this.lookupIndex = lookupIndex;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * Ni el filtro ni la consulta previa ven las altas de otras instancias: si el índice único rechaza el número
+     * generado, el alta se repite en una transacción nueva con otro número.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Account create(Account account) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insert(account));
+            } catch (DataIntegrityViolationException e) {
+                String accountNumber = account.getAccountNumber();
+                if (attempt >= MAX_NUMBER_CONFLICTS
+                        || !ReplicaRoutingContext.onPrimary(() -> accountRepository.existsByAccountNumber(accountNumber))) {
+                    throw e;
+                }
+                log.warn("Número de cuenta {} registrado a la vez por otra alta, se genera otro", accountNumber);
+                account.setId(null);
+            }
+        }
+    }
+
+    private Account insert(Account account) {
         String generatedAccountNumber = generateUniqueAccountNumber();
         account.setAccountNumber(generatedAccountNumber);
         
         Customer customer = validationService.validateAndGetCustomer(account.getCustomer().getId());
         
         account.setCustomer(customer);
-        return accountRepository.save(account);
+        invalidateReports(account);
+        // El INSERT sale aquí y no al confirmar: un número duplicado se detecta dentro del intento
+        Account saved = accountRepository.saveAndFlush(account);
+        uniqueKeyFilter.added(UniqueKeyFilter.Key.ACCOUNT_NUMBER, saved.getAccountNumber());
+        lookupIndex.accountChanged(saved.getId(), saved.getAccountNumber(), saved.getAccountType());
+        outboxService.accountChanged(saved, OutboxEvent.CREATED);
+        return saved;
     }
     
     private String generateUniqueAccountNumber() {
         int maxRetries = 10;
         for (int i = 0; i < maxRetries; i++) {
             String accountNumber = accountNumberGenerator.generateAccountNumber();
-            if (!accountRepository.existsByAccountNumber(accountNumber)) {
+            if (isNewAccountNumber(accountNumber)) {
                 log.info("Número de cuenta generado: {}", accountNumber);
+                bankMetrics.accountNumberGenerated(i + 1);
                 return accountNumber;
             }
         }
+        bankMetrics.accountNumberExhausted(maxRetries);
         throw new BusinessRuleException("No se pudo generar un número de cuenta único después de " + maxRetries + " intentos");
     }
 
+    private boolean isNewAccountNumber(String accountNumber) {
+        if (uniqueKeyFilter.isDefinitelyNew(UniqueKeyFilter.Key.ACCOUNT_NUMBER, accountNumber)) {
+            return true;
+        }
+        boolean found = accountRepository.existsByAccountNumber(accountNumber);
+        uniqueKeyFilter.lookedUp(UniqueKeyFilter.Key.ACCOUNT_NUMBER, found);
+        return !found;
+    }
+
     
     public Account getById(String id) {
-        return accountRepository.findById(id)
+        Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
+        balanceStripingService.loadPendingCredits(account);
+        return account;
     }
 
-    public Account patch(String id, Account accountPatch) {
-        Account account = getById(id);
+    /**
+     * Aplica el PATCH, incluido balanceSlots, con la cuenta bloqueada: todo se confirma junto y sale un solo
+     * evento. El UPDATE de la entidad lleva current_balance, así que sin el bloqueo pisaría el saldo que escriben
+     * a la vez los movimientos.
+     */
+    public Account patch(String id, AccountPatch accountPatch) {
+        Account account = accountRepository.lockById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
+        accountMapper.updateEntity(accountPatch, account);
+        if (accountPatch.getBalanceSlots() != null) {
+            resizeSlots(account, accountPatch.getBalanceSlots());
+        }
+        balanceStripingService.loadPendingCredits(account);
 
-        return accountRepository.save(account);
+        invalidateReports(account);
+        Account saved = accountRepository.save(account);
+        lookupIndex.accountChanged(saved.getId(), saved.getAccountNumber(), saved.getAccountType());
+        outboxService.accountChanged(saved, OutboxEvent.UPDATED);
+        return saved;
+    }
+
+    /**
+     * Activa (N &gt; 0), ajusta o desactiva (0) el saldo repartido; lo pendiente en slots se consolida antes.
+     */
+    public Account changeBalanceSlots(String id, int slots) {
+        Account account = accountRepository.lockById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
+        resizeSlots(account, slots);
+        outboxService.accountChanged(account, OutboxEvent.UPDATED);
+        return account;
+    }
+
+    private void resizeSlots(Account account, int slots) {
+        balanceStripingService.resize(account, slots);
+        log.info("Cuenta {} con {} slots de saldo", account.getAccountNumber(), slots);
     }
 
     public void delete(String id) {
         Account account = getById(id);
         
-        long transactionCount = transactionRepository.countByAccountId(id);
+        long transactionCount = transactionRepository.countByAccountId(id)
+                + archivedTransactionRepository.countByAccountId(id);
         if (transactionCount > 0) {
             throw new BusinessRuleException("No se puede eliminar la cuenta porque tiene " + transactionCount + " movimiento(s) asociado(s)");
         }
+        if (postingJournalService.hasPending(id)) {
+            throw new BusinessRuleException("No se puede eliminar la cuenta porque tiene movimientos pendientes de aplicar");
+        }
         
         accountRepository.delete(account);
+        uniqueKeyFilter.removed(UniqueKeyFilter.Key.ACCOUNT_NUMBER, account.getAccountNumber());
+        lookupIndex.accountRemoved(id);
+        outboxService.accountChanged(account, OutboxEvent.DELETED);
+        invalidateReports(account);
     }
 
-    
-    public List<Account> findAccounts(UUID customerId, Integer offset, Integer size, String search) {
+    private void invalidateReports(Account account) {
+        String customerId = account.getCustomer().getId();
+        TransactionHooks.afterCommit(() -> reportCache.customerChanged(customerId));
+    }
+
+    /**
+     * Cuentas de los ids pedidos con una sola consulta (más una para los slots si alguna reparte el saldo), en el
+     * orden pedido, y los ids que no existen.
+     */
+    @Transactional(readOnly = true)
+    public BatchResult<AccountRow> findByIds(List<String> ids) {
+        List<AccountRow> rows = accountRepositoryCustom.findRowsByIds(new LinkedHashSet<>(ids));
+        return BatchResult.of(ids, withPendingCredits(rows), AccountRow::id);
+    }
+
+    /**
+     * Opciones del selector de cuentas por prefijo del número de cuenta.
+     */
+    @Transactional(readOnly = true)
+    public List<LookupIndex.Option> lookup(String query, int limit) {
+        return lookupIndex.accounts(query, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountRow> findAccounts(UUID customerId, Integer offset, Integer size, String search) {
         String customerIdStr = customerId != null ? customerId.toString() : null;
-        return accountRepositoryCustom.findAllWithFiltersPaginated(customerIdStr, search, offset, size);
+        List<AccountRow> rows = accountRepositoryCustom.findRowsPaginated(customerIdStr, search, offset, size);
+        return withPendingCredits(rows);
     }
 
+    private List<AccountRow> withPendingCredits(List<AccountRow> rows) {
+        List<String> striped = rows.stream().filter(row -> row.balanceSlots() > 0).map(AccountRow::id).toList();
+        if (striped.isEmpty()) {
+            return rows;
+        }
+        Map<String, BigDecimal> pending = balanceStripingService.pendingCredits(striped);
+        return rows.stream()
+                .map(row -> row.balanceSlots() > 0
+                        ? row.withPendingCredits(pending.getOrDefault(row.id(), BigDecimal.ZERO))
+                        : row)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public PaginationMetadata buildMetadata(Integer page, Integer size, UUID customerId, String search) {
         String customerIdStr = customerId != null ? customerId.toString() : null;
-        long total = countAccounts(customerIdStr, search);
+        long total = accountRepositoryCustom.countRows(customerIdStr, search);
         return PaginationUtil.buildMetadata(page, size, total);
     }
-
-    private long countAccounts(String customerId, String search) {
-        List<Account> accounts = accountRepositoryCustom.findAllWithFiltersPaginated(customerId, search, 0, Integer.MAX_VALUE);
-        return accounts.size();
-    }
 }
@@ -0,0 +1,165 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.BalanceSlot;
+import com.core.bank.domain.repository.AccountRepository;
+import com.core.bank.domain.repository.BalanceSlotRepository;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.exception.ResourceNotFoundException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Saldo repartido para cuentas que reciben créditos de forma continua (recaudación, comercios).
+ * <p>
+ * Con {@code balanceSlots = N} cada crédito suma sobre uno de N slots al azar en cuentas_saldo_slots en lugar
+ * de actualizar la fila de cuentas, así los créditos concurrentes ya no se serializan sobre el mismo bloqueo.
+ * El saldo disponible es current_balance más los slots; los débitos bloquean la cuenta y leen los slots
+ * confirmados. Un proceso periódico consolida los slots en current_balance.
+ */
+@Slf4j
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class BalanceStripingService {
+
+    private final BalanceSlotRepository balanceSlotRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BankMetrics bankMetrics;
+
+    @Value("${app.balance-striping.max-slots:64}")
+    private int maxSlots;
+
+    public BalanceStripingService(BalanceSlotRepository balanceSlotRepository,
+                                  AccountRepository accountRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  BankMetrics bankMetrics) {
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.bankMetrics = bankMetrics;
+    }
+
+    /**
+     * Carga los créditos pendientes de una cuenta con saldo repartido; las demás no consultan nada.
+     */
+    public void loadPendingCredits(Account account) {
+        if (account.isStriped()) {
+            account.setPendingCredits(balanceSlotRepository.sumByAccountId(account.getId()));
+        }
+    }
+
+    public void loadPendingCredits(Collection<Account> accounts) {
+        List<Account> striped = accounts.stream().filter(Account::isStriped).toList();
+        if (striped.isEmpty()) {
+            return;
+        }
+        Map<String, BigDecimal> pending = pendingCredits(striped.stream().map(Account::getId).toList());
+        striped.forEach(account -> account.setPendingCredits(pending.getOrDefault(account.getId(), BigDecimal.ZERO)));
+    }
+
+    /**
+     * Créditos pendientes en slots por cuenta; las cuentas sin slots con saldo no aparecen.
+     */
+    public Map<String, BigDecimal> pendingCredits(Collection<String> accountIds) {
+        return balanceSlotRepository.sumByAccountIds(accountIds).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> (BigDecimal) row[1]));
+    }
+
+    /**
+     * Suma el crédito en un slot al azar. El movimiento debe estar ya escrito (flush) para que los bloqueos se
+     * tomen en el mismo orden que la consolidación: cuenta (por la FK) y luego slot.
+     */
+    public void credit(Account account, BigDecimal amount) {
+        int slot = ThreadLocalRandom.current().nextInt(account.getBalanceSlots());
+        if (balanceSlotRepository.addToSlot(account.getId(), slot, amount) == 0) {
+            // Slot retirado por un cambio de balanceSlots concurrente: va directo al saldo consolidado, con la
+            // cuenta bloqueada para no pisar otro movimiento
+            accountRepository.lockForUpdate(account);
+            account.setCurrentBalance(account.getCurrentBalance().add(amount));
+            return;
+        }
+        BigDecimal pending = account.getPendingCredits() != null ? account.getPendingCredits() : BigDecimal.ZERO;
+        account.setPendingCredits(pending.add(amount));
+    }
+
+    /**
+     * Cambia la cantidad de slots de una cuenta bloqueada por el llamador: consolida lo pendiente, retira los
+     * slots sobrantes y crea los que falten. 0 desactiva el modo.
+     */
+    public void resize(Account account, int slots) {
+        if (slots < 0 || slots > maxSlots) {
+            throw new BusinessRuleException("balanceSlots debe estar entre 0 y " + maxSlots);
+        }
+        account.setBalanceSlots(slots);
+        consolidateLocked(account);
+        Set<Integer> existing = new HashSet<>();
+        balanceSlotRepository.findByAccountId(account.getId()).forEach(slot -> existing.add(slot.getSlot()));
+        for (int slot = 0; slot < slots; slot++) {
+            if (!existing.contains(slot)) {
+                balanceSlotRepository.save(BalanceSlot.builder()
+                        .accountId(account.getId())
+                        .slot(slot)
+                        .amount(BigDecimal.ZERO)
+                        .build());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.balance-striping.consolidate-interval:PT10S}")
+    @Transactional(propagation = Propagation.NEVER)
+    public int consolidateAll() {
+        int consolidated = 0;
+        for (String accountId : balanceSlotRepository.findAccountIdsWithPendingCredits()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> consolidate(accountId));
+                consolidated++;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo consolidar el saldo repartido de la cuenta {}: {}", accountId, e.getMessage());
+            }
+        }
+        if (consolidated > 0) {
+            bankMetrics.balanceSlotsConsolidated(consolidated);
+        }
+        return consolidated;
+    }
+
+    private void consolidate(String accountId) {
+        Account account = accountRepository.lockById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        consolidateLocked(account);
+    }
+
+    private void consolidateLocked(Account account) {
+        BigDecimal total = BigDecimal.ZERO;
+        boolean retired = false;
+        for (BalanceSlot slot : balanceSlotRepository.lockByAccountId(account.getId())) {
+            total = total.add(slot.getAmount());
+            if (slot.getSlot() >= account.getBalanceSlots()) {
+                retired = true;
+            } else {
+                slot.setAmount(BigDecimal.ZERO);
+            }
+        }
+        if (retired) {
+            balanceSlotRepository.deleteRetired(account.getId(), account.getBalanceSlots());
+        }
+        account.setCurrentBalance(account.getCurrentBalance().add(total));
+        account.setPendingCredits(null);
+    }
+}
@@ -1,20 +1,28 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.LookupIndex;
+import com.core.bank.application.cache.ReportCache;
+import com.core.bank.application.cache.UniqueKeyFilter;
+import com.core.bank.application.dto.BatchResult;
 import com.core.bank.application.dto.PaginationMetadata;
 import com.core.bank.application.utils.PaginationUtil;
+import com.core.bank.application.utils.TransactionHooks;
 import com.core.bank.application.mapper.CustomerMapper;
 import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.OutboxEvent;
 import com.core.bank.domain.repository.CustomerRepository;
 import com.core.bank.domain.repository.CustomerRepositoryCustom;
+import com.core.bank.domain.repository.CustomerRow;
 import com.core.bank.domain.repository.AccountRepository;
 import com.core.bank.infrastructure.exception.ResourceNotFoundException;
-import com.core.bank.infrastructure.exception.ResourceAlreadyExistsException;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.model.dto.CustomerPatch;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,22 +35,40 @@ public class CustomerService {
     @Qualifier("CustomerRepositoryImpl")
     private final CustomerRepositoryCustom customerRepositoryCustom;
     private final CustomerValidationService validationService;
+    private final CustomerMapper customerMapper;
     private final AccountRepository accountRepository;
+    private final ReportCache reportCache;
+    private final OutboxService outboxService;
+    private final UniqueKeyFilter uniqueKeyFilter;
+    private final LookupIndex lookupIndex;
 
     public CustomerService(CustomerRepository customerRepository,
                            @Qualifier("CustomerRepositoryImpl") CustomerRepositoryCustom customerRepositoryCustom,
                            CustomerValidationService validationService,
                            CustomerMapper customerMapper,
-                           AccountRepository accountRepository) {
+                           AccountRepository accountRepository,
+                           ReportCache reportCache,
+                           OutboxService outboxService,
+                           UniqueKeyFilter uniqueKeyFilter,
+                           LookupIndex lookupIndex) {
         this.customerRepository = customerRepository;
         this.customerRepositoryCustom = customerRepositoryCustom;
         this.validationService = validationService;
+        this.customerMapper = customerMapper;
         this.accountRepository = accountRepository;
+        this.reportCache = reportCache;
+        this.outboxService = outboxService;
+        this.uniqueKeyFilter = uniqueKeyFilter;
+        this.lookupIndex = lookupIndex;
     }
 
     public Customer create(Customer customer) {
         validationService.validateIdentificationNotExists(customer.getIdentification());
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        uniqueKeyFilter.added(UniqueKeyFilter.Key.IDENTIFICATION, saved.getIdentification());
+        lookupIndex.customerChanged(saved.getId(), saved.getName(), saved.getIdentification());
+        outboxService.customerChanged(saved, OutboxEvent.CREATED);
+        return saved;
     }
 
     public Customer getById(String id) {
@@ -53,12 +79,9 @@ public class CustomerService {
     public Customer update(String id, Customer customerDetails) {
         Customer customer = getById(id);
 
-        if (!customer.getIdentification().equals(customerDetails.getIdentification())) {
-            customerRepository.findByIdentification(customerDetails.getIdentification())
-                    .ifPresent(c -> {
-                        throw new ResourceAlreadyExistsException("Customer", "identification",
-                                customerDetails.getIdentification());
-                    });
+        String previousIdentification = customer.getIdentification();
+        if (!previousIdentification.equals(customerDetails.getIdentification())) {
+            validationService.validateIdentificationNotExists(customerDetails.getIdentification());
         }
 
         customer.setName(customerDetails.getName());
@@ -69,22 +92,32 @@ public class CustomerService {
         customer.setPhone(customerDetails.getPhone());
         customer.setStatus(customerDetails.getStatus());
 
-        return customerRepository.save(customer);
+        TransactionHooks.afterCommit(() -> reportCache.customerChanged(id));
+        Customer saved = customerRepository.save(customer);
+        identificationChanged(previousIdentification, saved.getIdentification());
+        lookupIndex.customerChanged(saved.getId(), saved.getName(), saved.getIdentification());
+        outboxService.customerChanged(saved, OutboxEvent.UPDATED);
+        return saved;
     }
 
-    public Customer patch(String id, Customer customerPatch) {
+    /**
+     * Aplica el PATCH sobre la entidad cargada en esta transacción (sin open-in-view no hay otra gestionada).
+     */
+    public Customer patch(String id, CustomerPatch customerPatch) {
         Customer customer = getById(id);
+        String previousIdentification = customer.getIdentification();
 
         Optional.ofNullable(customerPatch.getIdentification())
-                .filter(newId -> !newId.equals(customer.getIdentification()))
-                .ifPresent(newId -> {
-                    customerRepository.findByIdentification(newId)
-                            .ifPresent(c -> {
-                                throw new ResourceAlreadyExistsException("Customer", "identification", newId);
-                            });
-                });
-
-        return customerRepository.save(customer);
+                .filter(newId -> !newId.equals(previousIdentification))
+                .ifPresent(validationService::validateIdentificationNotExists);
+        customerMapper.updateEntity(customerPatch, customer);
+
+        TransactionHooks.afterCommit(() -> reportCache.customerChanged(id));
+        Customer saved = customerRepository.save(customer);
+        identificationChanged(previousIdentification, saved.getIdentification());
+        lookupIndex.customerChanged(saved.getId(), saved.getName(), saved.getIdentification());
+        outboxService.customerChanged(saved, OutboxEvent.UPDATED);
+        return saved;
     }
 
     public void delete(String id) {
@@ -96,15 +129,45 @@ public class CustomerService {
         }
         
         customerRepository.delete(customer);
+        uniqueKeyFilter.removed(UniqueKeyFilter.Key.IDENTIFICATION, customer.getIdentification());
+        lookupIndex.customerRemoved(id);
+        outboxService.customerChanged(customer, OutboxEvent.DELETED);
+        TransactionHooks.afterCommit(() -> reportCache.customerChanged(id));
     }
 
-    public List<Customer> findCustomers(Integer offset, Integer size, String search) {
+    private void identificationChanged(String previous, String current) {
+        if (!previous.equals(current)) {
+            uniqueKeyFilter.added(UniqueKeyFilter.Key.IDENTIFICATION, current);
+            uniqueKeyFilter.removed(UniqueKeyFilter.Key.IDENTIFICATION, previous);
+        }
+    }
+
+    /**
+     * Clientes de los ids pedidos con una sola consulta, en el orden pedido, y los ids que no existen.
+     */
+    @Transactional(readOnly = true)
+    public BatchResult<CustomerRow> findByIds(List<String> ids) {
+        List<CustomerRow> rows = customerRepositoryCustom.findRowsByIds(new LinkedHashSet<>(ids));
+        return BatchResult.of(ids, rows, CustomerRow::id);
+    }
+
+    /**
+     * Opciones del selector de clientes por prefijo de nombre o identificación.
+     */
+    @Transactional(readOnly = true)
+    public List<LookupIndex.Option> lookup(String query, int limit) {
+        return lookupIndex.customers(query, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerRow> findCustomers(Integer offset, Integer size, String search) {
 
-        return customerRepositoryCustom.findAllWithSearchPaginated(search, offset, size);
+        return customerRepositoryCustom.findRowsPaginated(search, offset, size);
 
 
     }
 
+    @Transactional(readOnly = true)
     public PaginationMetadata buildMetadata(Integer page, Integer size) {
 
         return PaginationUtil.buildMetadata(page, size, customerRepository.count());
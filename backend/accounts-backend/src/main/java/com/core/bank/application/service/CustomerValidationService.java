@@ -1,5 +1,6 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.UniqueKeyFilter;
 import com.core.bank.domain.repository.CustomerRepository;
 import com.core.bank.infrastructure.exception.ResourceAlreadyExistsException;
 import com.core.bank.infrastructure.exception.ResourceNotFoundException;
@@ -11,12 +12,17 @@ import org.springframework.stereotype.Service;
 public class CustomerValidationService {
 
     private final CustomerRepository customerRepository;
+    private final UniqueKeyFilter uniqueKeyFilter;
 
     public void validateIdentificationNotExists(String identification) {
-        customerRepository.findByIdentification(identification)
-                .ifPresent(c -> {
-                    throw new ResourceAlreadyExistsException("Customer", "identification", identification);
-                });
+        if (uniqueKeyFilter.isDefinitelyNew(UniqueKeyFilter.Key.IDENTIFICATION, identification)) {
+            return;
+        }
+        boolean found = customerRepository.findByIdentification(identification).isPresent();
+        uniqueKeyFilter.lookedUp(UniqueKeyFilter.Key.IDENTIFICATION, found);
+        if (found) {
+            throw new ResourceAlreadyExistsException("Customer", "identification", identification);
+        }
     }
 
     public void validateCustomerExists(String customerId) {
@@ -1,8 +1,10 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.risk.VelocityEngine;
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.repository.TransactionRepository;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,24 +17,37 @@ import java.time.LocalDateTime;
 public class DebitValidationService {
 
     private final TransactionRepository transactionRepository;
+    private final BankMetrics bankMetrics;
+    private final VelocityEngine velocityEngine;
 
     @Value("${app.daily-withdrawal-limit:1000}")
     private Double dailyWithdrawalLimit;
 
     public void validate(Account account, BigDecimal amount) {
+        validate(account, amount, BigDecimal.ZERO);
+    }
+
+    /**
+     * {@code unappliedDebits}: débitos ya aceptados que aún no están en movimientos (diario de movimientos).
+     */
+    public void validate(Account account, BigDecimal amount, BigDecimal unappliedDebits) {
         validateSufficientBalance(account);
         validateAmountDoesNotExceedBalance(account, amount);
-        validateDailyWithdrawalLimit(account, amount);
+        validateDailyWithdrawalLimit(account, amount.add(unappliedDebits));
+        validateVelocity(account, amount);
+        bankMetrics.debitValidation(BankMetrics.DEBIT_APPROVED);
     }
 
     private void validateSufficientBalance(Account account) {
-        if (account.getCurrentBalance().compareTo(BigDecimal.ZERO) <= 0) {
+        if (account.getAvailableBalance().compareTo(BigDecimal.ZERO) <= 0) {
+            bankMetrics.debitValidation(BankMetrics.DEBIT_INSUFFICIENT_BALANCE);
             throw new BusinessRuleException("Saldo no disponible");
         }
     }
 
     private void validateAmountDoesNotExceedBalance(Account account, BigDecimal amount) {
-        if (account.getCurrentBalance().compareTo(amount) < 0) {
+        if (account.getAvailableBalance().compareTo(amount) < 0) {
+            bankMetrics.debitValidation(BankMetrics.DEBIT_INSUFFICIENT_BALANCE);
             throw new BusinessRuleException("Saldo no disponible");
         }
     }
@@ -42,7 +57,15 @@ public class DebitValidationService {
         BigDecimal totalDebits = (dailyDebits != null ? dailyDebits : BigDecimal.ZERO).add(amount);
         
         if (totalDebits.compareTo(BigDecimal.valueOf(dailyWithdrawalLimit)) > 0) {
+            bankMetrics.debitValidation(BankMetrics.DEBIT_DAILY_LIMIT_EXCEEDED);
             throw new BusinessRuleException("Cupo diario Excedido");
         }
     }
+
+    private void validateVelocity(Account account, BigDecimal amount) {
+        velocityEngine.check(account.getId(), amount).ifPresent(rule -> {
+            bankMetrics.debitValidation(BankMetrics.DEBIT_VELOCITY_EXCEEDED);
+            throw new BusinessRuleException("Límite de frecuencia de débitos excedido (" + rule.describe() + ")");
+        });
+    }
 }
@@ -0,0 +1,397 @@
+package com.core.bank.application.service;
+
+import com.core.bank.application.dto.InterestRunSummary;
+import com.core.bank.application.statement.StatementPipeline;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.InterestAccrual;
+import com.core.bank.domain.entity.InterestRun;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.AccountRepository;
+import com.core.bank.domain.repository.InterestAccrualRepository;
+import com.core.bank.domain.repository.InterestRunRepository;
+import com.core.bank.domain.repository.impl.MovementArchiveBoundary;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.model.dto.TransactionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acredita intereses mensuales a las cuentas AHORRO activas.
+ * <p>
+ * Las cuentas se leen por id en bloques (keyset) y cada bloque se procesa en su propia transacción en un pool
+ * acotado: una consulta de movimientos para todo el bloque, saldo promedio ponderado por tiempo y los créditos
+ * vía {@link TransactionService#createAll}. El checkpoint solo avanza hasta el último bloque contiguo
+ * confirmado; al reanudar, los bloques ya acreditados se saltan por la clave única (cuenta, periodo).
+ */
+@Slf4j
+@Service
+public class InterestAccrualService {
+
+    private static final BigDecimal SECONDS_PER_YEAR = BigDecimal.valueOf(365L * 86_400L);
+    private static final String SAVINGS = "AHORRO";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionService transactionService;
+    private final BalanceStripingService balanceStripingService;
+    private final AccountRepository accountRepository;
+    private final InterestAccrualRepository accrualRepository;
+    private final InterestRunRepository runRepository;
+    private final MovementArchiveBoundary archiveBoundary;
+    private final BankMetrics bankMetrics;
+    private final StatementPipeline statementPipeline;
+
+    @Value("${app.interest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.interest.annual-rate:0.015}")
+    private BigDecimal annualRate;
+
+    @Value("${app.interest.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.interest.parallelism:4}")
+    private int parallelism;
+
+    public InterestAccrualService(NamedParameterJdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  TransactionService transactionService,
+                                  BalanceStripingService balanceStripingService,
+                                  AccountRepository accountRepository,
+                                  InterestAccrualRepository accrualRepository,
+                                  InterestRunRepository runRepository,
+                                  MovementArchiveBoundary archiveBoundary,
+                                  BankMetrics bankMetrics,
+                                  StatementPipeline statementPipeline) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionService = transactionService;
+        this.balanceStripingService = balanceStripingService;
+        this.accountRepository = accountRepository;
+        this.accrualRepository = accrualRepository;
+        this.runRepository = runRepository;
+        this.archiveBoundary = archiveBoundary;
+        this.bankMetrics = bankMetrics;
+        this.statementPipeline = statementPipeline;
+    }
+
+    @Scheduled(cron = "${app.interest.cron:0 0 3 1 * *}")
+    public void scheduledAccrual() {
+        if (enabled) {
+            accrue(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    /**
+     * Procesa el periodo desde su checkpoint. Un periodo ya completado no vuelve a acreditar nada. Al completarse
+     * se lanzan los estados de cuenta del periodo, que así incluyen los intereses.
+     */
+    public InterestRunSummary accrue(YearMonth period) {
+        String key = period.toString();
+        long started = System.nanoTime();
+        InterestRun run = startRun(key);
+        if (InterestRun.COMPLETED.equals(run.getStatus())) {
+            log.info("Intereses de {} ya acreditados", key);
+            return summary(run, 0, started);
+        }
+
+        LocalDateTime from = period.atDay(1).atStartOfDay();
+        LocalDateTime to = period.plusMonths(1).atDay(1).atStartOfDay();
+        Checkpoint checkpoint = new Checkpoint(run);
+        AtomicLong scanned = new AtomicLong();
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            String lastId = run.getLastAccountId();
+            long sequence = 0;
+            List<String> chunk;
+            while (!(chunk = readChunk(lastId)).isEmpty()) {
+                List<String> accounts = chunk;
+                long chunkSequence = sequence++;
+                lastId = accounts.get(accounts.size() - 1);
+                String chunkLastId = lastId;
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        ChunkResult result = transactionTemplate.execute(status -> processChunk(key, from, to, accounts));
+                        scanned.addAndGet(accounts.size());
+                        checkpoint.completed(chunkSequence, chunkLastId, result);
+                    } catch (RuntimeException e) {
+                        log.error("Bloque de intereses {} (hasta {}) falló: {}", key, chunkLastId, e.getMessage());
+                        checkpoint.failed();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        InterestRun finished = checkpoint.finish();
+        InterestRunSummary summary = summary(finished, scanned.get(), started);
+        bankMetrics.interestRun(summary.getStatus(), summary.getAccountsScanned(), System.nanoTime() - started);
+        log.info("Intereses {}: {} cuentas, {} créditos, total {} en {} ms ({} cuentas/s), estado {}",
+                key, summary.getAccountsScanned(), summary.getCreditsPosted(), summary.getTotalInterest(),
+                summary.getElapsed().toMillis(), String.format("%.1f", summary.accountsPerSecond()), summary.getStatus());
+        if (InterestRun.COMPLETED.equals(finished.getStatus())) {
+            statementPipeline.interestAccrued(period);
+        }
+        return summary;
+    }
+
+    private InterestRun startRun(String period) {
+        return transactionTemplate.execute(status -> {
+            InterestRun run = runRepository.findById(period).orElseGet(() -> new InterestRun(period,
+                    InterestRun.RUNNING, null, 0L, BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now()));
+            if (!InterestRun.COMPLETED.equals(run.getStatus())) {
+                run.setStatus(InterestRun.RUNNING);
+                run.setUpdatedAt(LocalDateTime.now());
+            }
+            return runRepository.save(run);
+        });
+    }
+
+    private List<String> readChunk(String afterId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("type", SAVINGS)
+                .addValue("afterId", afterId != null ? afterId : "")
+                .addValue("limit", chunkSize);
+        return jdbcTemplate.queryForList("SELECT id FROM cuentas "
+                        + "WHERE account_type = :type AND status = TRUE AND id > :afterId ORDER BY id LIMIT :limit",
+                params, String.class);
+    }
+
+    private ChunkResult processChunk(String period, LocalDateTime from, LocalDateTime to, List<String> chunk) {
+        Set<String> accrued = new HashSet<>(accrualRepository.findAccruedAccountIds(period, chunk));
+        List<String> candidates = chunk.stream().filter(id -> !accrued.contains(id)).toList();
+        if (candidates.isEmpty()) {
+            return new ChunkResult(0, BigDecimal.ZERO);
+        }
+
+        // Un solo SELECT ... FOR UPDATE para el bloque: un débito confirmado mientras tanto no se pisa al escribir
+        // el saldo. Deja las cuentas gestionadas y create() no vuelve a consultarlas
+        List<Account> pending = accountRepository.lockAllById(candidates).stream()
+                .filter(account -> account.getCreatedAt().isBefore(to))
+                .toList();
+        if (pending.isEmpty()) {
+            return new ChunkResult(0, BigDecimal.ZERO);
+        }
+        balanceStripingService.loadPendingCredits(pending);
+
+        Map<String, List<MovementRow>> movements = movementsSince(pending.stream().map(Account::getId).toList(), from);
+        LocalDateTime postingDate = to.minusSeconds(1);
+        List<Transaction> credits = new ArrayList<>();
+        List<InterestAccrual> accruals = new ArrayList<>();
+        Map<String, BigDecimal> closingBalances = new HashMap<>();
+        for (Account account : pending) {
+            LocalDateTime start = account.getCreatedAt().isAfter(from) ? account.getCreatedAt() : from;
+            List<MovementRow> accountMovements = movements.getOrDefault(account.getId(), List.of());
+            BigDecimal weighted = weightedBalance(account.getAvailableBalance(), accountMovements, start, to);
+            BigDecimal interest = weighted.multiply(annualRate)
+                    .divide(SECONDS_PER_YEAR, 2, RoundingMode.HALF_EVEN);
+            if (interest.signum() <= 0) {
+                continue;
+            }
+            closingBalances.put(account.getId(), balanceAt(account.getAvailableBalance(), accountMovements, to));
+            credits.add(Transaction.builder()
+                    .account(account)
+                    .type(TransactionDTO.TransactionTypeEnum.CREDITO.getValue())
+                    .amount(interest)
+                    .date(postingDate)
+                    .description("Intereses AHORRO " + period)
+                    .build());
+            long seconds = Math.max(1, ChronoUnit.SECONDS.between(start, to));
+            accruals.add(InterestAccrual.builder()
+                    .accountId(account.getId())
+                    .period(period)
+                    .averageBalance(weighted.divide(BigDecimal.valueOf(seconds), 2, RoundingMode.HALF_EVEN))
+                    .amount(interest)
+                    .build());
+        }
+        if (credits.isEmpty()) {
+            return new ChunkResult(0, BigDecimal.ZERO);
+        }
+
+        // El crédito va al cierre del periodo: su saldo es el de ese momento, no el disponible de hoy
+        List<Transaction> posted = transactionService.createAllAt(credits, closingBalances);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < posted.size(); i++) {
+            accruals.get(i).setMovementId(posted.get(i).getId());
+            total = total.add(posted.get(i).getAmount());
+        }
+        accrualRepository.saveAll(accruals);
+        return new ChunkResult(posted.size(), total);
+    }
+
+    /**
+     * Movimientos desde {@code from} (incluye los posteriores al periodo, para reconstruir el saldo inicial),
+     * repartidos entre la tabla caliente y el archivo igual que las consultas de movimientos.
+     */
+    private Map<String, List<MovementRow>> movementsSince(List<String> accountIds, LocalDateTime from) {
+        LocalDateTime boundary = archiveBoundary.current();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", accountIds)
+                .addValue("from", Timestamp.valueOf(from));
+        String select = "SELECT cuenta_id, date, transaction_type, amount FROM %s WHERE cuenta_id IN (:ids) AND date >= :from";
+
+        Map<String, List<MovementRow>> byAccount = new HashMap<>();
+        if (boundary != null && from.isBefore(boundary)) {
+            params.addValue("boundary", Timestamp.valueOf(boundary));
+            collect(jdbcTemplate, String.format(select, "movimientos_archivo") + " AND date < :boundary", params, byAccount);
+            collect(jdbcTemplate, String.format(select, "movimientos") + " AND date >= :boundary", params, byAccount);
+        } else {
+            collect(jdbcTemplate, String.format(select, "movimientos"), params, byAccount);
+        }
+        byAccount.values().forEach(list -> list.sort((a, b) -> a.date().compareTo(b.date())));
+        return byAccount;
+    }
+
+    private static void collect(NamedParameterJdbcTemplate jdbcTemplate, String sql, MapSqlParameterSource params,
+                                Map<String, List<MovementRow>> byAccount) {
+        jdbcTemplate.query(sql, params, rs -> {
+            BigDecimal amount = rs.getBigDecimal("amount");
+            boolean debit = TransactionDTO.TransactionTypeEnum.DEBITO.getValue().equals(rs.getString("transaction_type"));
+            byAccount.computeIfAbsent(rs.getString("cuenta_id"), key -> new ArrayList<>())
+                    .add(new MovementRow(rs.getTimestamp("date").toLocalDateTime(), debit ? amount.negate() : amount));
+        });
+    }
+
+    /**
+     * Integral del saldo (saldo x segundos) entre start y to. El saldo inicial se obtiene restando al saldo
+     * actual todos los movimientos desde start; los saldos negativos no generan interés.
+     */
+    static BigDecimal weightedBalance(BigDecimal currentBalance, List<MovementRow> movements,
+                                      LocalDateTime start, LocalDateTime to) {
+        BigDecimal balance = balanceAt(currentBalance, movements, start);
+        BigDecimal weighted = BigDecimal.ZERO;
+        LocalDateTime cursor = start;
+        for (MovementRow movement : movements) {
+            if (movement.date().isBefore(start)) {
+                continue;
+            }
+            if (!movement.date().isBefore(to)) {
+                break;
+            }
+            weighted = weighted.add(positive(balance).multiply(BigDecimal.valueOf(ChronoUnit.SECONDS.between(cursor, movement.date()))));
+            balance = balance.add(movement.signedAmount());
+            cursor = movement.date();
+        }
+        return weighted.add(positive(balance).multiply(BigDecimal.valueOf(ChronoUnit.SECONDS.between(cursor, to))));
+    }
+
+    /**
+     * Saldo de la cuenta justo antes de {@code at}: el actual menos los movimientos desde esa fecha.
+     */
+    static BigDecimal balanceAt(BigDecimal currentBalance, List<MovementRow> movements, LocalDateTime at) {
+        BigDecimal balance = currentBalance;
+        for (MovementRow movement : movements) {
+            if (!movement.date().isBefore(at)) {
+                balance = balance.subtract(movement.signedAmount());
+            }
+        }
+        return balance;
+    }
+
+    private static BigDecimal positive(BigDecimal value) {
+        return value.signum() > 0 ? value : BigDecimal.ZERO;
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Esperando bloques de intereses en curso");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static InterestRunSummary summary(InterestRun run, long scanned, long startedNanos) {
+        return InterestRunSummary.builder()
+                .period(run.getPeriod())
+                .status(run.getStatus())
+                .accountsScanned(scanned)
+                .creditsPosted(run.getCreditsPosted())
+                .totalInterest(run.getTotalInterest())
+                .elapsed(Duration.ofNanos(System.nanoTime() - startedNanos))
+                .build();
+    }
+
+    record MovementRow(LocalDateTime date, BigDecimal signedAmount) {
+    }
+
+    private record ChunkResult(long credits, BigDecimal total) {
+    }
+
+    /**
+     * Marca de agua de bloques contiguos confirmados; se persiste cada vez que avanza.
+     */
+    private final class Checkpoint {
+
+        private final InterestRun run;
+        private final TreeMap<Long, String> completed = new TreeMap<>();
+        private long nextSequence;
+        private boolean failed;
+
+        Checkpoint(InterestRun run) {
+            this.run = run;
+        }
+
+        synchronized void completed(long sequence, String lastId, ChunkResult result) {
+            run.setCreditsPosted(run.getCreditsPosted() + result.credits());
+            run.setTotalInterest(run.getTotalInterest().add(result.total()));
+            completed.put(sequence, lastId);
+            boolean advanced = false;
+            while (completed.containsKey(nextSequence)) {
+                run.setLastAccountId(completed.remove(nextSequence));
+                nextSequence++;
+                advanced = true;
+            }
+            if (advanced) {
+                save(run.getStatus());
+            }
+        }
+
+        synchronized void failed() {
+            failed = true;
+        }
+
+        synchronized InterestRun finish() {
+            return save(failed ? InterestRun.INCOMPLETE : InterestRun.COMPLETED);
+        }
+
+        private InterestRun save(String status) {
+            run.setStatus(status);
+            run.setUpdatedAt(LocalDateTime.now());
+            return transactionTemplate.execute(tx -> runRepository.save(run));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.ArchiveBoundary;
+import com.core.bank.domain.repository.ArchiveBoundaryRepository;
+import com.core.bank.domain.repository.impl.MovementArchiveBoundary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Traslada los meses cerrados de movimientos a movimientos_archivo.
+ * <p>
+ * Cada mes se copia y el corte avanza en la misma transacción; desde ese momento las lecturas de ese mes van
+ * al archivo. Las filas copiadas se borran de la tabla caliente en una ejecución posterior, cuando las demás
+ * instancias ya refrescaron el corte (purge-delay). El job corre en todas las instancias: cada mes se copia con
+ * la fila del corte bloqueada y partiendo del corte leído bajo ese bloqueo, no del que tiene en memoria.
+ */
+@Slf4j
+@Service
+public class MovementArchiveService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveBoundaryRepository archiveBoundaryRepository;
+    private final MovementArchiveBoundary archiveBoundary;
+
+    @Value("${app.movements.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.movements.archive.hot-months:3}")
+    private int hotMonths;
+
+    @Value("${app.movements.archive.purge-delay:PT10M}")
+    private Duration purgeDelay;
+
+    public MovementArchiveService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ArchiveBoundaryRepository archiveBoundaryRepository,
+                                  MovementArchiveBoundary archiveBoundary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveBoundaryRepository = archiveBoundaryRepository;
+        this.archiveBoundary = archiveBoundary;
+    }
+
+    @Scheduled(cron = "${app.movements.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            purgeArchivedRows(purgeDelay);
+            archiveClosedMonths();
+        }
+    }
+
+    /**
+     * Archiva, mes a mes, todo lo anterior a los últimos hot-months meses. Devuelve las filas copiadas.
+     */
+    public long archiveClosedMonths() {
+        LocalDateTime target = YearMonth.now().minusMonths(hotMonths).atDay(1).atStartOfDay();
+        LocalDateTime current = archiveBoundary.current();
+        LocalDateTime oldest = current != null
+                ? jdbcTemplate.queryForObject("SELECT MIN(date) FROM movimientos WHERE date >= ?",
+                        LocalDateTime.class, Timestamp.valueOf(current))
+                : jdbcTemplate.queryForObject("SELECT MIN(date) FROM movimientos", LocalDateTime.class);
+        if (oldest == null) {
+            return 0;
+        }
+
+        long archived = 0;
+        LocalDateTime monthEnd = YearMonth.from(oldest).plusMonths(1).atDay(1).atStartOfDay();
+        while (!monthEnd.isAfter(target)) {
+            long rows = archiveUntil(monthEnd);
+            archiveBoundary.advance(monthEnd);
+            log.info("Movimientos archivados hasta {}: {}", monthEnd, rows);
+            archived += rows;
+            monthEnd = monthEnd.plusMonths(1);
+        }
+        return archived;
+    }
+
+    /**
+     * Borra de la tabla caliente las filas ya copiadas al archivo, si el corte tiene al menos minAge.
+     */
+    public long purgeArchivedRows(Duration minAge) {
+        ArchiveBoundary boundary = archiveBoundaryRepository.findById(ArchiveBoundary.SINGLETON_ID).orElse(null);
+        if (boundary == null || boundary.getUpdatedAt().isAfter(LocalDateTime.now().minus(minAge))) {
+            return 0;
+        }
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(date) FROM movimientos WHERE date < ?", LocalDateTime.class,
+                Timestamp.valueOf(boundary.getArchivedBefore()));
+        if (oldest == null) {
+            return 0;
+        }
+
+        long purged = 0;
+        // Un DELETE por mes para acotar el tamaño de cada transacción
+        LocalDateTime monthEnd = YearMonth.from(oldest).plusMonths(1).atDay(1).atStartOfDay();
+        while (true) {
+            LocalDateTime until = monthEnd.isBefore(boundary.getArchivedBefore()) ? monthEnd : boundary.getArchivedBefore();
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(
+                    "DELETE FROM movimientos WHERE date < ?", Timestamp.valueOf(until)));
+            purged += rows != null ? rows : 0;
+            if (!until.isBefore(boundary.getArchivedBefore())) {
+                break;
+            }
+            monthEnd = monthEnd.plusMonths(1);
+        }
+        log.info("Movimientos purgados de la tabla caliente: {}", purged);
+        return purged;
+    }
+
+    private long archiveUntil(LocalDateTime until) {
+        Integer rows = transactionTemplate.execute(status -> {
+            // Otra instancia que archive a la vez espera aquí y después ve el corte ya avanzado
+            ArchiveBoundary boundary = archiveBoundaryRepository.lockById(ArchiveBoundary.SINGLETON_ID)
+                    .orElseGet(() -> new ArchiveBoundary(ArchiveBoundary.SINGLETON_ID, null, null));
+            LocalDateTime from = boundary.getArchivedBefore();
+            if (from != null && !from.isBefore(until)) {
+                return 0;
+            }
+            // Sin fila de corte (primer archivado) no hay nada que bloquear: el NOT EXISTS evita copiar dos veces
+            String sql = "INSERT INTO movimientos_archivo (id, date, description, transaction_type, amount, balance, "
+                    + "cuenta_id, created_at, archived_at) "
+                    + "SELECT id, date, description, transaction_type, amount, balance, cuenta_id, created_at, "
+                    + "CURRENT_TIMESTAMP FROM movimientos m WHERE date < ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM movimientos_archivo a WHERE a.id = m.id)";
+            int copied = from != null
+                    ? jdbcTemplate.update(sql + " AND date >= ?", Timestamp.valueOf(until), Timestamp.valueOf(from))
+                    : jdbcTemplate.update(sql, Timestamp.valueOf(until));
+            boundary.setArchivedBefore(until);
+            boundary.setUpdatedAt(LocalDateTime.now());
+            archiveBoundaryRepository.save(boundary);
+            return copied;
+        });
+        return rows != null ? rows : 0;
+    }
+}
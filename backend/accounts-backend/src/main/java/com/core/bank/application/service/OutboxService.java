@@ -0,0 +1,157 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.domain.entity.OutboxRelayState;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.OutboxEventRepository;
+import com.core.bank.domain.repository.OutboxRelayStateRepository;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox transaccional de cambios sobre clientes, cuentas y movimientos.
+ * <p>
+ * Los servicios registran el evento dentro de su propia transacción (propagación MANDATORY). El relay
+ * asigna offsets consecutivos por lotes con la fila de outbox_relay bloqueada, así un consumidor que lee
+ * offset &gt; N nunca ve un hueco que luego se llene.
+ */
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayStateRepository relayStateRepository;
+    private final ObjectMapper objectMapper;
+    private final BankMetrics bankMetrics;
+
+    @Value("${app.outbox.relay-batch-size:500}")
+    private int relayBatchSize;
+
+    @Value("${app.outbox.retention:P7D}")
+    private Duration retention;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         OutboxRelayStateRepository relayStateRepository,
+                         ObjectMapper objectMapper,
+                         BankMetrics bankMetrics) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.relayStateRepository = relayStateRepository;
+        this.objectMapper = objectMapper;
+        this.bankMetrics = bankMetrics;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void movementPosted(Transaction transaction) {
+        record(OutboxEvent.MOVEMENT, transaction.getId(), OutboxEvent.CREATED, movementPayload(transaction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void movementReversed(Transaction transaction) {
+        record(OutboxEvent.MOVEMENT, transaction.getId(), OutboxEvent.DELETED, movementPayload(transaction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void accountChanged(Account account, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", account.getId());
+        payload.put("accountNumber", account.getAccountNumber());
+        payload.put("accountType", account.getAccountType());
+        payload.put("currentBalance", account.getAvailableBalance());
+        payload.put("status", account.getStatus());
+        payload.put("customerId", account.getCustomer().getId());
+        record(OutboxEvent.ACCOUNT, account.getId(), eventType, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void customerChanged(Customer customer, String eventType) {
+        // Sin contraseña: el feed lo consumen sistemas externos
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", customer.getId());
+        payload.put("name", customer.getName());
+        payload.put("identification", customer.getIdentification());
+        payload.put("status", customer.getStatus());
+        record(OutboxEvent.CUSTOMER, customer.getId(), eventType, payload);
+    }
+
+    /**
+     * Publica hasta relay-batch-size eventos pendientes asignándoles offset. Devuelve cuántos publicó.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}")
+    @Transactional
+    public int relay() {
+        OutboxRelayState state = relayStateRepository.lockById(OutboxRelayState.SINGLETON_ID)
+                .orElseGet(() -> relayStateRepository.saveAndFlush(
+                        new OutboxRelayState(OutboxRelayState.SINGLETON_ID, 0L)));
+
+        List<OutboxEvent> pending = outboxEventRepository.findPending(PageRequest.of(0, relayBatchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        long offset = state.getLastOffset();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : pending) {
+            event.setFeedOffset(++offset);
+            event.setPublishedAt(now);
+        }
+        state.setLastOffset(offset);
+        bankMetrics.outboxRelayed(pending.size());
+        return pending.size();
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgePublished() {
+        int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Eventos del outbox purgados: {}", purged);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> feed(long after, int limit) {
+        return outboxEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(after, PageRequest.of(0, limit));
+    }
+
+    private Map<String, Object> movementPayload(Transaction transaction) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", transaction.getId());
+        payload.put("accountId", transaction.getAccount().getId());
+        payload.put("transactionType", transaction.getType());
+        payload.put("amount", transaction.getAmount());
+        payload.put("balance", transaction.getBalance());
+        payload.put("date", transaction.getDate());
+        return payload;
+    }
+
+    private void record(String aggregateType, String aggregateId, String eventType, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + aggregateType + "/" + eventType, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .build());
+    }
+}
@@ -1,14 +1,17 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.ReportCache;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
 import com.core.bank.application.strategy.reports.JsonReportStrategy;
 import com.core.bank.application.strategy.reports.PdfReportStrategy;
 import com.core.bank.application.strategy.reports.ReportGenerationStrategy;
+import com.core.bank.application.strategy.reports.SerializedReport;
 import com.core.bank.model.dto.GetReporte200Response;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 
 
@@ -18,10 +21,24 @@ public class ReportService {
 
     private final JsonReportStrategy jsonReportStrategy;
     private final PdfReportStrategy pdfReportStrategy;
+    private final ReportCache reportCache;
 
     public GetReporte200Response generateReport(UUID clienteId, LocalDate from, LocalDate to, String format) {
         ReportGenerationStrategy strategy = getStrategy(format);
-        return strategy.generateReport(clienteId, from, to);
+        if (strategy == jsonReportStrategy) {
+            return generateJsonReport(clienteId, from, to).report();
+        }
+        return reportCache.get(clienteId.toString(), from, to, format.toLowerCase(Locale.ROOT),
+                () -> strategy.generateReport(clienteId, from, to));
+    }
+
+    /**
+     * Reporte JSON con sus bytes: la entrada de caché es la misma que usa el PDF, y la respuesta se envía sin
+     * volver a serializarla.
+     */
+    public SerializedReport generateJsonReport(UUID clienteId, LocalDate from, LocalDate to) {
+        return reportCache.get(clienteId.toString(), from, to, "json",
+                () -> jsonReportStrategy.generateSerialized(clienteId, from, to));
     }
 
     private ReportGenerationStrategy getStrategy(String format) {
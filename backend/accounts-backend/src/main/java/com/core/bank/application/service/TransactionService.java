@@ -1,21 +1,39 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.RecentMovementsCache;
+import com.core.bank.application.cache.ReportCache;
 import com.core.bank.application.dto.PaginationMetadata;
+import com.core.bank.application.journal.PostingJournalService;
+import com.core.bank.application.risk.VelocityEngine;
+import com.core.bank.application.stream.AccountUpdate;
+import com.core.bank.application.stream.AccountUpdateHub;
+import com.core.bank.application.strategy.transaction.TransactionStrategy;
 import com.core.bank.application.utils.PaginationUtil;
+import com.core.bank.application.utils.TransactionHooks;
 import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.OutboxEvent;
 import com.core.bank.domain.entity.Transaction;
 import com.core.bank.domain.repository.AccountRepository;
+import com.core.bank.domain.repository.ArchivedTransactionRepository;
 import com.core.bank.domain.repository.TransactionRepository;
 import com.core.bank.domain.repository.TransactionRepositoryCustom;
+import com.core.bank.domain.repository.TransactionRow;
+import com.core.bank.domain.repository.impl.MovementArchiveBoundary;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
 import com.core.bank.infrastructure.exception.ResourceNotFoundException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.TransactionDTO;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -27,39 +45,140 @@ public class TransactionService {
     private final AccountRepository accountRepository;
     private final DebitValidationService debitValidationService;
     private final TransactionStrategyService strategyService;
+    private final BankMetrics bankMetrics;
+    private final ReportCache reportCache;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final MovementArchiveBoundary archiveBoundary;
+    private final OutboxService outboxService;
+    private final AccountUpdateHub accountUpdateHub;
+    private final VelocityEngine velocityEngine;
+    private final BalanceStripingService balanceStripingService;
+    private final RecentMovementsCache recentMovements;
+    private final PostingJournalService postingJournalService;
 
     public TransactionService(TransactionRepository transactionRepository,
                               @Qualifier("TransactionRepositoryImpl")
                               TransactionRepositoryCustom transactionRepositoryCustom,
                               AccountRepository accountRepository,
                               DebitValidationService debitValidationService,
-                              TransactionStrategyService strategyService) {
+                              TransactionStrategyService strategyService,
+                              BankMetrics bankMetrics,
+                              ReportCache reportCache,
+                              ArchivedTransactionRepository archivedTransactionRepository,
+                              MovementArchiveBoundary archiveBoundary,
+                              OutboxService outboxService,
+                              AccountUpdateHub accountUpdateHub,
+                              VelocityEngine velocityEngine,
+                              BalanceStripingService balanceStripingService,
+                              RecentMovementsCache recentMovements,
+                              PostingJournalService postingJournalService) {
         this.transactionRepository = transactionRepository;
         this.transactionRepositoryCustom = transactionRepositoryCustom;
         this.accountRepository = accountRepository;
         this.debitValidationService = debitValidationService;
         this.strategyService = strategyService;
+        this.bankMetrics = bankMetrics;
+        this.reportCache = reportCache;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.archiveBoundary = archiveBoundary;
+        this.outboxService = outboxService;
+        this.accountUpdateHub = accountUpdateHub;
+        this.velocityEngine = velocityEngine;
+        this.balanceStripingService = balanceStripingService;
+        this.recentMovements = recentMovements;
+        this.postingJournalService = postingJournalService;
     }
 
+    @Timed(value = "bank.transactions.create", description = "Registro de movimientos")
     public Transaction create(Transaction transaction) {
-        Account account = accountRepository.findById(transaction.getAccount().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", transaction.getAccount().getId()));
+        return post(transaction, null);
+    }
 
-        transaction.setAccount(account);
+    /**
+     * Registra varios movimientos en una sola transacción; con el perfil batching los INSERT/UPDATE se envían por lotes.
+     */
+    @Timed(value = "bank.transactions.create.batch", description = "Registro masivo de movimientos")
+    public List<Transaction> createAll(List<Transaction> transactions) {
+        lockAccounts(transactions);
+        return transactions.stream()
+                .map(transaction -> post(transaction, null))
+                .toList();
+    }
 
+    /**
+     * Como {@link #createAll}, para créditos fechados al cierre de un periodo ya pasado: el saldo de cada
+     * movimiento parte del saldo que tenía la cuenta a esa fecha ({@code balancesAtDate} por id de cuenta) y no
+     * del disponible de hoy.
+     */
+    @Timed(value = "bank.transactions.create.batch", description = "Registro masivo de movimientos")
+    public List<Transaction> createAllAt(List<Transaction> transactions, Map<String, BigDecimal> balancesAtDate) {
+        lockAccounts(transactions);
+        return transactions.stream()
+                .map(transaction -> post(transaction, balancesAtDate.get(transaction.getAccount().getId())))
+                .toList();
+    }
 
-        if (TransactionDTO.TransactionTypeEnum.DEBITO.getValue().equalsIgnoreCase(transaction.getType())) {
-            debitValidationService.validate(account, transaction.getAmount());
+    /**
+     * Bloquea de una vez, en orden de id, las cuentas cuyo saldo escribe el lote: cada movimiento encuentra luego
+     * su cuenta bloqueada en la sesión y no lanza consultas que vacíen el lote JDBC antes de tiempo.
+     */
+    private void lockAccounts(List<Transaction> transactions) {
+        Set<String> accountIds = new HashSet<>();
+        Set<String> debitIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getAccount().getId());
+            if (isDebit(transaction)) {
+                debitIds.add(transaction.getAccount().getId());
+            }
+        }
+        if (!accountIds.isEmpty()) {
+            accountRepository.lockForPosting(accountIds, debitIds);
         }
+    }
 
-        BigDecimal newBalance = strategyService.getStrategy(transaction.getType())
-                .apply(account.getCurrentBalance(), transaction.getAmount());
-        transaction.setBalance(newBalance);
+    private Transaction post(Transaction transaction, BigDecimal balanceAtDate) {
+        String accountId = transaction.getAccount().getId();
+        boolean debit = isDebit(transaction);
+        // Los débitos bloquean la cuenta: con saldo repartido el disponible incluye slots que no toca el UPDATE
+        Account account = (debit ? accountRepository.findForUpdate(accountId) : accountRepository.findById(accountId))
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        if (!debit && !account.isStriped()) {
+            // El crédito escribe current_balance: se bloquea y relee para no pisar un débito o un lote del diario
+            accountRepository.lockForUpdate(account);
+        }
 
-        account.setCurrentBalance(newBalance);
+        transaction.setAccount(account);
+        balanceStripingService.loadPendingCredits(account);
+
+        if (debit) {
+            debitValidationService.validate(account, transaction.getAmount());
+        }
 
-        Transaction saved = transactionRepository.save(transaction);
-        accountRepository.save(account);
+        TransactionStrategy strategy = strategyService.getStrategy(transaction.getType());
+        BigDecimal newBalance = strategy.apply(account.getAvailableBalance(), transaction.getAmount());
+        transaction.setBalance(balanceAtDate != null ? strategy.apply(balanceAtDate, transaction.getAmount()) : newBalance);
+
+        Transaction saved;
+        if (account.isStriped() && !debit) {
+            // Crédito sobre un slot: la fila de cuentas no se actualiza
+            saved = transactionRepository.saveAndFlush(transaction);
+            balanceStripingService.credit(account, saved.getAmount());
+        } else {
+            // La cuenta ya está gestionada: su UPDATE sale del dirty checking en el flush, junto al INSERT
+            account.setCurrentBalance(strategy.apply(account.getCurrentBalance(), transaction.getAmount()));
+            saved = transactionRepository.save(transaction);
+        }
+        outboxService.movementPosted(saved);
+        bankMetrics.transactionPosted(saved.getType());
+        invalidateReports(account, saved.getDate());
+        pushUpdate(OutboxEvent.CREATED, saved, newBalance);
+        TransactionHooks.afterCommit(() -> recentMovements.added(new TransactionRow(saved.getId(), saved.getDate(),
+                saved.getDescription(), saved.getType(), saved.getAmount(), saved.getBalance(), account.getId())));
+        if (debit) {
+            // Con la cuenta aún bloqueada: el siguiente débito de la cuenta ya lo cuenta; si no confirma se descuenta
+            velocityEngine.recordDebit(account.getId(), saved.getDate(), saved.getAmount());
+            TransactionHooks.afterRollback(() -> velocityEngine.reverseDebit(account.getId(), saved.getDate(), saved.getAmount()));
+        }
 
         return saved;
     }
@@ -69,33 +188,88 @@ public class TransactionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", id));
     }
 
+    @Timed(value = "bank.transactions.delete", description = "Anulación de movimientos")
     public void delete(String id) {
-        Transaction transaction = getById(id);
+        Transaction transaction = transactionRepository.findWithAccountById(id)
+                .orElseThrow(() -> archivedTransactionRepository.existsById(id)
+                        ? new BusinessRuleException("No se puede eliminar un movimiento de un mes archivado")
+                        : new ResourceNotFoundException("Transaction", "id", id));
+        LocalDateTime boundary = archiveBoundary.current();
+        // Copiado al archivo y pendiente de purga: el mes ya está cerrado
+        if (boundary != null && transaction.getDate().isBefore(boundary)) {
+            throw new BusinessRuleException("No se puede eliminar un movimiento de un mes archivado");
+        }
         Account account = transaction.getAccount();
+        // Lo pendiente del diario no está en current_balance: la anulación partiría de un saldo incompleto
+        if (postingJournalService.hasPending(account.getId())) {
+            throw new BusinessRuleException("No se puede eliminar el movimiento porque la cuenta tiene movimientos pendientes de aplicar");
+        }
+        // La anulación escribe current_balance: se bloquea y relee para no pisar un movimiento concurrente
+        accountRepository.lockForUpdate(account);
+        balanceStripingService.loadPendingCredits(account);
 
-        BigDecimal reversedBalance = strategyService.getStrategy(transaction.getType())
-                .apply(account.getCurrentBalance(), transaction.getAmount().negate());
-        account.setCurrentBalance(reversedBalance);
+        // Con saldo repartido la anulación se aplica al saldo consolidado; el disponible sigue siendo la suma
+        TransactionStrategy strategy = strategyService.getStrategy(transaction.getType());
+        BigDecimal reversedBalance = strategy.apply(account.getAvailableBalance(), transaction.getAmount().negate());
+        account.setCurrentBalance(strategy.apply(account.getCurrentBalance(), transaction.getAmount().negate()));
 
         transactionRepository.delete(transaction);
-        accountRepository.save(account);
+        outboxService.movementReversed(transaction);
+        bankMetrics.transactionReversed(transaction.getType());
+        invalidateReports(account, transaction.getDate());
+        pushUpdate(OutboxEvent.DELETED, transaction, reversedBalance);
+        TransactionHooks.afterCommit(() -> recentMovements.removed(account.getId(), transaction.getId()));
+        if (isDebit(transaction)) {
+            TransactionHooks.afterCommit(() -> velocityEngine.reverseDebit(account.getId(), transaction.getDate(), transaction.getAmount()));
+        }
+    }
+
+    private void invalidateReports(Account account, LocalDateTime movementDate) {
+        String customerId = account.getCustomer().getId();
+        TransactionHooks.afterCommit(() -> reportCache.movementChanged(customerId, movementDate));
+    }
+
+    private static boolean isDebit(Transaction transaction) {
+        return TransactionDTO.TransactionTypeEnum.DEBITO.getValue().equalsIgnoreCase(transaction.getType());
     }
 
+    private void pushUpdate(String eventType, Transaction transaction, BigDecimal currentBalance) {
+        AccountUpdate update = new AccountUpdate(eventType, transaction.getAccount().getId(), transaction.getId(),
+                transaction.getType(), transaction.getAmount(), transaction.getBalance(), currentBalance,
+                transaction.getDescription(), transaction.getDate());
+        TransactionHooks.afterCommit(() -> accountUpdateHub.publish(update));
+    }
+
+    @Transactional(readOnly = true)
     public PaginationMetadata buildMetadata(Integer page, Integer size, String accountId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
-        long total = countTransactions(accountId, fromDateTime, toDateTime);
+        long total = recentOnly(accountId, fromDateTime, toDateTime)
+                ? recentMovements.total(accountId, limit -> loadRecent(accountId, limit))
+                        .orElseGet(() -> transactionRepositoryCustom.countRows(accountId, null, null))
+                : transactionRepositoryCustom.countRows(accountId, fromDateTime, toDateTime);
         return PaginationUtil.buildMetadata(page, size, total);
     }
 
-    private long countTransactions(String accountId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
-        List<Transaction> transactions = transactionRepositoryCustom.findAllWithFiltersPaginated(
-                accountId, fromDateTime, toDateTime, 0, Integer.MAX_VALUE);
-        return transactions.size();
+    @Transactional(readOnly = true)
+    public List<TransactionRow> getTransactions(String accountId,
+                                                LocalDateTime fromDateTime,
+                                                LocalDateTime toDateTime, int offset, int pageSize) {
+        if (recentOnly(accountId, fromDateTime, toDateTime)) {
+            return recentMovements.page(accountId, offset, pageSize, limit -> loadRecent(accountId, limit))
+                    .orElseGet(() -> transactionRepositoryCustom.findRowsPaginated(accountId, null, null, offset, pageSize));
+        }
+        return transactionRepositoryCustom.findRowsPaginated(accountId
+                , fromDateTime, toDateTime, offset, pageSize);
     }
 
-    public List<Transaction> getTransactions(String accountId,
-                                          LocalDateTime fromDateTime,
-                                          LocalDateTime toDateTime, int offset, int pageSize) {
-        return transactionRepositoryCustom.findAllWithFiltersPaginated(accountId
-                , fromDateTime, toDateTime, offset, pageSize);
+    // Listado de una sola cuenta sin fechas: lo cubre la caché de últimos movimientos
+    private static boolean recentOnly(String accountId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return accountId != null && fromDateTime == null && toDateTime == null;
+    }
+
+    // Es la primera consulta de su transacción: la conexión se abre con la marca de primario de la caché
+    private RecentMovementsCache.Snapshot loadRecent(String accountId, int limit) {
+        return new RecentMovementsCache.Snapshot(
+                transactionRepositoryCustom.findRowsPaginated(accountId, null, null, 0, limit),
+                transactionRepositoryCustom.countRows(accountId, null, null));
     }
 }
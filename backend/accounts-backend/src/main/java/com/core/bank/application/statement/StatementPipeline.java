@@ -0,0 +1,307 @@
+package com.core.bank.application.statement;
+
+import com.core.bank.application.statement.StatementRun.RenderedStatement;
+import com.core.bank.application.strategy.reports.JsonReportStrategy;
+import com.core.bank.application.strategy.reports.PdfReportStrategy;
+import com.core.bank.domain.entity.InterestRun;
+import com.core.bank.domain.repository.InterestRunRepository;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.model.dto.ReportJson;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generación masiva de estados de cuenta PDF de un mes para todos los clientes activos.
+ * <p>
+ * Cuatro etapas unidas por colas acotadas (una etapa lenta frena a la anterior en lugar de acumular memoria):
+ * lectura de ids de clientes por páginas, carga de cuentas y movimientos con una consulta por página,
+ * renderizado en un pool del tamaño de la CPU y escritura en {@link StatementStore}. Los clientes con
+ * archivo ya guardado se saltan, así una corrida interrumpida se reanuda repitiéndola. Una sola corrida a la vez.
+ * Con intereses activos un periodo solo se genera cuando sus intereses quedaron acreditados: la corrida
+ * programada la lanza {@link com.core.bank.application.service.InterestAccrualService} al completar el periodo.
+ */
+@Slf4j
+@Service
+public class StatementPipeline {
+
+    // Marcadores de fin por identidad
+    private static final List<String> END_OF_IDS = new ArrayList<>();
+    private static final ReportJson END_OF_REPORTS = new ReportJson();
+    private static final RenderedStatement END_OF_STATEMENTS = new RenderedStatement(null, null);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JsonReportStrategy jsonReportStrategy;
+    private final PdfReportStrategy pdfReportStrategy;
+    private final StatementStore statementStore;
+    private final BankMetrics bankMetrics;
+    private final InterestRunRepository interestRunRepository;
+    private final AtomicReference<StatementRun> current = new AtomicReference<>();
+
+    @Value("${app.statements.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.interest.enabled:false}")
+    private boolean interestEnabled;
+
+    @Value("${app.statements.page-size:200}")
+    private int pageSize;
+
+    @Value("${app.statements.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.statements.loaders:2}")
+    private int loaders;
+
+    // 0 = un hilo por procesador
+    @Value("${app.statements.renderers:0}")
+    private int renderers;
+
+    public StatementPipeline(NamedParameterJdbcTemplate jdbcTemplate,
+                             JsonReportStrategy jsonReportStrategy,
+                             PdfReportStrategy pdfReportStrategy,
+                             StatementStore statementStore,
+                             BankMetrics bankMetrics,
+                             InterestRunRepository interestRunRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonReportStrategy = jsonReportStrategy;
+        this.pdfReportStrategy = pdfReportStrategy;
+        this.statementStore = statementStore;
+        this.bankMetrics = bankMetrics;
+        this.interestRunRepository = interestRunRepository;
+    }
+
+    @Scheduled(cron = "${app.statements.cron:0 0 1 1 * *}")
+    public void scheduledRun() {
+        // Con intereses activos la corrida sale de interestAccrued, cuando el periodo ya tiene sus intereses
+        if (enabled && !interestEnabled) {
+            startScheduled(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    /**
+     * Lanza la corrida programada del periodo al completarse su acreditación de intereses.
+     */
+    public void interestAccrued(YearMonth period) {
+        if (enabled) {
+            startScheduled(period);
+        }
+    }
+
+    private void startScheduled(YearMonth period) {
+        try {
+            start(period);
+        } catch (BusinessRuleException e) {
+            log.warn("Generación programada de estados de cuenta omitida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia la generación del periodo (YYYY-MM; vacío = mes anterior) en segundo plano.
+     */
+    public StatementRun start(String period) {
+        YearMonth month;
+        try {
+            month = period == null || period.isBlank() ? YearMonth.now().minusMonths(1) : YearMonth.parse(period);
+        } catch (DateTimeParseException e) {
+            throw new BusinessRuleException("Periodo inválido. Use el formato YYYY-MM");
+        }
+        if (!month.isBefore(YearMonth.now())) {
+            throw new BusinessRuleException("Solo se generan estados de cuenta de meses cerrados");
+        }
+        return start(month);
+    }
+
+    public StatementRun start(YearMonth period) {
+        if (!interestSettled(period)) {
+            throw new BusinessRuleException("Los intereses de " + period + " aún no están acreditados");
+        }
+        StatementRun previous = current.get();
+        StatementRun run = new StatementRun(period, queueCapacity);
+        if ((previous != null && previous.isRunning()) || !current.compareAndSet(previous, run)) {
+            throw new BusinessRuleException("Ya hay una generación de estados de cuenta en curso");
+        }
+        Thread.ofPlatform().name("statements-" + run.getPeriod()).start(() -> execute(run));
+        return run;
+    }
+
+    public Optional<StatementRun> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    boolean interestSettled(YearMonth period) {
+        return !interestEnabled || interestRunRepository.findById(period.toString())
+                .map(run -> InterestRun.COMPLETED.equals(run.getStatus()))
+                .orElse(false);
+    }
+
+    void execute(StatementRun run) {
+        int renderThreads = renderers > 0 ? renderers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger loadersLeft = new AtomicInteger(loaders);
+        AtomicInteger renderersLeft = new AtomicInteger(renderThreads);
+        ExecutorService stages = Executors.newFixedThreadPool(loaders + renderThreads + 1);
+        try {
+            for (int i = 0; i < loaders; i++) {
+                stages.execute(() -> load(run, loadersLeft, renderThreads));
+            }
+            for (int i = 0; i < renderThreads; i++) {
+                stages.execute(() -> render(run, renderersLeft));
+            }
+            stages.execute(() -> write(run));
+            fetch(run);
+        } catch (RuntimeException e) {
+            log.error("Lectura de clientes para estados de cuenta {} interrumpida: {}", run.getPeriod(), e.getMessage());
+            run.failed(1);
+        } finally {
+            for (int i = 0; i < loaders; i++) {
+                put(run.batches, END_OF_IDS);
+            }
+            stages.shutdown();
+            awaitTermination(stages);
+        }
+
+        run.finish();
+        bankMetrics.statementRun(run.getStatus(), run.getStatementsWritten(), run.getElapsedMs());
+        log.info("Estados de cuenta {}: {} generados, {} ya existentes, {} fallidos en {} ms ({} por segundo)",
+                run.getPeriod(), run.getStatementsWritten(), run.getCustomersSkipped(), run.getFailures(),
+                run.getElapsedMs(), String.format("%.1f", run.getStatementsPerSecond()));
+    }
+
+    private void fetch(StatementRun run) {
+        String lastId = "";
+        List<String> page;
+        while (!(page = readCustomerIds(lastId)).isEmpty()) {
+            lastId = page.get(page.size() - 1);
+            List<String> pending = page.stream()
+                    .filter(customerId -> !statementStore.exists(run.getPeriod(), customerId))
+                    .toList();
+            run.skipped(page.size() - pending.size());
+            if (!pending.isEmpty()) {
+                run.queued(pending.size());
+                put(run.batches, pending);
+            }
+        }
+    }
+
+    private List<String> readCustomerIds(String afterId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", pageSize);
+        return jdbcTemplate.queryForList("SELECT id FROM personas "
+                        + "WHERE tipo_persona = 'CLIENTE' AND status = TRUE AND id > :afterId ORDER BY id LIMIT :limit",
+                params, String.class);
+    }
+
+    private void load(StatementRun run, AtomicInteger loadersLeft, int renderThreads) {
+        try {
+            List<String> batch;
+            while ((batch = take(run.batches)) != END_OF_IDS) {
+                try {
+                    for (ReportJson report : jsonReportStrategy.generateReports(batch, run.getFrom(), run.getTo())) {
+                        put(run.reports, report);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Carga de {} estados de cuenta fallida: {}", batch.size(), e.getMessage());
+                    run.failed(batch.size());
+                }
+            }
+        } finally {
+            if (loadersLeft.decrementAndGet() == 0) {
+                for (int i = 0; i < renderThreads; i++) {
+                    put(run.reports, END_OF_REPORTS);
+                }
+            }
+        }
+    }
+
+    private void render(StatementRun run, AtomicInteger renderersLeft) {
+        try {
+            ReportJson report;
+            while ((report = take(run.reports)) != END_OF_REPORTS) {
+                String customerId = report.getCustomer().getId().toString();
+                try {
+                    put(run.rendered, new RenderedStatement(customerId, pdfReportStrategy.render(report)));
+                } catch (RuntimeException e) {
+                    log.error("Estado de cuenta de {} no generado: {}", customerId, e.getMessage());
+                    run.failed(1);
+                }
+            }
+        } finally {
+            if (renderersLeft.decrementAndGet() == 0) {
+                put(run.rendered, END_OF_STATEMENTS);
+            }
+        }
+    }
+
+    private void write(StatementRun run) {
+        RenderedStatement statement;
+        while ((statement = take(run.rendered)) != END_OF_STATEMENTS) {
+            try {
+                statementStore.write(run.getPeriod(), statement.customerId(), statement.pdf());
+                run.written(statement.pdf().length);
+            } catch (RuntimeException e) {
+                log.error("Estado de cuenta de {} no guardado: {}", statement.customerId(), e.getMessage());
+                run.failed(1);
+            }
+        }
+    }
+
+    // Las etapas no se interrumpen: el cierre se propaga con los marcadores de fin
+    private static <T> void put(BlockingQueue<T> queue, T item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T take(BlockingQueue<T> queue) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Esperando etapas de estados de cuenta en curso");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.core.bank.application.statement;
+
+import com.core.bank.model.dto.ReportJson;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado en memoria de una generación masiva: colas acotadas entre etapas y contadores de avance.
+ */
+public class StatementRun {
+
+    public static final String RUNNING = "EN_CURSO";
+    public static final String COMPLETED = "COMPLETADA";
+    public static final String FAILED = "CON_ERRORES";
+
+    private final String period;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+
+    final BlockingQueue<List<String>> batches;
+    final BlockingQueue<ReportJson> reports;
+    final BlockingQueue<RenderedStatement> rendered;
+
+    private final AtomicLong customersQueued = new AtomicLong();
+    private final AtomicLong customersSkipped = new AtomicLong();
+    private final AtomicLong statementsWritten = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    private volatile String status = RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    StatementRun(YearMonth period, int queueCapacity) {
+        this.period = period.toString();
+        this.from = period.atDay(1);
+        this.to = period.atEndOfMonth();
+        this.batches = new ArrayBlockingQueue<>(queueCapacity);
+        this.reports = new ArrayBlockingQueue<>(queueCapacity);
+        this.rendered = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void queued(int customers) {
+        customersQueued.addAndGet(customers);
+    }
+
+    void skipped(int customers) {
+        customersSkipped.addAndGet(customers);
+    }
+
+    void written(int bytes) {
+        statementsWritten.incrementAndGet();
+        bytesWritten.addAndGet(bytes);
+    }
+
+    void failed(int statements) {
+        failures.addAndGet(statements);
+    }
+
+    void finish() {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = failures.get() > 0 ? FAILED : COMPLETED;
+    }
+
+    public boolean isRunning() {
+        return RUNNING.equals(status);
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getCustomersQueued() {
+        return customersQueued.get();
+    }
+
+    public long getCustomersSkipped() {
+        return customersSkipped.get();
+    }
+
+    public long getStatementsWritten() {
+        return statementsWritten.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public int getPendingBatches() {
+        return batches.size();
+    }
+
+    public int getPendingReports() {
+        return reports.size();
+    }
+
+    public int getPendingWrites() {
+        return rendered.size();
+    }
+
+    public long getElapsedMs() {
+        return Duration.ofNanos(elapsedNanos()).toMillis();
+    }
+
+    public double getStatementsPerSecond() {
+        double seconds = elapsedNanos() / 1_000_000_000.0;
+        return seconds > 0 ? statementsWritten.get() / seconds : 0;
+    }
+
+    private long elapsedNanos() {
+        return (isRunning() ? System.nanoTime() : finishedNanos) - startedNanos;
+    }
+
+    record RenderedStatement(String customerId, byte[] pdf) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.core.bank.application.statement;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Estados de cuenta generados en disco local: {@code {dir}/{periodo}/{clienteId}.pdf}.
+ * <p>
+ * Cada archivo se escribe en un temporal y se renombra, así un archivo presente siempre está completo y la
+ * generación masiva puede reanudarse saltando los que ya existen.
+ */
+@Component
+public class StatementStore {
+
+    private final Path root;
+
+    public StatementStore(@Value("${app.statements.dir:${java.io.tmpdir}/estados-cuenta}") String dir) {
+        this.root = Path.of(dir);
+    }
+
+    public boolean exists(String period, String customerId) {
+        return Files.exists(path(period, customerId));
+    }
+
+    public void write(String period, String customerId, byte[] pdf) {
+        Path target = path(period, customerId);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), customerId, ".tmp");
+            Files.write(temp, pdf);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el estado de cuenta " + target, e);
+        }
+    }
+
+    Path path(String period, String customerId) {
+        return root.resolve(period).resolve(customerId + ".pdf");
+    }
+}
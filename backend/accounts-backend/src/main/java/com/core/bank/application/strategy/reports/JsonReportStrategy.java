@@ -7,14 +7,20 @@ import com.core.bank.domain.repository.AccountRepository;
 import com.core.bank.domain.repository.CustomerRepository;
 import com.core.bank.domain.repository.TransactionRepository;
 import com.core.bank.infrastructure.exception.ResourceNotFoundException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,9 +30,36 @@ public class JsonReportStrategy implements ReportGenerationStrategy {
     private final CustomerRepository customerRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final BankMetrics bankMetrics;
+    private final ObjectMapper objectMapper;
 
     @Override
+    @Transactional(readOnly = true)
     public GetReporte200Response generateReport(UUID clienteId, LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        ReportJson report = build(clienteId, from, to);
+        bankMetrics.reportGenerated("json", start, rows(report));
+        return report;
+    }
+
+    /**
+     * Como {@link #generateReport} pero serializado una sola vez; el tamaño de la métrica es el de esos bytes.
+     */
+    @Transactional(readOnly = true)
+    public SerializedReport generateSerialized(UUID clienteId, LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        ReportJson report = build(clienteId, from, to);
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el reporte del cliente " + clienteId, e);
+        }
+        bankMetrics.reportGenerated("json", start, rows(report), bytes.length);
+        return new SerializedReport(report, bytes);
+    }
+
+    private ReportJson build(UUID clienteId, LocalDate from, LocalDate to) {
         Customer customer = customerRepository.findById(clienteId.toString())
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", clienteId.toString()));
 
@@ -41,7 +74,8 @@ public class JsonReportStrategy implements ReportGenerationStrategy {
                 .to(to);
 
         List<ReportJsonAccountsInner> accountsList = accounts.stream()
-                .map(account -> buildAccountWithTransactions(account, from, to))
+                .map(account -> buildAccountWithTransactions(account, transactionRepository.findByAccountIdAndDateRange(
+                        account.getId(), from.atStartOfDay(), to.atTime(23, 59, 59))))
                 .collect(Collectors.toList());
 
         return new ReportJson()
@@ -50,13 +84,46 @@ public class JsonReportStrategy implements ReportGenerationStrategy {
                 .accounts(accountsList);
     }
 
-    private ReportJsonAccountsInner buildAccountWithTransactions(Account account, LocalDate from, LocalDate to) {
-        List<Transaction> transactions = transactionRepository.findByAccountIdAndDateRange(
-                account.getId(),
-                from.atStartOfDay(),
-                to.atTime(23, 59, 59)
-        );
+    private static long rows(ReportJson report) {
+        return report.getAccounts().stream().mapToLong(account -> account.getTransactions().size()).sum();
+    }
+
+    /**
+     * Reportes de varios clientes con tres consultas en total (clientes, cuentas y movimientos del rango),
+     * en el orden de {@code customerIds}; los ids que no existen se omiten.
+     */
+    @Transactional(readOnly = true)
+    public List<ReportJson> generateReports(List<String> customerIds, LocalDate from, LocalDate to) {
+        Map<String, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<String, List<Account>> accountsByCustomer = accountRepository.findByCustomerIdIn(customers.keySet()).stream()
+                .collect(Collectors.groupingBy(account -> account.getCustomer().getId()));
+        List<String> accountIds = accountsByCustomer.values().stream()
+                .flatMap(List::stream)
+                .map(Account::getId)
+                .toList();
+        Map<String, List<Transaction>> transactionsByAccount = transactionRepository
+                .findByAccountIdsAndDateRange(accountIds, from.atStartOfDay(), to.atTime(23, 59, 59)).stream()
+                .collect(Collectors.groupingBy(txn -> txn.getAccount().getId()));
+
+        ReportJsonRange range = new ReportJsonRange()
+                .from(from)
+                .to(to);
+        return customerIds.stream()
+                .filter(customers::containsKey)
+                .map(customerId -> new ReportJson()
+                        .customer(new ReportJsonCustomer()
+                                .id(UUID.fromString(customerId))
+                                .name(customers.get(customerId).getName()))
+                        .range(range)
+                        .accounts(accountsByCustomer.getOrDefault(customerId, List.of()).stream()
+                                .map(account -> buildAccountWithTransactions(account,
+                                        transactionsByAccount.getOrDefault(account.getId(), List.of())))
+                                .collect(Collectors.toList())))
+                .toList();
+    }
 
+    private ReportJsonAccountsInner buildAccountWithTransactions(Account account, List<Transaction> transactions) {
         List<ReportJsonAccountsInnerTransactionsInner> transactionsList = transactions.stream()
                 .map(txn -> new ReportJsonAccountsInnerTransactionsInner()
                         .id(txn.getId())
@@ -1,5 +1,7 @@
 package com.core.bank.application.strategy.reports;
 
+import com.core.bank.application.cache.ReportCache;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -22,6 +24,8 @@ import java.util.UUID;
 public class PdfReportStrategy implements ReportGenerationStrategy {
 
     private final JsonReportStrategy jsonReportStrategy;
+    private final ReportCache reportCache;
+    private final BankMetrics bankMetrics;
     
     private static final Color YELLOW_HEADER = new Color(255, 204, 0);      // #ffcc00
     private static final Color YELLOW_BORDER = new Color(255, 184, 0);      // #ffb800
@@ -32,14 +36,24 @@ public class PdfReportStrategy implements ReportGenerationStrategy {
 
     @Override
     public GetReporte200Response generateReport(UUID clienteId, LocalDate from, LocalDate to) {
-        ReportJson reportJson = (ReportJson) jsonReportStrategy.generateReport(clienteId, from, to);
+        long start = System.nanoTime();
+        // Mismo modelo JSON que el formato json para la misma clave (p. ej. vista previa y luego descarga)
+        SerializedReport json = reportCache.get(clienteId.toString(), from, to, "json",
+                () -> jsonReportStrategy.generateSerialized(clienteId, from, to));
+        ReportJson reportJson = json.report();
         
-        String base64Pdf = generatePdfBase64(reportJson);
-        
-        return new ReportPdf().base64(base64Pdf);
+        byte[] pdf = render(reportJson);
+
+        long rows = reportJson.getAccounts().stream().mapToLong(account -> account.getTransactions().size()).sum();
+        // Tamaño del PDF en sí, no de su base64 (un tercio mayor)
+        bankMetrics.reportGenerated("pdf", start, rows, pdf.length);
+        return new ReportPdf().base64(Base64.getEncoder().encodeToString(pdf));
     }
 
-    private String generatePdfBase64(ReportJson reportJson) {
+    /**
+     * PDF del estado de cuenta sin codificar (generación masiva y almacenamiento en disco).
+     */
+    public byte[] render(ReportJson reportJson) {
         try (PDDocument document = new PDDocument()) {
             PDPage page = new PDPage(PDRectangle.LETTER);
             document.addPage(page);
@@ -71,12 +85,9 @@ public class PdfReportStrategy implements ReportGenerationStrategy {
             
             contentStream.close();
             
-            // Convertir PDF a base64
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             document.save(outputStream);
-            byte[] pdfBytes = outputStream.toByteArray();
-            
-            return Base64.getEncoder().encodeToString(pdfBytes);
+            return outputStream.toByteArray();
             
         } catch (IOException e) {
             throw new RuntimeException("Error generando PDF: " + e.getMessage(), e);
@@ -0,0 +1,9 @@
+package com.core.bank.application.strategy.reports;
+
+import com.core.bank.model.dto.ReportJson;
+
+/**
+ * Reporte JSON junto con sus bytes ya serializados: el PDF usa el modelo y la respuesta JSON envía los bytes.
+ */
+public record SerializedReport(ReportJson report, byte[] bytes) {
+}
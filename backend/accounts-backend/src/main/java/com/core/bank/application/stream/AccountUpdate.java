@@ -0,0 +1,18 @@
+package com.core.bank.application.stream;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento confirmado sobre una cuenta junto con el saldo resultante de la cuenta.
+ */
+public record AccountUpdate(String eventType,
+                            String accountId,
+                            String movementId,
+                            String transactionType,
+                            BigDecimal amount,
+                            BigDecimal balance,
+                            BigDecimal currentBalance,
+                            String description,
+                            LocalDateTime date) {
+}
@@ -0,0 +1,175 @@
+package com.core.bank.application.stream;
+
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reparte en memoria las actualizaciones de cuentas a los suscriptores del stream SSE.
+ * <p>
+ * Cada suscriptor tiene un buffer acotado y un hilo virtual que lo vacía hacia su conexión. Quien publica
+ * nunca espera: si el buffer de un suscriptor está lleno (cliente lento o conexión colgada) se le desconecta
+ * y el navegador reconecta con EventSource.
+ */
+@Slf4j
+@Component
+public class AccountUpdateHub {
+
+    public static final String DROP_BUFFER_FULL = "buffer_full";
+    public static final String DROP_IO_ERROR = "io_error";
+    public static final String DROP_CLOSED = "closed";
+
+    /**
+     * Conexión de un suscriptor; solo la usa su hilo de entrega.
+     */
+    public interface Sink {
+
+        void send(AccountUpdate update) throws IOException;
+
+        void keepAlive() throws IOException;
+
+        void close();
+    }
+
+    private static final AccountUpdate KEEP_ALIVE = new AccountUpdate(null, null, null, null, null, null, null, null, null);
+
+    private final BankMetrics bankMetrics;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> byAccount = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AccountUpdateHub(BankMetrics bankMetrics,
+                            @Value("${app.stream.buffer-size:64}") int bufferSize,
+                            @Value("${app.stream.max-subscribers:1000}") int maxSubscribers) {
+        this.bankMetrics = bankMetrics;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        bankMetrics.streamSubscribers(subscribers);
+    }
+
+    /**
+     * Registra un suscriptor para las cuentas indicadas; vacío si se alcanzó max-subscribers.
+     */
+    public Optional<Subscriber> subscribe(Set<String> accountIds, Sink sink) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(Set.copyOf(accountIds), sink, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        subscriber.accountIds.forEach(accountId ->
+                byAccount.computeIfAbsent(accountId, key -> ConcurrentHashMap.newKeySet()).add(subscriber));
+        subscriber.worker = Thread.ofVirtual().name("account-stream").start(subscriber::drain);
+        return Optional.of(subscriber);
+    }
+
+    public void publish(AccountUpdate update) {
+        Set<Subscriber> targets = byAccount.get(update.accountId());
+        if (targets == null) {
+            return;
+        }
+        targets.forEach(subscriber -> offer(subscriber, update));
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.keep-alive:PT15S}")
+    public void keepAlive() {
+        subscribers.forEach(subscriber -> offer(subscriber, KEEP_ALIVE));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(subscribers).forEach(subscriber -> subscriber.close(DROP_CLOSED));
+    }
+
+    private void offer(Subscriber subscriber, AccountUpdate update) {
+        if (!subscriber.queue.offer(update)) {
+            log.warn("Suscriptor del stream desconectado: buffer lleno ({} eventos)", bufferSize);
+            subscriber.close(DROP_BUFFER_FULL);
+        }
+    }
+
+    public final class Subscriber {
+
+        private final Set<String> accountIds;
+        private final Sink sink;
+        private final BlockingQueue<AccountUpdate> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread worker;
+
+        private Subscriber(Set<String> accountIds, Sink sink, BlockingQueue<AccountUpdate> queue) {
+            this.accountIds = accountIds;
+            this.sink = sink;
+            this.queue = queue;
+        }
+
+        /**
+         * Libera el suscriptor; idempotente. La conexión la cierra el hilo de entrega, para no bloquear a
+         * quien publica si hay un envío en curso.
+         */
+        public void close(String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            accountIds.forEach(accountId -> byAccount.computeIfPresent(accountId, (key, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            }));
+            // Despierta al hilo de entrega si espera en el buffer y corta un envío bloqueado
+            queue.clear();
+            queue.offer(KEEP_ALIVE);
+            Thread current = worker;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+            if (!DROP_CLOSED.equals(reason)) {
+                bankMetrics.streamSubscriberDropped(reason);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    AccountUpdate update = queue.take();
+                    if (closed.get()) {
+                        return;
+                    }
+                    if (update == KEEP_ALIVE) {
+                        sink.keepAlive();
+                    } else {
+                        sink.send(update);
+                    }
+                }
+            } catch (IOException e) {
+                close(DROP_IO_ERROR);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close(DROP_CLOSED);
+            } catch (RuntimeException e) {
+                log.debug("Error enviando al suscriptor del stream: {}", e.getMessage());
+                close(DROP_IO_ERROR);
+            } finally {
+                sink.close();
+            }
+        }
+    }
+}
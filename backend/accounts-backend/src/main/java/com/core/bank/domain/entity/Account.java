@@ -3,20 +3,24 @@ package com.core.bank.domain.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Table(name = "cuentas", indexes = {
     @Index(name = "idx_account_number", columnList = "account_number", unique = true),
-    @Index(name = "idx_cliente_id", columnList = "cliente_id")
+    @Index(name = "idx_cuentas_cliente_creacion", columnList = "cliente_id, created_at desc"),
+    @Index(name = "idx_cuentas_creacion", columnList = "created_at desc"),
+    @Index(name = "idx_cuentas_tipo_estado", columnList = "account_type, status, id")
 })
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -30,7 +34,7 @@ public class Account {
     @Column(name = "account_number", nullable = false, unique = true, length = 20)
     private String accountNumber;
 
-    @Column(nullable = false, length = 20)
+    @Column(name = "account_type", nullable = false, length = 20)
     private String accountType;
 
     @Column(name = "initial_balance", nullable = false)
@@ -42,13 +46,20 @@ public class Account {
     @Column(nullable = false)
     private Boolean status = true;
 
+    // 0 = saldo en una sola fila; N > 0 = los créditos se reparten en N slots (cuentas con muchos créditos concurrentes)
+    @Column(name = "balance_slots", nullable = false, columnDefinition = "INT DEFAULT 0")
+    @Builder.Default
+    private Integer balanceSlots = 0;
+
+    // Créditos aún en slots; se carga solo para cuentas con saldo repartido
+    @Transient
+    private BigDecimal pendingCredits;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
+    @ToString.Exclude
     private Customer customer;
 
-    @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private Set<Transaction> transactions = new HashSet<>();
-
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -62,6 +73,9 @@ public class Account {
         if (currentBalance == null) {
             currentBalance = initialBalance;
         }
+        if (balanceSlots == null) {
+            balanceSlots = 0;
+        }
     }
 
     @PreUpdate
@@ -69,4 +83,33 @@ public class Account {
         updatedAt = LocalDateTime.now();
     }
 
+    public boolean isStriped() {
+        return balanceSlots != null && balanceSlots > 0;
+    }
+
+    /**
+     * Saldo consolidado más los créditos pendientes en slots.
+     */
+    public BigDecimal getAvailableBalance() {
+        return pendingCredits != null ? currentBalance.add(pendingCredits) : currentBalance;
+    }
+
+    /**
+     * Identidad por id (asignado al persistir): no toca asociaciones perezosas y vale también para proxies.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Account other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Account.class.hashCode();
+    }
 }
@@ -0,0 +1,30 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila única con el corte del archivo: los movimientos anteriores a archivedBefore se leen de movimientos_archivo.
+ */
+@Entity
+@Table(name = "movimientos_archivo_corte")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveBoundary {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "archived_before", nullable = false)
+    private LocalDateTime archivedBefore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,89 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento de un mes cerrado, trasladado desde movimientos por el job de archivo.
+ */
+@Entity
+@Table(name = "movimientos_archivo", indexes = {
+    @Index(name = "idx_archivo_cuenta_fecha", columnList = "cuenta_id, date"),
+    @Index(name = "idx_archivo_fecha", columnList = "date")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTransaction {
+
+    @Id
+    @Column(columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "transaction_type", nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cuenta_id", nullable = false)
+    @ToString.Exclude
+    private Account account;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Transaction toTransaction() {
+        return Transaction.builder()
+                .id(id)
+                .date(date)
+                .description(description)
+                .type(type)
+                .amount(amount)
+                .balance(balance)
+                .account(account)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    // Identidad por id, con el mismo criterio que Account
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchivedTransaction other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return ArchivedTransaction.class.hashCode();
+    }
+}
@@ -0,0 +1,37 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Créditos de una cuenta con saldo repartido aún no consolidados en cuentas.current_balance.
+ */
+@Entity
+@Table(name = "cuentas_saldo_slots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_slot_cuenta", columnNames = {"cuenta_id", "slot"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @Column(name = "cuenta_id", nullable = false, length = 36)
+    private String accountId;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+}
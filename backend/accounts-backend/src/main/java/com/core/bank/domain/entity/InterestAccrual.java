@@ -0,0 +1,52 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Interés acreditado a una cuenta en un periodo; la clave única (cuenta, periodo) hace idempotente el proceso.
+ */
+@Entity
+@Table(name = "intereses_devengados", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_interes_cuenta_periodo", columnNames = {"cuenta_id", "periodo"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterestAccrual {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @Column(name = "cuenta_id", nullable = false, length = 36)
+    private String accountId;
+
+    @Column(name = "periodo", nullable = false, length = 7)
+    private String period;
+
+    @Column(name = "movimiento_id", nullable = false, length = 36)
+    private String movementId;
+
+    @Column(name = "average_balance", nullable = false)
+    private BigDecimal averageBalance;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
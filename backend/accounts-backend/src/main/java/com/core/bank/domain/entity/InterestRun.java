@@ -0,0 +1,46 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint del proceso de intereses de un periodo: todas las cuentas con id &lt;= lastAccountId ya se procesaron.
+ */
+@Entity
+@Table(name = "intereses_corridas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestRun {
+
+    public static final String RUNNING = "EN_CURSO";
+    public static final String INCOMPLETE = "INCOMPLETA";
+    public static final String COMPLETED = "COMPLETADA";
+
+    @Id
+    @Column(name = "periodo", length = 7)
+    private String period;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "last_account_id", length = 36)
+    private String lastAccountId;
+
+    @Column(name = "credits_posted", nullable = false)
+    private Long creditsPosted;
+
+    @Column(name = "total_interest", nullable = false)
+    private BigDecimal totalInterest;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila única con el offset del diario de movimientos hasta el que ya se aplicó en la base de datos; se actualiza
+ * en la misma transacción que el lote, así al reiniciar se reproduce exactamente lo que falta.
+ */
+@Entity
+@Table(name = "diario_movimientos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalApplyState {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "applied_offset", nullable = false)
+    private Long appliedOffset;
+}
@@ -0,0 +1,63 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio escrito en la misma transacción que el agregado. El relay le asigna feed_offset al publicarlo.
+ */
+@Entity
+@Table(name = "outbox_eventos", indexes = {
+    @Index(name = "idx_outbox_offset", columnList = "feed_offset", unique = true),
+    @Index(name = "idx_outbox_pendientes", columnList = "published_at, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public static final String CUSTOMER = "CLIENTE";
+    public static final String ACCOUNT = "CUENTA";
+    public static final String MOVEMENT = "MOVIMIENTO";
+
+    public static final String CREATED = "CREADO";
+    public static final String UPDATED = "ACTUALIZADO";
+    public static final String DELETED = "ELIMINADO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "VARCHAR(36)")
+    private String id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
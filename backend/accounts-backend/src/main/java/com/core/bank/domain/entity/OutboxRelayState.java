@@ -0,0 +1,26 @@
+package com.core.bank.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila única con el último offset asignado por el relay; se bloquea durante cada lote para que los offsets
+ * sean monotónicos aunque haya varias instancias.
+ */
+@Entity
+@Table(name = "outbox_relay")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayState {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_offset", nullable = false)
+    private Long lastOffset;
+}
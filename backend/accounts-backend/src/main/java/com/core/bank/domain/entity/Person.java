@@ -2,19 +2,25 @@ package com.core.bank.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "personas", indexes = {
-    @Index(name = "idx_identification", columnList = "identification", unique = true)
+    @Index(name = "idx_identification", columnList = "identification", unique = true),
+    @Index(name = "idx_personas_tipo_creacion", columnList = "tipo_persona, created_at desc"),
+    @Index(name = "idx_personas_tipo_estado", columnList = "tipo_persona, status, id")
 })
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "tipo_persona", discriminatorType = DiscriminatorType.STRING)
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
@@ -59,4 +65,23 @@ public class Person {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * Identidad por id, compartida por Customer.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Person other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Person.class.hashCode();
+    }
 }
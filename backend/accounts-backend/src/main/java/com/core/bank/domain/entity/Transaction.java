@@ -3,18 +3,24 @@ package com.core.bank.domain.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "movimientos", indexes = {
-    @Index(name = "idx_cuenta_id", columnList = "cuenta_id"),
-    @Index(name = "idx_fecha", columnList = "fecha")
+    @Index(name = "idx_movimientos_cuenta_fecha", columnList = "cuenta_id, date"),
+    @Index(name = "idx_movimientos_cuenta_tipo_fecha", columnList = "cuenta_id, transaction_type, date, amount"),
+    @Index(name = "idx_movimientos_tipo_fecha", columnList = "transaction_type, date, cuenta_id, amount"),
+    @Index(name = "idx_fecha", columnList = "date")
 })
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -42,6 +48,7 @@ public class Transaction {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cuenta_id", nullable = false)
+    @ToString.Exclude
     private Account account;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -54,4 +61,21 @@ public class Transaction {
             date = LocalDateTime.now();
         }
     }
+
+    // Identidad por id, con el mismo criterio que Account
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Transaction other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Transaction.class.hashCode();
+    }
 }
@@ -1,9 +1,14 @@
 package com.core.bank.domain.repository;
 
 import com.core.bank.domain.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +17,28 @@ public interface AccountRepository extends JpaRepository<Account, String>, Accou
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> lockById(@Param("id") String id);
+
+    /**
+     * Bloquea varias cuentas en orden de id, el mismo en que las toma cualquier otro bloqueo por lotes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> lockAllById(@Param("ids") Collection<String> ids);
+
+    /**
+     * Como {@link #lockAllById} para un lote de movimientos: solo las cuentas cuyo saldo escribe el lote, las de
+     * {@code debitIds} y las que no reparten créditos en slots.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids AND (a.balanceSlots = 0 OR a.id IN :debitIds) ORDER BY a.id")
+    List<Account> lockForPosting(@Param("ids") Collection<String> ids, @Param("debitIds") Collection<String> debitIds);
+
     List<Account> findByCustomerId(String customerId);
+
+    List<Account> findByCustomerIdIn(Collection<String> customerIds);
     
     boolean existsByAccountNumber(String accountNumber);
     
@@ -1,10 +1,22 @@
 package com.core.bank.domain.repository;
 
 import com.core.bank.domain.entity.Account;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface AccountRepositoryCustom {
     
     List<Account> findAllWithFiltersPaginated(String customerId, String search, int offset, int limit);
+
+    List<AccountRow> findRowsPaginated(String customerId, String search, int offset, int limit);
+
+    long countRows(String customerId, String search);
+
+    void lockForUpdate(Account account);
+
+    Optional<Account> findForUpdate(String id);
+
+    List<AccountRow> findRowsByIds(Collection<String> ids);
 }
@@ -0,0 +1,18 @@
+package com.core.bank.domain.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de cuenta para los listados: se construye en la consulta, sin entidad gestionada ni cliente.
+ */
+public record AccountRow(String id, String accountNumber, String accountType, BigDecimal initialBalance,
+                         BigDecimal currentBalance, Boolean status, String customerId, Integer balanceSlots) {
+
+    /**
+     * Misma fila con los créditos pendientes en slots sumados al saldo.
+     */
+    public AccountRow withPendingCredits(BigDecimal pendingCredits) {
+        return new AccountRow(id, accountNumber, accountType, initialBalance, currentBalance.add(pendingCredits),
+                status, customerId, balanceSlots);
+    }
+}
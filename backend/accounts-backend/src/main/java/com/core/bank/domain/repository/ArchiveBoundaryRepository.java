@@ -0,0 +1,19 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.ArchiveBoundary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchiveBoundaryRepository extends JpaRepository<ArchiveBoundary, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ArchiveBoundary b WHERE b.id = :id")
+    Optional<ArchiveBoundary> lockById(@Param("id") Integer id);
+}
@@ -0,0 +1,14 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, String> {
+
+    @Query("SELECT COUNT(a) FROM ArchivedTransaction a WHERE a.account.id = :accountId")
+    long countByAccountId(@Param("accountId") String accountId);
+}
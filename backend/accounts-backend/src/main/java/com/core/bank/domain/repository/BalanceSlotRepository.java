@@ -0,0 +1,48 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.BalanceSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceSlotRepository extends JpaRepository<BalanceSlot, String> {
+
+    /**
+     * Suma atómica sobre un slot; solo bloquea esa fila. Devuelve 0 si el slot ya no existe.
+     */
+    @Modifying
+    @Query(value = "UPDATE cuentas_saldo_slots SET amount = amount + :amount WHERE cuenta_id = :accountId AND slot = :slot",
+            nativeQuery = true)
+    int addToSlot(@Param("accountId") String accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM BalanceSlot s WHERE s.accountId = :accountId")
+    BigDecimal sumByAccountId(@Param("accountId") String accountId);
+
+    @Query("SELECT s.accountId, SUM(s.amount) FROM BalanceSlot s WHERE s.accountId IN :accountIds GROUP BY s.accountId")
+    List<Object[]> sumByAccountIds(@Param("accountIds") Collection<String> accountIds);
+
+    @Query("SELECT DISTINCT s.accountId FROM BalanceSlot s WHERE s.amount <> 0")
+    List<String> findAccountIdsWithPendingCredits();
+
+    List<BalanceSlot> findByAccountId(String accountId);
+
+    /**
+     * Borra en una sola sentencia los slots que sobran al reducir el número de slots de la cuenta.
+     */
+    @Modifying
+    @Query("DELETE FROM BalanceSlot s WHERE s.accountId = :accountId AND s.slot >= :slots")
+    int deleteRetired(@Param("accountId") String accountId, @Param("slots") int slots);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceSlot s WHERE s.accountId = :accountId ORDER BY s.slot")
+    List<BalanceSlot> lockByAccountId(@Param("accountId") String accountId);
+}
@@ -1,9 +1,14 @@
 package com.core.bank.domain.repository;
 
 import com.core.bank.domain.entity.Customer;
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomerRepositoryCustom {
     
     List<Customer> findAllWithSearchPaginated(String search, int offset, int limit);
+
+    List<CustomerRow> findRowsPaginated(String search, int offset, int limit);
+
+    List<CustomerRow> findRowsByIds(Collection<String> ids);
 }
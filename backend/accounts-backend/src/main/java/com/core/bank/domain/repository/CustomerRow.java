@@ -0,0 +1,8 @@
+package com.core.bank.domain.repository;
+
+/**
+ * Fila de cliente para los listados: se construye en la consulta, sin entidad gestionada ni cuentas.
+ */
+public record CustomerRow(String id, String name, String gender, Integer age, String identification,
+                          String address, String phone, String password, Boolean status) {
+}
@@ -0,0 +1,20 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.InterestAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, String> {
+
+    @Query("SELECT a.accountId FROM InterestAccrual a WHERE a.period = :period AND a.accountId IN :accountIds")
+    List<String> findAccruedAccountIds(@Param("period") String period,
+                                       @Param("accountIds") Collection<String> accountIds);
+
+    long countByPeriod(String period);
+}
@@ -0,0 +1,9 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.InterestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InterestRunRepository extends JpaRepository<InterestRun, String> {
+}
@@ -0,0 +1,19 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.JournalApplyState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JournalApplyStateRepository extends JpaRepository<JournalApplyState, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM JournalApplyState s WHERE s.id = :id")
+    Optional<JournalApplyState> lockById(@Param("id") Integer id);
+}
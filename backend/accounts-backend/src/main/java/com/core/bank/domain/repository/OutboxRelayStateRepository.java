@@ -0,0 +1,19 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.domain.entity.OutboxRelayState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxRelayStateRepository extends JpaRepository<OutboxRelayState, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OutboxRelayState s WHERE s.id = :id")
+    Optional<OutboxRelayState> lockById(@Param("id") Integer id);
+}
@@ -0,0 +1,10 @@
+package com.core.bank.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección mínima de un débito para reconstruir las ventanas de velocidad.
+ */
+public record RecentDebit(String accountId, LocalDateTime date, BigDecimal amount) {
+}
@@ -1,6 +1,7 @@
 package com.core.bank.domain.repository;
 
 import com.core.bank.domain.entity.Transaction;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,15 +9,32 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, String>, TransactionRepositoryCustom {
 
+    // Rango semiabierto sobre date en lugar de CAST(date AS DATE): se resuelve con idx_movimientos_cuenta_tipo_fecha
+    default BigDecimal sumDebitsForDay(String accountId, LocalDateTime date) {
+        LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
+        return sumDebitsBetween(accountId, dayStart, dayStart.plusDays(1));
+    }
+
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
            "WHERE t.account.id = :accountId AND t.type = 'DEBITO' " +
-           "AND CAST(t.date AS DATE) = CAST(:date AS DATE)")
-    BigDecimal sumDebitsForDay(@Param("accountId") String accountId,
-                              @Param("date") LocalDateTime date);
+           "AND t.date >= :from AND t.date < :to")
+    BigDecimal sumDebitsBetween(@Param("accountId") String accountId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.core.bank.domain.repository.RecentDebit(t.account.id, t.date, t.amount) " +
+           "FROM Transaction t WHERE t.type = 'DEBITO' AND t.date >= :since")
+    List<RecentDebit> findDebitsSince(@Param("since") LocalDateTime since);
+
+    // La anulación lee y modifica el saldo de la cuenta: se carga en la misma consulta
+    @EntityGraph(attributePaths = "account")
+    Optional<Transaction> findWithAccountById(String id);
 
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.account.id = :accountId")
     long countByAccountId(@Param("accountId") String accountId);
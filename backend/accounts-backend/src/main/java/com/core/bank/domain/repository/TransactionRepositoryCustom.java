@@ -2,6 +2,7 @@ package com.core.bank.domain.repository;
 
 import com.core.bank.domain.entity.Transaction;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TransactionRepositoryCustom {
@@ -9,5 +10,11 @@ public interface TransactionRepositoryCustom {
     List<Transaction> findAllWithFiltersPaginated(String accountId, LocalDateTime from, LocalDateTime to,
                                                   int offset, int limit);
 
+    List<TransactionRow> findRowsPaginated(String accountId, LocalDateTime from, LocalDateTime to, int offset, int limit);
+
+    long countRows(String accountId, LocalDateTime from, LocalDateTime to);
+
     List<Transaction> findByAccountIdAndDateRange(String accountId, LocalDateTime from, LocalDateTime to);
+
+    List<Transaction> findByAccountIdsAndDateRange(Collection<String> accountIds, LocalDateTime from, LocalDateTime to);
 }
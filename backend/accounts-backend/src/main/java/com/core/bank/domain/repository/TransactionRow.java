@@ -0,0 +1,11 @@
+package com.core.bank.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de movimiento para los listados, de la tabla caliente o del archivo.
+ */
+public record TransactionRow(String id, LocalDateTime date, String description, String type,
+                             BigDecimal amount, BigDecimal balance, String accountId) {
+}
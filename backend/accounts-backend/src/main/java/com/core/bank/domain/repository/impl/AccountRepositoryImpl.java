@@ -2,34 +2,114 @@ package com.core.bank.domain.repository.impl;
 
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.repository.AccountRepositoryCustom;
+import com.core.bank.domain.repository.AccountRow;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository("AccountRepositoryImpl")
 @RequiredArgsConstructor
 public class AccountRepositoryImpl implements AccountRepositoryCustom {
 
+    private static final String ORDER = "ORDER BY a.createdAt DESC";
+    private static final String ROW = "SELECT new com.core.bank.domain.repository.AccountRow(" +
+            "a.id, a.accountNumber, a.accountType, a.initialBalance, a.currentBalance, a.status, " +
+            "a.customer.id, a.balanceSlots) ";
+
     private final EntityManager entityManager;
 
+    @Timed(value = "bank.repository.query", extraTags = {"query", "accounts.findAllWithFiltersPaginated"})
     @Override
     public List<Account> findAllWithFiltersPaginated(String customerId, String search, int offset, int limit) {
-        String jpql = "SELECT a FROM Account a WHERE " +
-                "(COALESCE(:customerId, '') = '' OR a.customer.id = :customerId) AND " +
-                "(COALESCE(:search, '') = '' OR " +
-                "LOWER(a.accountNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-                "LOWER(a.accountType) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-                "ORDER BY a.createdAt DESC";
-
-        TypedQuery<Account> query = entityManager.createQuery(jpql, Account.class);
-        query.setParameter("customerId", customerId != null ? customerId : "")
-                .setParameter("search", search != null ? search : "")
-                .setFirstResult(offset)
-                .setMaxResults(limit);
+        JpqlFilter filter = filter(customerId, search);
+        TypedQuery<Account> query = entityManager.createQuery("SELECT a FROM Account a " + filter.where() + ORDER,
+                Account.class);
+        return page(filter.bind(query), offset, limit).getResultList();
+    }
+
+    /**
+     * Mismos filtros y orden que {@link #findAllWithFiltersPaginated}, pero cada fila se construye en la consulta:
+     * nada entra al contexto de persistencia y a.customer.id sale de la FK sin join.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "accounts.findRowsPaginated"})
+    @Override
+    public List<AccountRow> findRowsPaginated(String customerId, String search, int offset, int limit) {
+        JpqlFilter filter = filter(customerId, search);
+        String jpql = ROW + "FROM Account a " + filter.where() + ORDER;
+
+        TypedQuery<AccountRow> query = entityManager.createQuery(jpql, AccountRow.class)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        return page(filter.bind(query), offset, limit).getResultList();
+    }
+
+    /**
+     * Total con los mismos filtros que {@link #findRowsPaginated}, contado en la base.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "accounts.countRows"})
+    @Override
+    public long countRows(String customerId, String search) {
+        JpqlFilter filter = filter(customerId, search);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(a) FROM Account a " + filter.where(), Long.class)
+                        .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL))
+                .getSingleResult();
+    }
+
+    /**
+     * Filas de los ids pedidos en una sola consulta por clave primaria, sin orden: el llamador lo decide.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "accounts.findRowsByIds"})
+    @Override
+    public List<AccountRow> findRowsByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(ROW + "FROM Account a WHERE a.id IN :ids", AccountRow.class)
+                .setParameter("ids", ids)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+    }
+
+    /**
+     * El filtro por cliente usa idx_cuentas_cliente_creacion; la búsqueda es un "contiene" y no puede usar índice.
+     */
+    private static JpqlFilter filter(String customerId, String search) {
+        return new JpqlFilter()
+                .and("a.customer.id = :customerId", "customerId", customerId)
+                .and("(LOWER(a.accountNumber) LIKE :search OR LOWER(a.accountType) LIKE :search)",
+                        "search", JpqlFilter.containsPattern(search));
+    }
 
-        return query.getResultList();
+    /**
+     * Bloquea la fila de una cuenta ya cargada (SELECT ... FOR UPDATE) y relee su estado, así un saldo absoluto
+     * escrito después parte del último confirmado. Si ya está bloqueada en esta transacción no consulta.
+     */
+    @Override
+    public void lockForUpdate(Account account) {
+        if (entityManager.getLockMode(account) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE);
+        }
+    }
+
+    /**
+     * SELECT ... FOR UPDATE por id sin vaciar la sesión antes; si la cuenta ya está bloqueada en esta transacción
+     * (p. ej. por {@code lockForPosting}) la devuelve sin consultar.
+     */
+    @Override
+    public Optional<Account> findForUpdate(String id) {
+        return Optional.ofNullable(entityManager.find(Account.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    private static <T> TypedQuery<T> page(TypedQuery<T> query, int offset, int limit) {
+        return query.setFirstResult(offset)
+                .setMaxResults(limit);
     }
 }
@@ -2,34 +2,74 @@ package com.core.bank.domain.repository.impl;
 
 import com.core.bank.domain.entity.Customer;
 import com.core.bank.domain.repository.CustomerRepositoryCustom;
+import com.core.bank.domain.repository.CustomerRow;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository("CustomerRepositoryImpl")
 @RequiredArgsConstructor
 public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
 
+    private static final String ORDER = "ORDER BY c.createdAt DESC";
+    private static final String ROW = "SELECT new com.core.bank.domain.repository.CustomerRow(" +
+            "c.id, c.name, c.gender, c.age, c.identification, c.address, c.phone, c.password, c.status) ";
+
     private final EntityManager entityManager;
 
+    @Timed(value = "bank.repository.query", extraTags = {"query", "customers.findAllWithSearchPaginated"})
     @Override
     public List<Customer> findAllWithSearchPaginated(String search, int offset, int limit) {
-        String jpql = "SELECT c FROM Customer c WHERE " +
-                "COALESCE(:search, '') = '' OR " +
-                "LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-                "LOWER(c.identification) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-                "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%')) " +
-                "ORDER BY c.createdAt DESC";
-
-        TypedQuery<Customer> query = entityManager.createQuery(jpql, Customer.class);
-        query.setParameter("search", search != null ? search : "")
-                .setFirstResult(offset)
-                .setMaxResults(limit);
+        JpqlFilter filter = filter(search);
+        TypedQuery<Customer> query = entityManager.createQuery("SELECT c FROM Customer c " + filter.where() + ORDER,
+                Customer.class);
+        return page(filter.bind(query), offset, limit).getResultList();
+    }
+
+    /**
+     * Mismos filtros y orden que {@link #findAllWithSearchPaginated}, con las filas construidas en la consulta.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "customers.findRowsPaginated"})
+    @Override
+    public List<CustomerRow> findRowsPaginated(String search, int offset, int limit) {
+        JpqlFilter filter = filter(search);
+        String jpql = ROW + "FROM Customer c " + filter.where() + ORDER;
+
+        TypedQuery<CustomerRow> query = entityManager.createQuery(jpql, CustomerRow.class)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        return page(filter.bind(query), offset, limit).getResultList();
+    }
 
-        return query.getResultList();
+    /**
+     * Filas de los ids pedidos en una sola consulta por clave primaria, sin orden: el llamador lo decide.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "customers.findRowsByIds"})
+    @Override
+    public List<CustomerRow> findRowsByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(ROW + "FROM Customer c WHERE c.id IN :ids", CustomerRow.class)
+                .setParameter("ids", ids)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+    }
+
+    private static JpqlFilter filter(String search) {
+        return new JpqlFilter()
+                .and("(LOWER(c.name) LIKE :search OR LOWER(c.identification) LIKE :search OR LOWER(c.phone) LIKE :search)",
+                        "search", JpqlFilter.containsPattern(search));
+    }
+
+    private static <T> TypedQuery<T> page(TypedQuery<T> query, int offset, int limit) {
+        return query.setFirstResult(offset)
+                .setMaxResults(limit);
     }
 }
@@ -0,0 +1,48 @@
+package com.core.bank.domain.repository.impl;
+
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * WHERE de JPQL con solo los filtros que llegan. Cada combinación de filtros produce siempre el mismo texto, así
+ * que las formas posibles son pocas y quedan en la caché de planes de Hibernate; ninguna lleva el
+ * {@code COALESCE(:p, '') = '' OR ...} que obliga a un plan único sin índices.
+ */
+final class JpqlFilter {
+
+    private final List<String> predicates = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    /**
+     * Añade el predicado si llega el valor; null y cadenas en blanco cuentan como filtro ausente.
+     */
+    JpqlFilter and(String predicate, String parameter, Object value) {
+        if (value == null || value instanceof String text && text.isBlank()) {
+            return this;
+        }
+        predicates.add(predicate);
+        parameters.put(parameter, value);
+        return this;
+    }
+
+    String where() {
+        return predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates) + " ";
+    }
+
+    <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * Patrón LIKE de "contiene" en minúsculas para comparar con LOWER(columna); null si no hay búsqueda.
+     */
+    static String containsPattern(String search) {
+        return search == null || search.isBlank() ? null : "%" + search.toLowerCase(Locale.ROOT) + "%";
+    }
+}
@@ -0,0 +1,51 @@
+package com.core.bank.domain.repository.impl;
+
+import com.core.bank.domain.entity.ArchiveBoundary;
+import com.core.bank.domain.repository.ArchiveBoundaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Corte vigente entre movimientos (caliente) y movimientos_archivo. Se mantiene en memoria para que el
+ * enrutamiento no cueste una consulta y se refresca periódicamente por si otra instancia archivó.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovementArchiveBoundary {
+
+    private final ArchiveBoundaryRepository archiveBoundaryRepository;
+
+    private volatile LocalDateTime archivedBefore;
+
+    /**
+     * Movimientos con fecha anterior a este instante están en el archivo; null si nunca se archivó.
+     */
+    public LocalDateTime current() {
+        return archivedBefore;
+    }
+
+    public void advance(LocalDateTime boundary) {
+        archivedBefore = boundary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.movements.archive.boundary-refresh:PT1M}",
+            initialDelayString = "${app.movements.archive.boundary-refresh:PT1M}")
+    public void refresh() {
+        try {
+            archivedBefore = archiveBoundaryRepository.findById(ArchiveBoundary.SINGLETON_ID)
+                    .map(ArchiveBoundary::getArchivedBefore)
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo leer el corte del archivo de movimientos: {}", e.getMessage());
+        }
+    }
+}
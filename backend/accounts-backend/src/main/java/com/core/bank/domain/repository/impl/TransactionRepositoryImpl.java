@@ -1,52 +1,240 @@
 package com.core.bank.domain.repository.impl;
 
+import com.core.bank.domain.entity.ArchivedTransaction;
 import com.core.bank.domain.entity.Transaction;
 import com.core.bank.domain.repository.TransactionRepositoryCustom;
+import com.core.bank.domain.repository.TransactionRow;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Consultas de movimientos repartidas entre la tabla caliente (movimientos) y el archivo
+ * (movimientos_archivo) según el corte de {@link MovementArchiveBoundary}. Un rango posterior al corte
+ * solo toca la tabla caliente.
+ */
 @Repository("TransactionRepositoryImpl")
 @RequiredArgsConstructor
 public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
 
     private final EntityManager entityManager;
+    private final MovementArchiveBoundary archiveBoundary;
 
+    @Timed(value = "bank.repository.query", extraTags = {"query", "transactions.findAllWithFiltersPaginated"})
     @Override
     public List<Transaction> findAllWithFiltersPaginated(String accountId, LocalDateTime from, LocalDateTime to, int offset, int limit) {
-        String jpql = "SELECT t FROM Transaction t WHERE " +
-                "(COALESCE(:accountId, '') = '' OR t.account.id = :accountId) AND " +
-                "(COALESCE(:from, NULL) IS NULL OR COALESCE(:to, NULL) IS NULL OR t.date BETWEEN :from AND :to) " +
-                "ORDER BY t.date DESC";
+        return findAcrossArchive(accountId, from, to, offset, limit,
+                (boundary, pageOffset, pageLimit) ->
+                        hotQuery("SELECT t", Transaction.class, accountId, from, to, boundary, pageOffset, pageLimit)
+                                .getResultList(),
+                (boundary, pageOffset, pageLimit) ->
+                        archivedQuery("SELECT a", ArchivedTransaction.class, accountId, from, to, boundary, pageOffset, pageLimit)
+                                .getResultList()
+                                .stream()
+                                .map(ArchivedTransaction::toTransaction)
+                                .toList());
+    }
+
+    /**
+     * Mismo reparto entre tabla caliente y archivo que {@link #findAllWithFiltersPaginated}, con las filas
+     * construidas en la consulta: ni movimientos gestionados ni proxies de cuenta.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "transactions.findRowsPaginated"})
+    @Override
+    public List<TransactionRow> findRowsPaginated(String accountId, LocalDateTime from, LocalDateTime to, int offset, int limit) {
+        return findAcrossArchive(accountId, from, to, offset, limit,
+                (boundary, pageOffset, pageLimit) ->
+                        hotQuery(rowSelect("t"), TransactionRow.class, accountId, from, to, boundary, pageOffset, pageLimit)
+                                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                                .getResultList(),
+                (boundary, pageOffset, pageLimit) ->
+                        archivedQuery(rowSelect("a"), TransactionRow.class, accountId, from, to, boundary, pageOffset, pageLimit)
+                                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                                .getResultList());
+    }
+
+    /**
+     * Total del listado con los mismos filtros, sumando tabla caliente y archivo según el corte.
+     */
+    @Timed(value = "bank.repository.query", extraTags = {"query", "transactions.countRows"})
+    @Override
+    public long countRows(String accountId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime boundary = archiveBoundary.current();
+        long total = 0;
+        if (boundary == null || to == null || !to.isBefore(boundary)) {
+            total += countHot(accountId, from, to, boundary);
+        }
+        if (boundary != null && (from == null || from.isBefore(boundary))) {
+            JpqlFilter filter = filter("a", accountId, from, to)
+                    .and("a.date < :boundary", "boundary", boundary);
+            total += filter.bind(entityManager.createQuery("SELECT COUNT(a) FROM ArchivedTransaction a "
+                    + filter.where(), Long.class)).getSingleResult();
+        }
+        return total;
+    }
+
+    @Timed(value = "bank.repository.query", extraTags = {"query", "transactions.findByAccountIdAndDateRange"})
+    @Override
+    public List<Transaction> findByAccountIdAndDateRange(String accountId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime boundary = archiveBoundary.current();
+        List<Transaction> result = new ArrayList<>();
+
+        if (boundary != null && from.isBefore(boundary)) {
+            String jpql = "SELECT a FROM ArchivedTransaction a WHERE " +
+                    "a.account.id = :accountId AND " +
+                    "a.date BETWEEN :from AND :to AND a.date < :boundary " +
+                    "ORDER BY a.date ASC";
+            entityManager.createQuery(jpql, ArchivedTransaction.class)
+                    .setParameter("accountId", accountId)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("boundary", boundary)
+                    .getResultList()
+                    .forEach(archived -> result.add(archived.toTransaction()));
+        }
+
+        if (boundary == null || !to.isBefore(boundary)) {
+            String jpql = "SELECT t FROM Transaction t WHERE " +
+                    "t.account.id = :accountId AND " +
+                    "t.date BETWEEN :from AND :to " +
+                    (boundary != null ? "AND t.date >= :boundary " : "") +
+                    "ORDER BY t.date ASC";
+
+            TypedQuery<Transaction> query = entityManager.createQuery(jpql, Transaction.class);
+            query.setParameter("accountId", accountId);
+            query.setParameter("from", from);
+            query.setParameter("to", to);
+            if (boundary != null) {
+                query.setParameter("boundary", boundary);
+            }
+            result.addAll(query.getResultList());
+        }
+
+        return result;
+    }
+
+    @Timed(value = "bank.repository.query", extraTags = {"query", "transactions.findByAccountIdsAndDateRange"})
+    @Override
+    public List<Transaction> findByAccountIdsAndDateRange(Collection<String> accountIds, LocalDateTime from, LocalDateTime to) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime boundary = archiveBoundary.current();
+        List<Transaction> result = new ArrayList<>();
+
+        if (boundary != null && from.isBefore(boundary)) {
+            String jpql = "SELECT a FROM ArchivedTransaction a WHERE " +
+                    "a.account.id IN :accountIds AND " +
+                    "a.date BETWEEN :from AND :to AND a.date < :boundary " +
+                    "ORDER BY a.date ASC";
+            entityManager.createQuery(jpql, ArchivedTransaction.class)
+                    .setParameter("accountIds", accountIds)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("boundary", boundary)
+                    .getResultList()
+                    .forEach(archived -> result.add(archived.toTransaction()));
+        }
+
+        if (boundary == null || !to.isBefore(boundary)) {
+            String jpql = "SELECT t FROM Transaction t WHERE " +
+                    "t.account.id IN :accountIds AND " +
+                    "t.date BETWEEN :from AND :to " +
+                    (boundary != null ? "AND t.date >= :boundary " : "") +
+                    "ORDER BY t.date ASC";
 
-        TypedQuery<Transaction> query = entityManager.createQuery(jpql, Transaction.class);
+            TypedQuery<Transaction> query = entityManager.createQuery(jpql, Transaction.class);
+            query.setParameter("accountIds", accountIds);
+            query.setParameter("from", from);
+            query.setParameter("to", to);
+            if (boundary != null) {
+                query.setParameter("boundary", boundary);
+            }
+            result.addAll(query.getResultList());
+        }
 
-        query.setParameter("accountId", accountId != null ? accountId : "")
-                .setParameter("from", from)
-                .setParameter("to", to)
+        return result;
+    }
+
+    private <T> List<T> findAcrossArchive(String accountId, LocalDateTime from, LocalDateTime to, int offset, int limit,
+                                          PageQuery<T> hot, PageQuery<T> archived) {
+        LocalDateTime boundary = archiveBoundary.current();
+
+        List<T> result = new ArrayList<>();
+        long hotMatches = 0;
+        if (boundary == null || to == null || !to.isBefore(boundary)) {
+            result.addAll(hot.find(boundary, offset, limit));
+            if (boundary == null || (from != null && !from.isBefore(boundary)) || result.size() == limit) {
+                return result;
+            }
+            hotMatches = result.isEmpty() ? countHot(accountId, from, to, boundary) : offset + result.size();
+        }
+
+        // Orden descendente: el archivo continúa donde termina la tabla caliente
+        int archiveOffset = (int) Math.max(0, offset - hotMatches);
+        result.addAll(archived.find(boundary, archiveOffset, limit - result.size()));
+        return result;
+    }
+
+    private static String rowSelect(String alias) {
+        return "SELECT new com.core.bank.domain.repository.TransactionRow(" +
+                alias + ".id, " + alias + ".date, " + alias + ".description, " + alias + ".type, " +
+                alias + ".amount, " + alias + ".balance, " + alias + ".account.id)";
+    }
+
+    /**
+     * Solo los filtros que llegan, cada extremo de fecha por separado: con cuenta la consulta usa
+     * idx_movimientos_cuenta_fecha (cuenta_id, date) y sin cuenta, el índice de fecha.
+     */
+    private static JpqlFilter filter(String alias, String accountId, LocalDateTime from, LocalDateTime to) {
+        return new JpqlFilter()
+                .and(alias + ".account.id = :accountId", "accountId", accountId)
+                .and(alias + ".date >= :from", "from", from)
+                .and(alias + ".date <= :to", "to", to);
+    }
+
+    private <T> TypedQuery<T> hotQuery(String select, Class<T> type, String accountId, LocalDateTime from,
+                                       LocalDateTime to, LocalDateTime boundary, int offset, int limit) {
+        JpqlFilter filter = filter("t", accountId, from, to)
+                .and("t.date >= :boundary", "boundary", boundary);
+        String jpql = select + " FROM Transaction t " + filter.where() + "ORDER BY t.date DESC";
+
+        return filter.bind(entityManager.createQuery(jpql, type))
                 .setFirstResult(offset)
                 .setMaxResults(limit);
+    }
+
+    private long countHot(String accountId, LocalDateTime from, LocalDateTime to, LocalDateTime boundary) {
+        JpqlFilter filter = filter("t", accountId, from, to)
+                .and("t.date >= :boundary", "boundary", boundary);
+        String jpql = "SELECT COUNT(t) FROM Transaction t " + filter.where();
 
-        return query.getResultList();
+        return filter.bind(entityManager.createQuery(jpql, Long.class)).getSingleResult();
     }
 
-    @Override
-    public List<Transaction> findByAccountIdAndDateRange(String accountId, LocalDateTime from, LocalDateTime to) {
-        String jpql = "SELECT t FROM Transaction t WHERE " +
-                "t.account.id = :accountId AND " +
-                "t.date BETWEEN :from AND :to " +
-                "ORDER BY t.date ASC";
+    private <T> TypedQuery<T> archivedQuery(String select, Class<T> type, String accountId, LocalDateTime from,
+                                            LocalDateTime to, LocalDateTime boundary, int offset, int limit) {
+        JpqlFilter filter = filter("a", accountId, from, to)
+                .and("a.date < :boundary", "boundary", boundary);
+        String jpql = select + " FROM ArchivedTransaction a " + filter.where() + "ORDER BY a.date DESC";
+
+        return filter.bind(entityManager.createQuery(jpql, type))
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+    }
 
-        TypedQuery<Transaction> query = entityManager.createQuery(jpql, Transaction.class);
-        query.setParameter("accountId", accountId);
-        query.setParameter("from", from);
-        query.setParameter("to", to);
+    @FunctionalInterface
+    private interface PageQuery<T> {
 
-        return query.getResultList();
+        List<T> find(LocalDateTime boundary, int offset, int limit);
     }
 }
@@ -1,5 +1,6 @@
 package com.core.bank.infrastructure.config;
 
+import com.core.bank.infrastructure.persistence.SqlStatementBudgetFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +47,8 @@ public class CorsConfig {
         
         configuration.addExposedHeader("Content-Type");
         configuration.addExposedHeader("Authorization");
+        configuration.addExposedHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER);
+        configuration.addExposedHeader(SqlStatementBudgetFilter.TIME_HEADER);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
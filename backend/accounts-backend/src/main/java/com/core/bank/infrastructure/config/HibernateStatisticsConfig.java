@@ -0,0 +1,23 @@
+package com.core.bank.infrastructure.config;
+
+import com.core.bank.infrastructure.persistence.CountingStatementInspector;
+import com.core.bank.infrastructure.persistence.StatementTimingSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    StatementTimingSessionListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.core.bank.infrastructure.config;
+
+import com.core.bank.infrastructure.persistence.BoundedConcurrencyDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de ejecución con hilos virtuales (spring.threads.virtual.enabled=true). Tomcat, el executor de
+ * tareas y el scheduler pasan a hilos virtuales; el acceso JDBC queda acotado por un semáforo.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedConcurrencyDataSourcePostProcessor(
+            @Value("${app.jdbc.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${app.jdbc.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Solo los pools reales; un DataSource de enrutamiento delega en pools ya acotados
+                if (bean instanceof HikariDataSource dataSource) {
+                    return new BoundedConcurrencyDataSource(beanName, dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcPermitsMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(BoundedConcurrencyDataSource.class::isInstance)
+                .map(BoundedConcurrencyDataSource.class::cast)
+                .forEach(dataSource -> {
+                    Gauge.builder("bank.jdbc.permits.available", dataSource, BoundedConcurrencyDataSource::availablePermits)
+                            .description("Permisos JDBC libres")
+                            .tag("pool", dataSource.getName())
+                            .register(registry);
+                    Gauge.builder("bank.jdbc.permits.waiting", dataSource, BoundedConcurrencyDataSource::waitingThreads)
+                            .description("Hilos esperando un permiso JDBC")
+                            .tag("pool", dataSource.getName())
+                            .register(registry);
+                });
+    }
+}
@@ -0,0 +1,83 @@
+package com.core.bank.infrastructure.controller;
+
+import com.core.bank.application.stream.AccountUpdate;
+import com.core.bank.application.stream.AccountUpdateHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stream SSE de movimientos y saldo de las cuentas indicadas. No está en openapi.yaml: el generador no
+ * modela text/event-stream.
+ */
+@RestController
+public class AccountStreamController {
+
+    public static final String EVENT_NAME = "movimiento";
+
+    private final AccountUpdateHub accountUpdateHub;
+    private final int maxAccounts;
+    private final Duration timeout;
+
+    public AccountStreamController(AccountUpdateHub accountUpdateHub,
+                                   @Value("${app.stream.max-accounts:100}") int maxAccounts,
+                                   @Value("${app.stream.timeout:PT30M}") Duration timeout) {
+        this.accountUpdateHub = accountUpdateHub;
+        this.maxAccounts = maxAccounts;
+        this.timeout = timeout;
+    }
+
+    @GetMapping(path = "/api/cuentas/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCuentas(@RequestParam("cuentaIds") List<UUID> cuentaIds) {
+        if (cuentaIds.isEmpty() || cuentaIds.size() > maxAccounts) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<String> accountIds = cuentaIds.stream().map(UUID::toString).collect(Collectors.toSet());
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Optional<AccountUpdateHub.Subscriber> subscriber = accountUpdateHub.subscribe(accountIds, new EmitterSink(emitter));
+        if (subscriber.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        Runnable release = () -> subscriber.get().close(AccountUpdateHub.DROP_CLOSED);
+        emitter.onCompletion(release);
+        emitter.onTimeout(release);
+        emitter.onError(error -> release.run());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements AccountUpdateHub.Sink {
+
+        @Override
+        public void send(AccountUpdate update) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(update.movementId())
+                    .data(update, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void keepAlive() throws IOException {
+            emitter.send(SseEmitter.event().comment("ping"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
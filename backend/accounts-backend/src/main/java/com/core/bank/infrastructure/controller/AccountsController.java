@@ -1,13 +1,17 @@
 package com.core.bank.infrastructure.controller;
 
 import com.core.bank.api.CuentasApi;
+import com.core.bank.application.dto.BatchResult;
 import com.core.bank.application.dto.PaginationMetadata;
 import com.core.bank.application.service.AccountService;
 import com.core.bank.application.mapper.AccountMapper;
 import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.repository.AccountRow;
+import com.core.bank.model.dto.AccountBatch;
 import com.core.bank.model.dto.AccountDTO;
 import com.core.bank.model.dto.AccountCreate;
 import com.core.bank.model.dto.AccountPatch;
+import com.core.bank.model.dto.LookupItem;
 import com.core.bank.model.dto.PageResponseAccount;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -38,6 +42,16 @@ public class AccountsController implements CuentasApi {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    public ResponseEntity<AccountBatch> getCuentasBatch(List<UUID> ids) {
+        BatchResult<AccountRow> result = accountService.findByIds(ids.stream().map(UUID::toString).toList());
+
+        AccountBatch response = new AccountBatch();
+        response.setContent(result.found().stream().map(accountMapper::toDto).toList());
+        response.setMissingIds(result.missingIds().stream().map(UUID::fromString).toList());
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<AccountDTO> getCuenta(UUID cuentaId) {
         Account account = accountService.getById(cuentaId.toString());
@@ -68,12 +82,18 @@ public class AccountsController implements CuentasApi {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<List<LookupItem>> lookupCuentas(String q, Integer limit) {
+        List<LookupItem> items = accountService.lookup(q, limit != null ? limit : 20)
+                .stream()
+                .map(accountMapper::toLookupItem)
+                .toList();
+        return ResponseEntity.ok(items);
+    }
 
     @Override
     public ResponseEntity<AccountDTO> patchCuenta(UUID cuentaId, AccountPatch accountPatch) {
-        Account account = accountService.getById(cuentaId.toString());
-        accountMapper.updateEntity(accountPatch, account);
-        Account patched = accountService.patch(cuentaId.toString(), account);
+        Account patched = accountService.patch(cuentaId.toString(), accountPatch);
         return ResponseEntity.ok(accountMapper.toDto(patched));
     }
 }
@@ -1,15 +1,19 @@
 package com.core.bank.infrastructure.controller;
 
 import com.core.bank.api.ClientesApi;
+import com.core.bank.application.dto.BatchResult;
 import com.core.bank.application.dto.PaginationMetadata;
 import com.core.bank.application.service.CustomerService;
 import com.core.bank.application.mapper.CustomerMapper;
 import com.core.bank.domain.entity.Customer;
 import com.core.bank.domain.repository.CustomerRepositoryCustom;
+import com.core.bank.domain.repository.CustomerRow;
+import com.core.bank.model.dto.CustomerBatch;
 import com.core.bank.model.dto.CustomerDTO;
 import com.core.bank.model.dto.CustomerCreate;
 import com.core.bank.model.dto.CustomerUpdate;
 import com.core.bank.model.dto.CustomerPatch;
+import com.core.bank.model.dto.LookupItem;
 import com.core.bank.model.dto.PageResponseCustomer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -43,6 +47,16 @@ public class CustomersController implements ClientesApi {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    public ResponseEntity<CustomerBatch> getClientesBatch(List<UUID> ids) {
+        BatchResult<CustomerRow> result = customerService.findByIds(ids.stream().map(UUID::toString).toList());
+
+        CustomerBatch response = new CustomerBatch();
+        response.setContent(result.found().stream().map(customerMapper::toDto).toList());
+        response.setMissingIds(result.missingIds().stream().map(UUID::fromString).toList());
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<CustomerDTO> getCliente(UUID clienteId) {
         Customer customer = customerService.getById(clienteId.toString());
@@ -73,11 +87,18 @@ public class CustomersController implements ClientesApi {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<List<LookupItem>> lookupClientes(String q, Integer limit) {
+        List<LookupItem> items = customerService.lookup(q, limit != null ? limit : 20)
+                .stream()
+                .map(customerMapper::toLookupItem)
+                .toList();
+        return ResponseEntity.ok(items);
+    }
+
     @Override
     public ResponseEntity<CustomerDTO> patchCliente(UUID clienteId, CustomerPatch customerPatch) {
-        Customer customer = customerService.getById(clienteId.toString());
-        customerMapper.updateEntity(customerPatch, customer);
-        Customer patched = customerService.patch(clienteId.toString(), customer);
+        Customer patched = customerService.patch(clienteId.toString(), customerPatch);
         return ResponseEntity.ok(customerMapper.toDto(patched));
     }
 
@@ -0,0 +1,33 @@
+package com.core.bank.infrastructure.controller;
+
+import com.core.bank.api.EventosApi;
+import com.core.bank.application.mapper.ChangeEventMapper;
+import com.core.bank.application.service.OutboxService;
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.model.dto.ChangeEventFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class EventsController implements EventosApi {
+
+    private final OutboxService outboxService;
+    private final ChangeEventMapper changeEventMapper;
+
+    @Override
+    public ResponseEntity<ChangeEventFeed> listEventos(Long after, Integer limit) {
+        long from = after != null ? after : 0L;
+        List<OutboxEvent> events = outboxService.feed(from, limit != null ? limit : 100);
+
+        // Sin eventos nuevos el consumidor vuelve a preguntar con el mismo offset
+        long nextOffset = events.isEmpty() ? from : events.get(events.size() - 1).getFeedOffset();
+        ChangeEventFeed feed = new ChangeEventFeed()
+                .events(changeEventMapper.toDtoList(events))
+                .nextOffset(nextOffset);
+        return ResponseEntity.ok(feed);
+    }
+}
@@ -0,0 +1,33 @@
+package com.core.bank.infrastructure.controller;
+
+import com.core.bank.api.ProcesosApi;
+import com.core.bank.application.mapper.StatementRunMapper;
+import com.core.bank.application.statement.StatementPipeline;
+import com.core.bank.infrastructure.exception.ResourceNotFoundException;
+import com.core.bank.model.dto.StatementRunStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ProcessesController implements ProcesosApi {
+
+    private final StatementPipeline statementPipeline;
+    private final StatementRunMapper statementRunMapper;
+
+    @Override
+    public ResponseEntity<StatementRunStatus> startEstadosCuenta(String periodo) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(statementRunMapper.toDto(statementPipeline.start(periodo)));
+    }
+
+    @Override
+    public ResponseEntity<StatementRunStatus> getEstadosCuenta() {
+        return statementPipeline.current()
+                .map(statementRunMapper::toDto)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("No se ha iniciado ninguna generación de estados de cuenta"));
+    }
+}
@@ -4,6 +4,7 @@ import com.core.bank.api.ReportesApi;
 import com.core.bank.application.service.ReportService;
 import com.core.bank.model.dto.GetReporte200Response;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +18,13 @@ public class ReportsController implements ReportesApi {
     private final ReportService reportService;
 
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public ResponseEntity<GetReporte200Response> getReporte(UUID clienteId, LocalDate from, LocalDate to, String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            // Ya serializado al generarlo: los bytes se envían tal cual, sin pasar otra vez por Jackson
+            byte[] body = reportService.generateJsonReport(clienteId, from, to).bytes();
+            return (ResponseEntity) ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
         GetReporte200Response report = reportService.generateReport(clienteId, from, to, format);
         return ResponseEntity.ok(report);
 
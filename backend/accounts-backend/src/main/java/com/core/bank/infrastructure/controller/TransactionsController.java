@@ -2,6 +2,7 @@ package com.core.bank.infrastructure.controller;
 
 import com.core.bank.api.MovimientosApi;
 import com.core.bank.application.dto.PaginationMetadata;
+import com.core.bank.application.journal.PostingJournalService;
 import com.core.bank.application.service.TransactionService;
 import com.core.bank.application.mapper.TransactionMapper;
 import com.core.bank.domain.entity.Transaction;
@@ -25,11 +26,14 @@ public class TransactionsController implements MovimientosApi {
 
     private final TransactionService transactionService;
     private final TransactionMapper transactionMapper;
+    private final PostingJournalService postingJournalService;
 
     @Override
     public ResponseEntity<TransactionDTO> createMovimiento(TransactionCreate transactionCreate) {
         Transaction transaction = transactionMapper.toEntity(transactionCreate);
-        Transaction created = transactionService.create(transaction);
+        Transaction created = postingJournalService.isEnabled()
+                ? postingJournalService.post(transaction)
+                : transactionService.create(transaction);
         return ResponseEntity.status(HttpStatus.CREATED).body(transactionMapper.toDto(created));
     }
 
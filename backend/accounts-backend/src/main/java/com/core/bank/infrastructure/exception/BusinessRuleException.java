@@ -1,6 +1,6 @@
 package com.core.bank.infrastructure.exception;
 
-public class BusinessRuleException extends RuntimeException {
+public class BusinessRuleException extends RejectionException {
 
     public BusinessRuleException(String message) {
         super(message);
@@ -1,7 +1,10 @@
 package com.core.bank.infrastructure.exception;
 
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.ErrorResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,58 +17,43 @@ import java.time.OffsetDateTime;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final BankMetrics bankMetrics;
+    private final RejectionLog rejectionLog;
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
-        
-        log.warn("Resource not found: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = new ErrorResponse()
-                .code(HttpStatus.NOT_FOUND.value())
-                .message(ex.getMessage())
-                .timestamp(OffsetDateTime.now());
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return reject(HttpStatus.NOT_FOUND, "not_found", "Resource not found", ex.getMessage());
     }
 
 
     @ExceptionHandler(ResourceAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleResourceAlreadyExistsException(
             ResourceAlreadyExistsException ex, WebRequest request) {
-        
-        log.warn("Resource already exists: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = new ErrorResponse()
-                .code(HttpStatus.CONFLICT.value())
-                .message(ex.getMessage())
-                .timestamp(OffsetDateTime.now());
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return reject(HttpStatus.CONFLICT, "already_exists", "Resource already exists", ex.getMessage());
+    }
+
+    // Duplicado que llegó hasta el índice único (p. ej. alta simultánea en otra instancia)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+        return reject(HttpStatus.CONFLICT, "integrity", "Data integrity violation",
+                "El registro entra en conflicto con uno existente");
     }
 
     @ExceptionHandler(BusinessRuleException.class)
     public ResponseEntity<ErrorResponse> handleBusinessRuleException(
             BusinessRuleException ex, WebRequest request) {
-        
-        log.warn("Business rule violation: {}", ex.getMessage());
-        
-        ErrorResponse errorResponse = new ErrorResponse()
-                .code(HttpStatus.CONFLICT.value())
-                .message(ex.getMessage())
-                .timestamp(OffsetDateTime.now());
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        return reject(HttpStatus.CONFLICT, "business_rule", "Business rule violation", ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
         
-        log.warn("Validation failed: {}", ex.getMessage());
-        
         String errorMessage = "Datos inválidos. Verifique los campos del formulario.";
         
         if (ex.getBindingResult().hasFieldErrors()) {
@@ -77,12 +65,7 @@ public class GlobalExceptionHandler {
             }
         }
         
-        ErrorResponse errorResponse = new ErrorResponse()
-                .code(HttpStatus.BAD_REQUEST.value())
-                .message(errorMessage)
-                .timestamp(OffsetDateTime.now());
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return reject(HttpStatus.BAD_REQUEST, "validation", "Validation failed", errorMessage);
     }
 
     @ExceptionHandler(Exception.class)
@@ -90,6 +73,7 @@ public class GlobalExceptionHandler {
             Exception ex, WebRequest request) {
         
         log.error("Unhandled exception occurred", ex);
+        bankMetrics.rejection("unhandled");
         
         ErrorResponse errorResponse = new ErrorResponse()
                 .code(HttpStatus.INTERNAL_SERVER_ERROR.value())
@@ -98,4 +82,17 @@ public class GlobalExceptionHandler {
         
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    // Rechazos esperados: log con límite por tipo en lugar de uno por petición
+    private ResponseEntity<ErrorResponse> reject(HttpStatus status, String type, String label, String message) {
+        rejectionLog.warn(type, label, message);
+        bankMetrics.rejection(type);
+
+        ErrorResponse errorResponse = new ErrorResponse()
+                .code(status.value())
+                .message(message)
+                .timestamp(OffsetDateTime.now());
+
+        return new ResponseEntity<>(errorResponse, status);
+    }
 }
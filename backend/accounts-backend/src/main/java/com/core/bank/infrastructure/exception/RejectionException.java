@@ -0,0 +1,16 @@
+package com.core.bank.infrastructure.exception;
+
+/**
+ * Base de los rechazos esperados (regla de negocio, recurso inexistente o duplicado). No captura stack trace:
+ * el mensaje ya identifica el caso y, con muchos débitos rechazados, recorrer la pila domina el costo del rechazo.
+ */
+public abstract class RejectionException extends RuntimeException {
+
+    protected RejectionException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected RejectionException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,73 @@
+package com.core.bank.infrastructure.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Log de rechazos con límite por tipo: en cada intervalo se registran los primeros {@code limit} y después uno de
+ * cada {@code sample-rate}. Al cambiar de intervalo se resume cuántos hubo en el anterior. La cuenta exacta queda
+ * en la métrica bank.api.rejections.
+ */
+@Slf4j
+@Component
+public class RejectionLog {
+
+    private final int limit;
+    private final long windowNanos;
+    private final int sampleRate;
+    private final Map<String, AtomicReference<Window>> windows = new ConcurrentHashMap<>();
+
+    public RejectionLog(@Value("${app.rejections.log.limit:20}") int limit,
+                        @Value("${app.rejections.log.window:PT1M}") Duration window,
+                        @Value("${app.rejections.log.sample-rate:100}") int sampleRate) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void warn(String type, String label, String message) {
+        long count = record(type, System.nanoTime());
+        if (count <= limit) {
+            log.warn("{}: {}", label, message);
+        } else if ((count - limit) % sampleRate == 0) {
+            log.warn("{} (muestra 1/{}, {} en el intervalo): {}", label, sampleRate, count, message);
+        }
+    }
+
+    /**
+     * Cuenta el rechazo en el intervalo vigente del tipo y devuelve su número dentro del intervalo.
+     */
+    long record(String type, long nowNanos) {
+        AtomicReference<Window> ref = windows.computeIfAbsent(type, key -> new AtomicReference<>(new Window(nowNanos)));
+        Window window = ref.get();
+        if (nowNanos - window.start >= windowNanos) {
+            Window next = new Window(nowNanos);
+            if (ref.compareAndSet(window, next)) {
+                long previous = window.count.get();
+                if (previous > limit) {
+                    log.warn("Rechazos '{}' en el último intervalo: {} ({} sin registrar)",
+                            type, previous, previous - limit - (previous - limit) / sampleRate);
+                }
+            }
+            window = ref.get();
+        }
+        return window.count.incrementAndGet();
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private final AtomicLong count = new AtomicLong();
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.core.bank.infrastructure.exception;
 
-public class ResourceAlreadyExistsException extends RuntimeException {
+public class ResourceAlreadyExistsException extends RejectionException {
 
     public ResourceAlreadyExistsException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package com.core.bank.infrastructure.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends RejectionException {
 
     private final String resourceName;
     private final String fieldName;
@@ -0,0 +1,217 @@
+package com.core.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class BankMetrics {
+
+    public static final String DEBIT_APPROVED = "approved";
+    public static final String DEBIT_INSUFFICIENT_BALANCE = "insufficient_balance";
+    public static final String DEBIT_DAILY_LIMIT_EXCEEDED = "daily_limit_exceeded";
+    public static final String DEBIT_VELOCITY_EXCEEDED = "velocity_exceeded";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary accountNumberAttempts;
+    private final Counter accountNumberExhausted;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public BankMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.accountNumberAttempts = DistributionSummary.builder("bank.accounts.number.attempts")
+                .description("Intentos necesarios para generar un número de cuenta único")
+                .register(registry);
+        this.accountNumberExhausted = Counter.builder("bank.accounts.number.exhausted")
+                .description("Generaciones de número de cuenta que agotaron los reintentos")
+                .register(registry);
+    }
+
+    public void transactionPosted(String type) {
+        registry.counter("bank.transactions.posted", "type", type).increment();
+    }
+
+    public void transactionReversed(String type) {
+        registry.counter("bank.transactions.reversed", "type", type).increment();
+    }
+
+    public void debitValidation(String outcome) {
+        registry.counter("bank.debit.validations", "outcome", outcome).increment();
+    }
+
+    public void accountNumberGenerated(int attempts) {
+        accountNumberAttempts.record(attempts);
+    }
+
+    public void accountNumberExhausted(int attempts) {
+        accountNumberAttempts.record(attempts);
+        accountNumberExhausted.increment();
+    }
+
+    public void rejection(String type) {
+        // Camino caliente en picos de rechazos: el contador se resuelve una vez por tipo
+        rejections.computeIfAbsent(type, key -> registry.counter("bank.api.rejections", "type", key)).increment();
+    }
+
+    public void reportGenerated(String format, long startNanos, long rows) {
+        Timer.builder("bank.reports.generation")
+                .tag("format", format)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("bank.reports.rows")
+                .tag("format", format)
+                .register(registry)
+                .record(rows);
+    }
+
+    /**
+     * Como {@link #reportGenerated(String, long, long)} para formatos cuyo tamaño ya se conoce al generarlos.
+     */
+    public void reportGenerated(String format, long startNanos, long rows, long bytes) {
+        reportGenerated(format, startNanos, rows);
+        DistributionSummary.builder("bank.reports.bytes")
+                .tag("format", format)
+                .baseUnit("bytes")
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void reportCacheLookup(String format, boolean hit) {
+        registry.counter("bank.reports.cache", "format", format, "result", hit ? "hit" : "miss").increment();
+    }
+
+    public void recentMovementsLookup(boolean hit) {
+        registry.counter("bank.movements.recent", "result", hit ? "hit" : "miss").increment();
+    }
+
+    public void recentMovements(Supplier<Number> accounts, Supplier<Number> bytes) {
+        Gauge.builder("bank.movements.recent.accounts", accounts)
+                .description("Cuentas con sus últimos movimientos en memoria")
+                .register(registry);
+        Gauge.builder("bank.movements.recent.bytes", bytes)
+                .description("Memoria estimada de los últimos movimientos por cuenta")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public void outboxRelayed(int events) {
+        registry.counter("bank.outbox.relayed").increment(events);
+    }
+
+    public void interestRun(String status, long accounts, long elapsedNanos) {
+        Timer.builder("bank.interest.run")
+                .tag("status", status)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        registry.counter("bank.interest.accounts").increment(accounts);
+    }
+
+    public void statementRun(String status, long statements, long elapsedMs) {
+        Timer.builder("bank.statements.run")
+                .tag("status", status)
+                .register(registry)
+                .record(elapsedMs, TimeUnit.MILLISECONDS);
+        registry.counter("bank.statements.written").increment(statements);
+    }
+
+    public void balanceSlotsConsolidated(int accounts) {
+        registry.counter("bank.balance.consolidations").increment(accounts);
+    }
+
+    public void journalAppended(long elapsedNanos) {
+        Timer.builder("bank.journal.append")
+                .description("Registro de un movimiento en el diario hasta su fsync")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void journalSynced(long records) {
+        DistributionSummary.builder("bank.journal.sync.records")
+                .description("Movimientos cubiertos por cada fsync del diario")
+                .register(registry)
+                .record(records);
+    }
+
+    public void journalApplied(int postings, long elapsedNanos) {
+        Timer.builder("bank.journal.apply")
+                .description("Aplicación de un lote del diario en la base de datos")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        registry.counter("bank.journal.applied").increment(postings);
+    }
+
+    public void journalBacklog(Collection<?> backlog) {
+        Gauge.builder("bank.journal.backlog", backlog, Collection::size)
+                .description("Movimientos confirmados en el diario pendientes de aplicar")
+                .register(registry);
+    }
+
+    public void streamSubscribers(Collection<?> subscribers) {
+        Gauge.builder("bank.stream.subscribers", subscribers, Collection::size)
+                .description("Suscriptores conectados al stream de cuentas")
+                .register(registry);
+    }
+
+    public void streamSubscriberDropped(String reason) {
+        registry.counter("bank.stream.dropped", "reason", reason).increment();
+    }
+
+    public void uniqueKeyLookup(String key, String outcome) {
+        registry.counter("bank.unique_keys.lookups", "key", key, "outcome", outcome).increment();
+    }
+
+    public void uniqueKeyFilter(String key, Supplier<Number> falsePositiveRate) {
+        Gauge.builder("bank.unique_keys.filter.fpp", falsePositiveRate)
+                .description("Probabilidad estimada de falso positivo del filtro de claves únicas")
+                .tag("key", key)
+                .register(registry);
+    }
+
+    public void lookupEntries(String kind, Supplier<Number> entries) {
+        Gauge.builder("bank.lookup.entries", entries)
+                .description("Opciones en el índice de los selectores")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    public void sqlStatements(String endpoint, int statements, long executionNanos) {
+        DistributionSummary.builder("bank.sql.statements")
+                .description("Sentencias SQL ejecutadas por petición")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(statements);
+        Timer.builder("bank.sql.time")
+                .description("Tiempo de base de datos por petición")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(executionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tiempo con conexión JDBC por petición y peticiones que empiezan a escribir la respuesta sin haberla soltado.
+     */
+    public void connectionHeld(String endpoint, long heldNanos, boolean heldAtResponse) {
+        Timer.builder("bank.jdbc.connection.held")
+                .description("Tiempo con conexión JDBC por petición")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+        if (heldAtResponse) {
+            Counter.builder("bank.jdbc.connection.held.at.response")
+                    .description("Peticiones que serializan la respuesta con una conexión JDBC tomada")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
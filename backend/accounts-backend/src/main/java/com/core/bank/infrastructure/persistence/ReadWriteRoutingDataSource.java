@@ -0,0 +1,35 @@
+package com.core.bank.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envía las transacciones {@code readOnly} a la réplica y todo lo demás al primario. Debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} para que la conexión se elija
+ * cuando la transacción ya está marcada como de solo lectura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public static Route currentRoute() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !ReplicaRoutingContext.isPrimaryPinned() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
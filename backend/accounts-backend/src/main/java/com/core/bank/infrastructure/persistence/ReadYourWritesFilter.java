@@ -0,0 +1,74 @@
+package com.core.bank.infrastructure.persistence;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guarda de consistencia para la réplica: durante read-your-writes-ms después de una escritura, las lecturas
+ * del mismo cliente (cabecera X-Client-Id o, en su defecto, su IP) se resuelven en el primario.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.replica.read-your-writes-ms:2000}")
+    private long windowMillis;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        Long lastWrite = lastWrites.get(client);
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis) {
+            ReplicaRoutingContext.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+            if (!SAFE_METHODS.contains(request.getMethod())) {
+                // Se registra al terminar la petición, cuando la escritura ya se confirmó
+                lastWrites.put(client, System.currentTimeMillis());
+                evictExpired();
+            }
+        }
+    }
+
+    private void evictExpired() {
+        if (lastWrites.size() > MAX_TRACKED_CLIENTS) {
+            long threshold = System.currentTimeMillis() - windowMillis;
+            lastWrites.values().removeIf(lastWrite -> lastWrite < threshold);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_HEADER);
+        if (StringUtils.hasText(clientId)) {
+            return clientId;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(forwarded)) {
+            return forwarded.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
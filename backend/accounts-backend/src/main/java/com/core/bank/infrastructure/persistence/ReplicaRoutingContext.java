@@ -0,0 +1,41 @@
+package com.core.bank.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca por hilo que obliga a leer del primario aunque la transacción sea de solo lectura.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    public static void clear() {
+        PRIMARY_PINNED.remove();
+    }
+
+    /**
+     * Ejecuta una lectura que no puede ver datos atrasados en el primario y deja la marca como estaba.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPrimaryPinned()) {
+            return read.get();
+        }
+        pinToPrimary();
+        try {
+            return read.get();
+        } finally {
+            clear();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.core.bank.infrastructure.persistence;
+
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL, el tiempo de base de datos y el tiempo con conexión JDBC de cada petición a la API.
+ * Fuera del perfil prod expone los valores en las cabeceras X-Sql-Statements, X-Sql-Time-Ms y
+ * X-Sql-Connections-Open (conexiones aún tomadas al empezar a escribir la respuesta).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String CONNECTIONS_HEADER = "X-Sql-Connections-Open";
+
+    private final BankMetrics bankMetrics;
+    private final boolean exposeHeaders;
+
+    @Value("${app.sql-stats.warn-statements:20}")
+    private int warnStatements;
+
+    @Value("${app.sql-stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    public SqlStatementBudgetFilter(BankMetrics bankMetrics, Environment environment) {
+        this.bankMetrics = bankMetrics;
+        this.exposeHeaders = !environment.matchesProfiles("prod");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementContext.open();
+        // Siempre envuelta: marca cuándo empieza la respuesta aunque no se expongan las cabeceras
+        StatsHeaderResponse wrapped = new StatsHeaderResponse(response, stats, exposeHeaders);
+        try {
+            filterChain.doFilter(request, wrapped);
+            wrapped.writeHeaders();
+        } finally {
+            SqlStatementContext.close();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+        bankMetrics.sqlStatements(endpoint, stats.getStatements(), stats.getExecutionNanos());
+        bankMetrics.connectionHeld(endpoint, stats.getConnectionNanos(), stats.getOpenConnectionsAtResponse() > 0);
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("Posible N+1 en {}: la misma sentencia se ejecutó {} veces ({} en total, {} ms): {}",
+                    endpoint, repeated.getValue(), stats.getStatements(), stats.getExecutionMillis(), repeated.getKey());
+        } else if (stats.getStatements() > warnStatements) {
+            log.warn("{} ejecutó {} sentencias SQL ({} ms)", endpoint, stats.getStatements(), stats.getExecutionMillis());
+        } else {
+            log.debug("{} ejecutó {} sentencias SQL ({} ms)", endpoint, stats.getStatements(), stats.getExecutionMillis());
+        }
+    }
+
+    /**
+     * Escribe las cabeceras justo antes de que se envíe el cuerpo, sin almacenar la respuesta en memoria.
+     * Es el punto en que empieza la serialización: ahí se miran las conexiones que siguen tomadas.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private final boolean exposeHeaders;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats, boolean exposeHeaders) {
+            super(response);
+            this.stats = stats;
+            this.exposeHeaders = exposeHeaders;
+        }
+
+        void writeHeaders() {
+            if (headersWritten) {
+                return;
+            }
+            headersWritten = true;
+            stats.responseStarted();
+            if (!exposeHeaders || isCommitted()) {
+                return;
+            }
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(stats.getExecutionMillis()));
+            setHeader(CONNECTIONS_HEADER, String.valueOf(stats.getOpenConnectionsAtResponse()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
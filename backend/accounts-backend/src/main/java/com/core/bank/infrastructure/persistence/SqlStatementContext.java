@@ -0,0 +1,26 @@
+package com.core.bank.infrastructure.persistence;
+
+/**
+ * Ámbito por hilo en el que se acumulan las sentencias SQL que emite Hibernate.
+ */
+public final class SqlStatementContext {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementContext() {
+    }
+
+    public static SqlStatementStats open() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+}
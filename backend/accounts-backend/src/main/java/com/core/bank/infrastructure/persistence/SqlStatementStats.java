@@ -0,0 +1,103 @@
+package com.core.bank.infrastructure.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estadísticas de las sentencias SQL emitidas dentro de un ámbito (normalmente una petición HTTP).
+ */
+public class SqlStatementStats {
+
+    private int statements;
+    private long executionNanos;
+    private long executionStart;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int openConnections;
+    private long connectionStart;
+    private long connectionNanos;
+    private int openAtResponse = -1;
+
+    void statementPrepared(String sql) {
+        statements++;
+        shapes.merge(sql, 1, Integer::sum);
+    }
+
+    void executionStarted() {
+        executionStart = System.nanoTime();
+    }
+
+    void executionEnded() {
+        if (executionStart != 0) {
+            executionNanos += System.nanoTime() - executionStart;
+            executionStart = 0;
+        }
+    }
+
+    void connectionAcquired() {
+        if (openConnections++ == 0) {
+            connectionStart = System.nanoTime();
+        }
+    }
+
+    void connectionReleased() {
+        if (openConnections > 0 && --openConnections == 0) {
+            connectionNanos += System.nanoTime() - connectionStart;
+        }
+    }
+
+    /**
+     * Marca el inicio de la escritura de la respuesta; se queda con las conexiones abiertas en ese momento.
+     */
+    public void responseStarted() {
+        if (openAtResponse < 0) {
+            openAtResponse = openConnections;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public long getExecutionMillis() {
+        return executionNanos / 1_000_000;
+    }
+
+    /**
+     * Tiempo con al menos una conexión JDBC de Hibernate tomada; si sigue abierta, cuenta hasta ahora.
+     */
+    public long getConnectionNanos() {
+        return openConnections > 0 ? connectionNanos + System.nanoTime() - connectionStart : connectionNanos;
+    }
+
+    public long getConnectionMillis() {
+        return getConnectionNanos() / 1_000_000;
+    }
+
+    /**
+     * Conexiones abiertas al empezar a escribir la respuesta (0 si no se llegó a escribir).
+     */
+    public int getOpenConnectionsAtResponse() {
+        return Math.max(openAtResponse, 0);
+    }
+
+    /**
+     * Texto de cada sentencia distinta emitida en el ámbito.
+     */
+    public Set<String> getShapes() {
+        return Set.copyOf(shapes.keySet());
+    }
+
+    /**
+     * Sentencia que más se repite en el ámbito; una misma forma repetida muchas veces indica un N+1.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
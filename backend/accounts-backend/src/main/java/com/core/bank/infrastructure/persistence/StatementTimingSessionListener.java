@@ -0,0 +1,52 @@
+package com.core.bank.infrastructure.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Acumula el tiempo de ejecución JDBC y el tiempo con conexión de cada sesión de Hibernate en el ámbito SQL
+ * del hilo actual.
+ */
+public class StatementTimingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlStatementStats stats = SqlStatementContext.current();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats stats = SqlStatementContext.current();
+        if (stats != null) {
+            stats.executionEnded();
+        }
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        SqlStatementStats stats = SqlStatementContext.current();
+        if (stats != null) {
+            stats.connectionAcquired();
+        }
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        SqlStatementStats stats = SqlStatementContext.current();
+        if (stats != null) {
+            stats.connectionReleased();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,53 @@
+-- Esquema inicial: el mismo que creaba entregables/BaseDatos.sql. Las bases creadas con ese script se
+-- registran en esta versión (spring.flyway.baseline-on-migrate) y solo aplican las siguientes.
+
+CREATE TABLE personas (
+    id VARCHAR(36) PRIMARY KEY,
+    tipo_persona VARCHAR(31) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    gender VARCHAR(20) NOT NULL,
+    age INT NOT NULL,
+    identification VARCHAR(50) NOT NULL UNIQUE,
+    address VARCHAR(200) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    password VARCHAR(100),
+    status BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_identification (identification),
+    INDEX idx_tipo_persona (tipo_persona)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE cuentas (
+    id VARCHAR(36) PRIMARY KEY,
+    account_number VARCHAR(20) NOT NULL UNIQUE,
+    account_type VARCHAR(20) NOT NULL,
+    initial_balance DECIMAL(19, 2) NOT NULL,
+    current_balance DECIMAL(19, 2) NOT NULL,
+    status BOOLEAN DEFAULT TRUE,
+    cliente_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (cliente_id) REFERENCES personas(id) ON DELETE CASCADE,
+    INDEX idx_account_number (account_number),
+    INDEX idx_cliente_id (cliente_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE movimientos (
+    id VARCHAR(36) PRIMARY KEY,
+    date TIMESTAMP NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    cuenta_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (cuenta_id) REFERENCES cuentas(id) ON DELETE CASCADE,
+    INDEX idx_cuenta_id (cuenta_id),
+    INDEX idx_fecha ( date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_personas_name ON personas(name);
+CREATE INDEX idx_personas_status ON personas(status);
+CREATE INDEX idx_cuentas_status ON cuentas(status);
+CREATE INDEX idx_movimientos_cuenta_fecha ON movimientos(cuenta_id, date);
@@ -0,0 +1,77 @@
+-- Tablas y columnas agregadas sobre el esquema inicial; sus índices secundarios están en V3.
+
+-- Saldo repartido en slots para cuentas con muchos créditos (0 = saldo único)
+ALTER TABLE cuentas
+    ADD COLUMN balance_slots INT NOT NULL DEFAULT 0;
+
+CREATE TABLE movimientos_archivo (
+    id VARCHAR(36) PRIMARY KEY,
+    date TIMESTAMP NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    cuenta_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (cuenta_id) REFERENCES cuentas(id) ON DELETE CASCADE
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE movimientos_archivo_corte (
+    id INT PRIMARY KEY,
+    archived_before TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE outbox_eventos (
+    id VARCHAR(36) PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    feed_offset BIGINT NULL,
+    published_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE outbox_relay (
+    id INT PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO outbox_relay (id, last_offset) VALUES (1, 0);
+
+CREATE TABLE diario_movimientos (
+    id INT PRIMARY KEY,
+    applied_offset BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO diario_movimientos (id, applied_offset) VALUES (1, 0);
+
+CREATE TABLE cuentas_saldo_slots (
+    id VARCHAR(36) PRIMARY KEY,
+    cuenta_id VARCHAR(36) NOT NULL,
+    slot INT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    FOREIGN KEY (cuenta_id) REFERENCES cuentas(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE intereses_devengados (
+    id VARCHAR(36) PRIMARY KEY,
+    cuenta_id VARCHAR(36) NOT NULL,
+    periodo VARCHAR(7) NOT NULL,
+    movimiento_id VARCHAR(36) NOT NULL,
+    average_balance DECIMAL(19, 2) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE intereses_corridas (
+    periodo VARCHAR(7) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_account_id VARCHAR(36) NULL,
+    credits_posted BIGINT NOT NULL,
+    total_interest DECIMAL(19, 2) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,44 @@
+-- Índices compuestos para las consultas frecuentes; HotQueryPlanTest revisa con EXPLAIN que cada una los use.
+-- Se eliminan los índices de una columna que quedan cubiertos por el prefijo de uno nuevo.
+
+-- Índices de las tablas agregadas en V2
+ALTER TABLE movimientos_archivo
+    ADD INDEX idx_archivo_cuenta_fecha (cuenta_id, date),
+    ADD INDEX idx_archivo_fecha (date);
+
+-- Un solo evento por offset del feed; el relay busca los pendientes por antigüedad
+ALTER TABLE outbox_eventos
+    ADD UNIQUE INDEX idx_outbox_offset (feed_offset),
+    ADD INDEX idx_outbox_pendientes (published_at, created_at);
+
+ALTER TABLE cuentas_saldo_slots
+    ADD UNIQUE INDEX uk_slot_cuenta (cuenta_id, slot);
+
+-- Un solo abono de interés por cuenta y periodo
+ALTER TABLE intereses_devengados
+    ADD UNIQUE INDEX uk_interes_cuenta_periodo (cuenta_id, periodo);
+
+-- sumDebitsForDay (cupo diario): se resuelve solo con el índice, sin leer filas
+-- findDebitsSince (reglas de velocidad): débitos desde una fecha con cuenta y monto en el índice
+-- idx_movimientos_cuenta_fecha (V1) sirve al listado por cuenta y a la FK
+ALTER TABLE movimientos
+    ADD INDEX idx_movimientos_cuenta_tipo_fecha (cuenta_id, transaction_type, date, amount),
+    ADD INDEX idx_movimientos_tipo_fecha (transaction_type, date, cuenta_id, amount),
+    DROP INDEX idx_cuenta_id;
+
+-- Listado de cuentas (por cliente o completo) en orden de creación descendente, sin ordenar en memoria
+-- Recorrido de cuentas AHORRO activas por id (intereses)
+ALTER TABLE cuentas
+    ADD INDEX idx_cuentas_cliente_creacion (cliente_id, created_at DESC),
+    ADD INDEX idx_cuentas_creacion (created_at DESC),
+    ADD INDEX idx_cuentas_tipo_estado (account_type, status, id),
+    DROP INDEX idx_cliente_id,
+    DROP INDEX idx_cuentas_status;
+
+-- Listado de clientes en orden de creación descendente
+-- Recorrido de clientes activos por id (estados de cuenta masivos)
+ALTER TABLE personas
+    ADD INDEX idx_personas_tipo_creacion (tipo_persona, created_at DESC),
+    ADD INDEX idx_personas_tipo_estado (tipo_persona, status, id),
+    DROP INDEX idx_tipo_persona,
+    DROP INDEX idx_personas_status;
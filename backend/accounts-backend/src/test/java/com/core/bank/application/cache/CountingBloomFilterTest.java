@@ -0,0 +1,92 @@
+package com.core.bank.application.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingBloomFilterTest {
+
+    private static final int KEYS = 50_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    @DisplayName("Nunca descarta un valor añadido y los falsos positivos quedan cerca de la tasa configurada")
+    void testNoFalseNegativesAndBoundedFalsePositives() {
+        CountingBloomFilter filter = new CountingBloomFilter(KEYS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.add(identification(i));
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain(identification(i)));
+        }
+        int falsePositives = 0;
+        for (int i = KEYS; i < 2 * KEYS; i++) {
+            if (filter.mightContain(identification(i))) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / KEYS;
+        assertTrue(measured < FALSE_POSITIVE_RATE * 1.5, "Tasa medida: " + measured);
+        assertTrue(filter.estimatedFalsePositiveRate() < FALSE_POSITIVE_RATE * 1.5,
+                "Tasa estimada: " + filter.estimatedFalsePositiveRate());
+        assertEquals(KEYS, filter.keys());
+    }
+
+    @Test
+    @DisplayName("Quitar un valor lo descarta sin afectar a los demás")
+    void testRemoveKeepsOtherKeys() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(identification(i));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            filter.remove(identification(i));
+        }
+
+        for (int i = 500; i < 1_000; i++) {
+            assertTrue(filter.mightContain(identification(i)));
+        }
+        long stillPresent = IntStream.range(0, 500)
+                .filter(i -> filter.mightContain(identification(i))).count();
+        assertTrue(stillPresent < 25, "Quitados que siguen presentes: " + stillPresent);
+        assertEquals(500, filter.keys());
+    }
+
+    @Test
+    @DisplayName("Quitar un valor nunca añadido no deja fuera a los existentes")
+    void testRemoveUnknownKeyIsIgnored() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, FALSE_POSITIVE_RATE);
+        filter.add("1000000001");
+
+        filter.remove("9999999999");
+
+        assertTrue(filter.mightContain("1000000001"));
+        assertFalse(filter.mightContain("9999999999"));
+    }
+
+    @Test
+    @DisplayName("Un contador saturado no baja: el valor repetido sigue presente")
+    void testSaturatedCountersAreNotDecremented() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < 300; i++) {
+            filter.add("1000000001");
+        }
+
+        for (int i = 0; i < 299; i++) {
+            filter.remove("1000000001");
+        }
+
+        assertTrue(filter.mightContain("1000000001"));
+    }
+
+    private static String identification(int i) {
+        return String.format("%010d", 1_000_000_000L + i);
+    }
+}
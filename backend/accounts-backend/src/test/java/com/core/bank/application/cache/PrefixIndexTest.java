@@ -0,0 +1,86 @@
+package com.core.bank.application.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put("1", "José Lema (1712345678)", List.of("José", "Lema", "1712345678"));
+        index.put("2", "Marianela Montalvo (0912345678)", List.of("Marianela", "Montalvo", "0912345678"));
+        index.put("3", "Juan Osorio (1798765432)", List.of("Juan", "Osorio", "1798765432"));
+    }
+
+    @Test
+    @DisplayName("Busca por prefijo de cualquier palabra del nombre o de la identificación")
+    void testPrefixOfAnyTerm() {
+        assertEquals(List.of("2"), ids(index.find("mont", 10)));
+        assertEquals(List.of("3"), ids(index.find("oso", 10)));
+        assertEquals(List.of("1", "3"), ids(index.find("17", 10)));
+    }
+
+    @Test
+    @DisplayName("No distingue mayúsculas ni tildes")
+    void testIgnoresCaseAndAccents() {
+        assertEquals(List.of("1"), ids(index.find("JOSE", 10)));
+        assertEquals(List.of("3"), ids(index.find("juán", 10)));
+    }
+
+    @Test
+    @DisplayName("Una opción que coincide por varios términos sale una sola vez")
+    void testDeduplicatesById() {
+        index.put("4", "Mar Marín (0100000000)", List.of("Mar", "Marín", "0100000000"));
+
+        assertEquals(List.of("4", "2"), ids(index.find("mar", 10)));
+    }
+
+    @Test
+    @DisplayName("Respeta el límite")
+    void testLimit() {
+        assertEquals(1, index.find("1", 1).size());
+        assertEquals(1, index.find("", 1).size());
+    }
+
+    @Test
+    @DisplayName("Sin prefijo devuelve las primeras por etiqueta")
+    void testEmptyPrefixOrdersByLabel() {
+        assertEquals(List.of("1", "3", "2"), ids(index.find("", 10)));
+        assertEquals(List.of("1", "3", "2"), ids(index.find(null, 10)));
+    }
+
+    @Test
+    @DisplayName("Actualizar reemplaza los términos y la etiqueta anteriores")
+    void testPutReplacesPreviousTerms() {
+        index.put("1", "José Larrea (1712345678)", List.of("José", "Larrea", "1712345678"));
+
+        assertTrue(index.find("lema", 10).isEmpty());
+        assertEquals(List.of("José Larrea (1712345678)"),
+                index.find("larr", 10).stream().map(LookupIndex.Option::label).toList());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Eliminar quita todos sus términos")
+    void testRemove() {
+        index.remove("2");
+
+        assertTrue(index.find("marianela", 10).isEmpty());
+        assertTrue(index.find("09", 10).isEmpty());
+        assertEquals(List.of("1", "3"), ids(index.find("", 10)));
+        assertEquals(2, index.size());
+    }
+
+    private static List<String> ids(List<LookupIndex.Option> options) {
+        return options.stream().map(LookupIndex.Option::id).toList();
+    }
+}
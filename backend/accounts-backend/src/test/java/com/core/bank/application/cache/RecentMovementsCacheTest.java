@@ -0,0 +1,243 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.domain.repository.TransactionRow;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.infrastructure.persistence.ReplicaRoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class RecentMovementsCacheTest {
+
+    private static final String ACCOUNT = "cuenta-1";
+    private static final int PER_ACCOUNT = 5;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Mock
+    private BankMetrics bankMetrics;
+
+    private MutableClock clock;
+    private RecentMovementsCache cache;
+    private List<TransactionRow> stored;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-15T12:00:00Z"));
+        cache = new RecentMovementsCache(bankMetrics, PER_ACCOUNT, 100, Duration.ofMinutes(1), true, clock);
+        stored = new ArrayList<>();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("La primera página y el total salen de memoria después de la primera carga")
+    void testFirstPageServedFromMemory() {
+        store(8);
+
+        assertEquals(ids(7, 6, 5), ids(page(0, 3)));
+        assertEquals(ids(7, 6, 5), ids(page(0, 3)));
+        assertEquals(8, total());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Un movimiento confirmado entra primero y suma al total sin recargar")
+    void testAddedMovementIsFirst() {
+        store(3);
+        page(0, 3);
+
+        cache.added(row(3));
+
+        assertEquals(ids(3, 2, 1, 0), ids(page(0, 4)));
+        assertEquals(4, total());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Con el anillo lleno sale el más antiguo")
+    void testFullRingDropsOldest() {
+        store(5);
+        page(0, 5);
+
+        cache.added(row(5));
+
+        assertEquals(ids(5, 4, 3, 2, 1), ids(page(0, 5)));
+        assertEquals(6, total());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Un movimiento con fecha anterior se ordena por fecha")
+    void testOlderMovementIsInsertedByDate() {
+        store(3);
+        page(0, 3);
+
+        cache.added(new TransactionRow(id(9), START.plusSeconds(30), "Retiro", "DEBITO",
+                new BigDecimal("10.00"), new BigDecimal("90.00"), ACCOUNT));
+
+        assertEquals(List.of(id(2), id(1), id(9), id(0)), ids(page(0, 4)));
+    }
+
+    @Test
+    @DisplayName("Anular un movimiento lo quita; si faltan filas para la página se vuelve a cargar")
+    void testRemovedMovementShrinksWindow() {
+        store(8);
+        page(0, 5);
+
+        cache.removed(ACCOUNT, id(6));
+        stored.remove(6);
+
+        assertEquals(ids(7, 5, 4, 3), ids(page(0, 4)));
+        assertEquals(7, total());
+        assertEquals(1, loads.get());
+
+        assertEquals(ids(7, 5, 4, 3, 2), ids(page(0, 5)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Una página fuera de lo que se guarda por cuenta va a la base")
+    void testPageBeyondCapacityIsNotCached() {
+        store(8);
+
+        assertTrue(cache.page(ACCOUNT, 3, 5, this::load).isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @DisplayName("Un cambio confirmado durante la carga deja lo cargado sin guardar")
+    void testChangeDuringLoadIsNotCached() {
+        store(3);
+
+        cache.page(ACCOUNT, 0, 3, limit -> {
+            RecentMovementsCache.Snapshot snapshot = load(limit);
+            cache.added(row(3));
+            return snapshot;
+        });
+        stored.add(row(3));
+
+        assertEquals(ids(3, 2, 1), ids(page(0, 3)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Pasado el TTL la cuenta se vuelve a cargar")
+    void testExpiredAccountIsReloaded() {
+        store(3);
+        page(0, 3);
+
+        clock.advance(Duration.ofMinutes(2));
+        page(0, 3);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("La carga se lee del primario y deja la marca del hilo como estaba")
+    void testLoadsFromPrimary() {
+        store(3);
+        List<Boolean> pinned = new ArrayList<>();
+
+        cache.page(ACCOUNT, 0, 3, limit -> {
+            pinned.add(ReplicaRoutingContext.isPrimaryPinned());
+            return load(limit);
+        });
+
+        assertEquals(List.of(true), pinned);
+        assertFalse(ReplicaRoutingContext.isPrimaryPinned());
+    }
+
+    private List<TransactionRow> page(int offset, int limit) {
+        return cache.page(ACCOUNT, offset, limit, this::load).orElseThrow();
+    }
+
+    private long total() {
+        return cache.total(ACCOUNT, this::load).orElseThrow();
+    }
+
+    private RecentMovementsCache.Snapshot load(int limit) {
+        loads.incrementAndGet();
+        List<TransactionRow> newest = stored.stream()
+                .sorted(Comparator.comparing(TransactionRow::date).reversed())
+                .limit(limit)
+                .toList();
+        return new RecentMovementsCache.Snapshot(newest, stored.size());
+    }
+
+    private void store(int count) {
+        for (int i = 0; i < count; i++) {
+            stored.add(row(i));
+        }
+    }
+
+    private static TransactionRow row(int i) {
+        return new TransactionRow(id(i), START.plusMinutes(i), "Depósito " + i, "CREDITO",
+                new BigDecimal("100.00"), BigDecimal.valueOf(100L * (i + 1)).setScale(2), ACCOUNT);
+    }
+
+    private static String id(int i) {
+        return new UUID(0, i).toString();
+    }
+
+    private static List<String> ids(int... indexes) {
+        List<String> ids = new ArrayList<>();
+        for (int i : indexes) {
+            ids.add(id(i));
+        }
+        return ids;
+    }
+
+    private static List<String> ids(List<TransactionRow> rows) {
+        return rows.stream().map(TransactionRow::id).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
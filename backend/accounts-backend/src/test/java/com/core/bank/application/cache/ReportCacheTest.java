@@ -0,0 +1,144 @@
+package com.core.bank.application.cache;
+
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCacheTest {
+
+    private static final String CUSTOMER = "cliente-1";
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private BankMetrics bankMetrics;
+
+    private ReportCache reportCache;
+    private AtomicInteger generations;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-15T12:00:00Z"));
+        reportCache = new ReportCache(bankMetrics, 100, Duration.ofHours(24), Duration.ofMinutes(10), true, clock);
+        generations = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Reutiliza el resultado para la misma clave")
+    void testSameKeyIsGeneratedOnce() {
+        get(TODAY.minusDays(10), TODAY, "json");
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    @DisplayName("Un movimiento de hoy invalida los rangos que incluyen hoy")
+    void testTodayMovementInvalidatesOpenRange() {
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        reportCache.movementChanged(CUSTOMER, TODAY.atTime(9, 0));
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    @DisplayName("Un movimiento de hoy no invalida rangos cerrados")
+    void testTodayMovementKeepsClosedRange() {
+        get(TODAY.minusDays(30), TODAY.minusDays(1), "json");
+
+        reportCache.movementChanged(CUSTOMER, TODAY.atTime(9, 0));
+        get(TODAY.minusDays(30), TODAY.minusDays(1), "json");
+
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    @DisplayName("Eliminar un movimiento pasado invalida los rangos cerrados")
+    void testPastMovementInvalidatesClosedRange() {
+        get(TODAY.minusDays(30), TODAY.minusDays(1), "json");
+
+        reportCache.movementChanged(CUSTOMER, TODAY.minusDays(5).atStartOfDay());
+        get(TODAY.minusDays(30), TODAY.minusDays(1), "json");
+
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    @DisplayName("Los cambios de otro cliente no afectan la caché")
+    void testOtherCustomerDoesNotInvalidate() {
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        reportCache.movementChanged("cliente-2", TODAY.atTime(9, 0));
+        reportCache.customerChanged("cliente-2");
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    @DisplayName("Cada formato tiene su propia entrada")
+    void testFormatsAreCachedSeparately() {
+        get(TODAY.minusDays(10), TODAY, "json");
+        get(TODAY.minusDays(10), TODAY, "pdf");
+
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    @DisplayName("Un rango guardado como vivo antes de medianoche no se sirve como cerrado al día siguiente")
+    void testLiveEntryIsNotServedAsClosedAfterMidnight() {
+        clock.instant = Instant.parse("2025-06-15T23:55:00Z");
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        reportCache.movementChanged(CUSTOMER, TODAY.atTime(23, 58));
+        clock.instant = Instant.parse("2025-06-16T00:05:00Z");
+        get(TODAY.minusDays(10), TODAY, "json");
+
+        assertEquals(2, generations.get());
+    }
+
+    private String get(LocalDate from, LocalDate to, String format) {
+        return reportCache.get(CUSTOMER, from, to, format, () -> "reporte-" + generations.incrementAndGet());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.core.bank.application.journal;
+
+import com.core.bank.application.service.AccountService;
+import com.core.bank.application.service.CustomerService;
+import com.core.bank.application.service.DebitValidationService;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.persistence.ReadWriteRoutingDataSource;
+import com.core.bank.infrastructure.persistence.ReplicaRoutingContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class PostingJournalServiceTest {
+
+    private static final int SEGMENT_SIZE = 1024 * 1024;
+    private static final Path JOURNAL_DIR = createJournalDir();
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.journal.enabled", () -> "true");
+        registry.add("app.journal.dir", JOURNAL_DIR::toString);
+        registry.add("app.journal.segment-size", () -> SEGMENT_SIZE + "B");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostingJournalService postingJournalService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @MockitoSpyBean
+    private DebitValidationService debitValidationService;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Diario Test");
+        customer.setGender("MASCULINO");
+        customer.setAge(41);
+        customer.setIdentification("7" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Cuenca");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        Customer owner = new Customer();
+        owner.setId(customerService.create(customer).getId());
+
+        Account account = new Account();
+        account.setAccountType("CORRIENTE");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        accountId = accountService.create(account).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitApplied();
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Los movimientos confirmados en el diario se aplican a movimientos, saldo y outbox")
+    void testPostingsAreApplied() throws InterruptedException {
+        Transaction credit = postingJournalService.post(movement("CREDITO", "50.00"));
+        postingJournalService.post(movement("DEBITO", "30.00"));
+
+        assertEquals(new BigDecimal("150.00"), credit.getBalance().setScale(2, RoundingMode.UNNECESSARY));
+        awaitApplied();
+
+        assertEquals(new BigDecimal("120.00"), currentBalance());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE cuenta_id = ?", Integer.class, accountId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE id = ?", Integer.class, credit.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_eventos WHERE aggregate_type = 'MOVIMIENTO'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Los débitos se validan con lo pendiente de aplicar")
+    void testDebitSeesUnappliedPostings() {
+        postingJournalService.post(movement("CREDITO", "50.00"));
+
+        Transaction debit = postingJournalService.post(movement("DEBITO", "140.00"));
+
+        assertEquals(new BigDecimal("10.00"), debit.getBalance().setScale(2, RoundingMode.UNNECESSARY));
+        assertThrows(BusinessRuleException.class, () -> postingJournalService.post(movement("DEBITO", "20.00")));
+    }
+
+    @Test
+    @DisplayName("El saldo con que se valida un débito se lee del primario aunque la transacción sea de solo lectura")
+    void testDebitBalanceIsReadFromPrimary() {
+        List<ReadWriteRoutingDataSource.Route> routes = new ArrayList<>();
+        doAnswer(invocation -> {
+            routes.add(ReadWriteRoutingDataSource.currentRoute());
+            return invocation.callRealMethod();
+        }).when(debitValidationService).validate(any(Account.class), any(BigDecimal.class), any(BigDecimal.class));
+
+        postingJournalService.post(movement("DEBITO", "30.00"));
+
+        assertEquals(List.of(ReadWriteRoutingDataSource.Route.PRIMARY), routes);
+        assertFalse(ReplicaRoutingContext.isPrimaryPinned());
+    }
+
+    @Test
+    @DisplayName("Al arrancar se aplica lo que quedó en el diario sin aplicar")
+    void testReplaysUnappliedOnStart() throws Exception {
+        postingJournalService.post(movement("CREDITO", "10.00"));
+        awaitApplied();
+        postingJournalService.stop();
+
+        long applied = jdbcTemplate.queryForObject("SELECT applied_offset FROM diario_movimientos", Long.class);
+        JournalPosting lost = new JournalPosting(UUID.randomUUID().toString(), accountId, "CREDITO",
+                new BigDecimal("30.00"), new BigDecimal("140.00"), LocalDateTime.now(), "Sin aplicar");
+        try (PostingJournal journal = PostingJournal.open(JOURNAL_DIR, SEGMENT_SIZE, applied)) {
+            journal.sync(journal.append(lost.encode()));
+        }
+
+        postingJournalService.start();
+        awaitApplied();
+
+        assertEquals(new BigDecimal("140.00"), currentBalance());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE id = ?", Integer.class, lost.id()));
+    }
+
+    private void awaitApplied() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (postingJournalService.hasPending(accountId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(postingJournalService.hasPending(accountId));
+    }
+
+    private Transaction movement(String type, String amount) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("Diario " + type);
+        return transaction;
+    }
+
+    private BigDecimal currentBalance() {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM cuentas WHERE id = ?", BigDecimal.class, accountId)
+                .setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static Path createJournalDir() {
+        try {
+            return Files.createTempDirectory("diario-movimientos");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
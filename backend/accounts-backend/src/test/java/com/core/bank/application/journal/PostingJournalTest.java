@@ -0,0 +1,144 @@
+package com.core.bank.application.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Los registros se leen en orden después de reabrir el diario")
+    void testAppendAndReadAfterReopen() throws IOException {
+        long first;
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            first = journal.append(bytes("uno"));
+            journal.sync(journal.append(bytes("dos")));
+        }
+
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            List<PostingJournal.Entry> entries = journal.read(0);
+            assertEquals(2, entries.size());
+            assertArrayEquals(bytes("uno"), entries.get(0).payload());
+            assertEquals(first, entries.get(1).offset());
+            assertEquals(1, journal.read(first).size());
+            assertEquals(entries.get(1).next(), journal.writeOffset());
+        }
+    }
+
+    @Test
+    @DisplayName("Un registro final con CRC inválido se descarta y se sobrescribe")
+    void testTornTailIsDiscarded() throws IOException {
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            long first = journal.append(bytes("completo"));
+            journal.sync(journal.append(bytes("cortado")));
+            // Escritura cortada: se pierde un byte del payload del segundo registro
+            corrupt(segment(), (int) first + PostingJournal.HEADER_BYTES);
+        }
+
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            assertEquals(1, journal.read(0).size());
+            journal.sync(journal.append(bytes("nuevo")));
+        }
+
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            List<PostingJournal.Entry> entries = journal.read(0);
+            assertEquals(2, entries.size());
+            assertArrayEquals(bytes("nuevo"), entries.get(1).payload());
+        }
+    }
+
+    @Test
+    @DisplayName("Al llenarse un segmento se continúa en otro y los aplicados se borran")
+    void testRollsSegmentsAndReleasesApplied() throws IOException {
+        byte[] payload = new byte[1000];
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 0)) {
+            long last = 0;
+            for (int i = 0; i < 10; i++) {
+                last = journal.append(payload);
+            }
+            journal.sync(last);
+            assertTrue(segments() >= 3);
+            assertEquals(10, journal.read(0).size());
+
+            journal.release(last);
+            assertEquals(1, segments());
+            assertEquals(2, journal.read(0).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Sin segmentos el diario empieza en el offset aplicado")
+    void testStartsAtAppliedOffset() throws IOException {
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE, 10_000)) {
+            long next = journal.append(bytes("uno"));
+            assertEquals(10_000 + PostingJournal.HEADER_BYTES + 3, next);
+        }
+    }
+
+    @Test
+    @DisplayName("Los fsync se comparten entre hilos concurrentes")
+    void testConcurrentSyncs() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (PostingJournal journal = PostingJournal.open(dir, SEGMENT_SIZE * 16, 0)) {
+            List<Future<Long>> forced = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                forced.add(executor.submit(() -> journal.sync(journal.append(bytes("movimiento")))));
+            }
+            long total = 0;
+            for (Future<Long> future : forced) {
+                total += future.get();
+            }
+            assertEquals(400, total);
+            assertEquals(journal.writeOffset(), journal.durableOffset());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().findFirst().orElseThrow();
+        }
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static void corrupt(Path file, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer current = ByteBuffer.allocate(1);
+            channel.read(current, position);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~current.get(0)}), position);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.core.bank.application.risk;
+
+import com.core.bank.domain.repository.RecentDebit;
+import com.core.bank.domain.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VelocityEngineTest {
+
+    private static final String ACCOUNT = "cuenta-1";
+    private static final BigDecimal TEN = new BigDecimal("10.00");
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private MutableClock clock;
+    private VelocityEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-15T12:00:00Z"));
+        engine = new VelocityEngine(transactionRepository,
+                VelocityRule.parseAll("PT10M:count:3,PT1H:amount:500"), Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    @DisplayName("Rechaza el débito que supera la cantidad permitida en la ventana")
+    void testCountRule() {
+        recordNow(TEN);
+        recordNow(TEN);
+        assertTrue(engine.check(ACCOUNT, TEN).isEmpty());
+
+        recordNow(TEN);
+        assertEquals(VelocityRule.Metric.COUNT, engine.check(ACCOUNT, TEN).orElseThrow().metric());
+    }
+
+    @Test
+    @DisplayName("Los débitos salen de la ventana al avanzar el tiempo")
+    void testWindowSlides() {
+        recordNow(TEN);
+        recordNow(TEN);
+        recordNow(TEN);
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertTrue(engine.check(ACCOUNT, TEN).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Acumula montos en la ventana larga aunque la corta ya no los vea")
+    void testAmountRule() {
+        recordNow(new BigDecimal("300.00"));
+        clock.advance(Duration.ofMinutes(30));
+
+        assertTrue(engine.check(ACCOUNT, new BigDecimal("200.00")).isEmpty());
+        assertEquals(VelocityRule.Metric.AMOUNT, engine.check(ACCOUNT, new BigDecimal("200.01")).orElseThrow().metric());
+    }
+
+    @Test
+    @DisplayName("Un débito anulado deja de contar")
+    void testReverseDebit() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        recordNow(TEN);
+        recordNow(TEN);
+        recordNow(TEN);
+
+        engine.reverseDebit(ACCOUNT, now, TEN);
+
+        assertTrue(engine.check(ACCOUNT, TEN).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reconstruye las ventanas con los débitos recientes")
+    void testRebuild() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        when(transactionRepository.findDebitsSince(any(LocalDateTime.class))).thenReturn(List.of(
+                new RecentDebit(ACCOUNT, now.minusMinutes(2), TEN),
+                new RecentDebit(ACCOUNT, now.minusMinutes(1), TEN),
+                new RecentDebit(ACCOUNT, now, TEN)));
+
+        engine.rebuild();
+
+        assertTrue(engine.check(ACCOUNT, TEN).isPresent());
+        assertTrue(engine.check("cuenta-2", TEN).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Libera las cuentas sin actividad reciente")
+    void testEvictIdle() {
+        recordNow(TEN);
+        clock.advance(Duration.ofHours(2));
+
+        engine.evictIdle();
+
+        assertEquals(0, engine.trackedAccounts());
+    }
+
+    @Test
+    void testInvalidRule() {
+        assertThrows(IllegalArgumentException.class, () -> VelocityRule.parse("PT10M:count"));
+        assertThrows(IllegalArgumentException.class, () -> VelocityRule.parse("PT10M:count:0"));
+    }
+
+    private void recordNow(BigDecimal amount) {
+        engine.recordDebit(ACCOUNT, LocalDateTime.now(clock), amount);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.core.bank.application.service;
+
+import com.core.bank.application.strategy.account.AccountNumberGenerator;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountNumberConflictTest {
+
+    private static final String TAKEN = "900001";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @MockitoSpyBean
+    private AccountNumberGenerator accountNumberGenerator;
+
+    private String customerId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Numeración Test");
+        customer.setGender("FEMENINO");
+        customer.setAge(33);
+        customer.setIdentification("7" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Ambato");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        customerId = customerService.create(customer).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Un número dado de alta por otra instancia, que el filtro no conoce, se reintenta con otro")
+    void testNumberTakenByAnotherInstanceIsRetried() {
+        // Alta directa en la base, como la de otra instancia: el filtro ya cargado no la ve
+        jdbcTemplate.update("INSERT INTO cuentas (id, account_number, account_type, initial_balance, current_balance, "
+                        + "status, cliente_id, created_at, updated_at) VALUES (?, ?, 'AHORRO', 0, 0, TRUE, ?, ?, ?)",
+                UUID.randomUUID().toString(), TAKEN, customerId, LocalDateTime.now(), LocalDateTime.now());
+        doReturn(TAKEN).doCallRealMethod().when(accountNumberGenerator).generateAccountNumber();
+
+        Customer owner = new Customer();
+        owner.setId(customerId);
+        Account account = new Account();
+        account.setAccountType("CORRIENTE");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        Account created = accountService.create(account);
+
+        assertNotEquals(TAKEN, created.getAccountNumber());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cuentas WHERE cliente_id = ?", Integer.class, customerId));
+    }
+}
@@ -0,0 +1,195 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.AccountRow;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.model.dto.AccountPatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class BalanceStripingServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceStripingService balanceStripingService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Recaudación Test");
+        customer.setGender("FEMENINO");
+        customer.setAge(35);
+        customer.setIdentification("6" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        Customer owner = new Customer();
+        owner.setId(customerService.create(customer).getId());
+
+        Account account = new Account();
+        account.setAccountType("CORRIENTE");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        accountId = accountService.create(account).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cuentas_saldo_slots");
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Los créditos van a los slots, el saldo disponible los incluye y la consolidación los pasa a current_balance")
+    void testCreditsGoToSlotsAndConsolidate() {
+        accountService.changeBalanceSlots(accountId, 4);
+
+        for (int i = 0; i < 10; i++) {
+            transactionService.create(movement("CREDITO", "10.00"));
+        }
+
+        assertEquals(new BigDecimal("100.00"), currentBalance());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cuentas_saldo_slots WHERE cuenta_id = ?", Integer.class, accountId));
+        assertEquals(new BigDecimal("200.00"), accountService.getById(accountId).getAvailableBalance());
+        AccountRow row = accountService.findAccounts(null, 0, 100, null).stream()
+                .filter(candidate -> candidate.id().equals(accountId)).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("200.00"), row.currentBalance().setScale(2, RoundingMode.UNNECESSARY));
+
+        balanceStripingService.consolidateAll();
+
+        assertEquals(new BigDecimal("200.00"), currentBalance());
+        assertEquals(new BigDecimal("0.00"), pendingCredits());
+    }
+
+    @Test
+    @DisplayName("Un débito se valida contra el saldo consolidado más los slots")
+    void testDebitSeesPendingCredits() {
+        accountService.changeBalanceSlots(accountId, 2);
+        transactionService.create(movement("CREDITO", "50.00"));
+
+        Transaction debit = transactionService.create(movement("DEBITO", "140.00"));
+
+        assertEquals(new BigDecimal("10.00"), debit.getBalance().setScale(2, RoundingMode.UNNECESSARY));
+        assertThrows(BusinessRuleException.class, () -> transactionService.create(movement("DEBITO", "20.00")));
+    }
+
+    @Test
+    @DisplayName("Desactivar el modo consolida lo pendiente y retira los slots")
+    void testDisableConsolidates() {
+        accountService.changeBalanceSlots(accountId, 3);
+        transactionService.create(movement("CREDITO", "25.00"));
+
+        accountService.changeBalanceSlots(accountId, 0);
+
+        assertEquals(new BigDecimal("125.00"), currentBalance());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cuentas_saldo_slots WHERE cuenta_id = ?", Integer.class, accountId));
+        assertThrows(BusinessRuleException.class, () -> accountService.changeBalanceSlots(accountId, 1000));
+    }
+
+    @Test
+    @DisplayName("Un PATCH con balanceSlots inválido no aplica los demás campos y uno válido emite un solo evento")
+    void testPatchIsAtomic() {
+        assertThrows(BusinessRuleException.class,
+                () -> accountService.patch(accountId, new AccountPatch().status(false).balanceSlots(1000)));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT status FROM cuentas WHERE id = ?", Boolean.class, accountId));
+
+        long events = updateEvents();
+        accountService.patch(accountId, new AccountPatch().status(false).balanceSlots(2));
+
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject(
+                "SELECT status FROM cuentas WHERE id = ?", Boolean.class, accountId));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cuentas_saldo_slots WHERE cuenta_id = ?", Integer.class, accountId));
+        assertEquals(events + 1, updateEvents());
+    }
+
+    @Test
+    @DisplayName("Créditos concurrentes sobre la misma cuenta no pierden montos")
+    void testConcurrentCreditsAreNotLost() throws Exception {
+        accountService.changeBalanceSlots(accountId, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Transaction>> credits = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                credits.add(executor.submit(() -> transactionService.create(movement("CREDITO", "1.00"))));
+            }
+            for (Future<Transaction> credit : credits) {
+                credit.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        balanceStripingService.consolidateAll();
+
+        assertEquals(new BigDecimal("300.00"), currentBalance());
+    }
+
+    private Transaction movement(String type, String amount) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("Saldo repartido " + type);
+        return transaction;
+    }
+
+    private BigDecimal currentBalance() {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM cuentas WHERE id = ?", BigDecimal.class, accountId)
+                .setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private long updateEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_eventos WHERE aggregate_id = ? "
+                + "AND event_type = 'ACTUALIZADO'", Long.class, accountId);
+    }
+
+    private BigDecimal pendingCredits() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM cuentas_saldo_slots WHERE cuenta_id = ?",
+                BigDecimal.class, accountId).setScale(2, RoundingMode.UNNECESSARY);
+    }
+}
@@ -1,5 +1,6 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.cache.UniqueKeyFilter;
 import com.core.bank.domain.entity.Customer;
 import com.core.bank.domain.repository.CustomerRepository;
 import com.core.bank.infrastructure.exception.ResourceAlreadyExistsException;
@@ -15,7 +16,11 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +29,9 @@ class CustomerValidationServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private UniqueKeyFilter uniqueKeyFilter;
+
     @InjectMocks
     private CustomerValidationService customerValidationService;
 
@@ -60,6 +68,30 @@ class CustomerValidationServiceTest {
         assertTrue(exception.getMessage().contains("identification"));
     }
 
+    @Test
+    @DisplayName("Una identificación que el filtro descarta no consulta la base")
+    void testValidateIdentificationSkipsLookupWhenFilterRulesItOut() {
+        String identification = "1234567890";
+        when(uniqueKeyFilter.isDefinitelyNew(UniqueKeyFilter.Key.IDENTIFICATION, identification)).thenReturn(true);
+
+        assertDoesNotThrow(() -> customerValidationService.validateIdentificationNotExists(identification));
+
+        verify(customerRepository, never()).findByIdentification(anyString());
+        verify(uniqueKeyFilter, never()).lookedUp(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Un posible duplicado se confirma en la base y se registra el resultado")
+    void testValidateIdentificationRecordsLookupOutcome() {
+        String identification = "1234567890";
+        when(customerRepository.findByIdentification(identification)).thenReturn(Optional.of(customer));
+
+        assertThrows(ResourceAlreadyExistsException.class,
+                () -> customerValidationService.validateIdentificationNotExists(identification));
+
+        verify(uniqueKeyFilter).lookedUp(UniqueKeyFilter.Key.IDENTIFICATION, true);
+    }
+
     @Test
     void testValidateMultipleDifferentIdentifications() {
         when(customerRepository.findByIdentification("1234567890")).thenReturn(Optional.empty());
@@ -1,9 +1,12 @@
 package com.core.bank.application.service;
 
+import com.core.bank.application.risk.VelocityEngine;
+import com.core.bank.application.risk.VelocityRule;
 import com.core.bank.domain.entity.Account;
 import com.core.bank.domain.entity.Customer;
 import com.core.bank.domain.repository.TransactionRepository;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +32,12 @@ class DebitValidationServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private BankMetrics bankMetrics;
+
+    @Mock
+    private VelocityEngine velocityEngine;
+
     @InjectMocks
     private DebitValidationService debitValidationService;
 
@@ -128,4 +138,18 @@ class DebitValidationServiceTest {
 
         assertDoesNotThrow(() -> debitValidationService.validate(account, debitAmount));
     }
+
+    @Test
+    void testValidateVelocityRuleExceeded() {
+        BigDecimal debitAmount = new BigDecimal("100.00");
+        when(transactionRepository.sumDebitsForDay(eq(account.getId()), any(LocalDateTime.class)))
+                .thenReturn(BigDecimal.ZERO);
+        when(velocityEngine.check(account.getId(), debitAmount))
+                .thenReturn(Optional.of(VelocityRule.parse("PT10M:count:3")));
+
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> debitValidationService.validate(account, debitAmount));
+
+        assertEquals("Límite de frecuencia de débitos excedido (máximo 3 débitos en 10 minutos)", exception.getMessage());
+    }
 }
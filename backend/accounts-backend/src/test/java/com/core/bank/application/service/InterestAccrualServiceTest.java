@@ -0,0 +1,267 @@
+package com.core.bank.application.service;
+
+import com.core.bank.application.dto.InterestRunSummary;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.InterestRun;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.InterestRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class InterestAccrualServiceTest {
+
+    private static final BigDecimal RATE = new BigDecimal("0.015");
+    private static final BigDecimal NO_INTEREST = new BigDecimal("0.00");
+    private static final BigDecimal SECONDS_PER_YEAR = BigDecimal.valueOf(365L * 86_400L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final YearMonth period = YearMonth.now().minusMonths(1);
+    private final LocalDateTime from = period.atDay(1).atStartOfDay();
+    private final LocalDateTime to = period.plusMonths(1).atDay(1).atStartOfDay();
+
+    private String customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = customerService.create(customer()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM intereses_devengados");
+        jdbcTemplate.update("DELETE FROM intereses_corridas");
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Acredita intereses sobre el saldo promedio solo a cuentas AHORRO y repetir el periodo no acredita de nuevo")
+    void testAccruesSavingsAccountsIdempotently() {
+        String flat = openAccount("AHORRO");
+        String topped = openAccount("AHORRO");
+        String checking = openAccount("CORRIENTE");
+        LocalDateTime middle = from.plusDays(10);
+        post(topped, new BigDecimal("5000.00"), middle);
+
+        InterestRunSummary first = interestAccrualService.accrue(period);
+
+        assertEquals(InterestRun.COMPLETED, first.getStatus());
+        assertEquals(2L, first.getCreditsPosted());
+        BigDecimal flatInterest = interest(new BigDecimal("10000.00").multiply(seconds(from, to)));
+        BigDecimal toppedInterest = interest(new BigDecimal("10000.00").multiply(seconds(from, middle))
+                .add(new BigDecimal("15000.00").multiply(seconds(middle, to))));
+        assertEquals(flatInterest, interestCredited(flat));
+        assertEquals(toppedInterest, interestCredited(topped));
+        assertEquals(NO_INTEREST, interestCredited(checking));
+        assertEquals(new BigDecimal("10000.00").add(flatInterest), currentBalance(flat));
+
+        InterestRunSummary rerun = interestAccrualService.accrue(period);
+
+        assertEquals(InterestRun.COMPLETED, rerun.getStatus());
+        assertEquals(2L, countInterestMovements());
+        assertEquals(flatInterest.add(toppedInterest), rerun.getTotalInterest());
+    }
+
+    @Test
+    @DisplayName("El crédito de intereses registra el saldo al cierre del periodo, no el de hoy")
+    void testInterestBalanceIsPeriodEndBalance() {
+        String account = openAccount("AHORRO");
+        post(account, new BigDecimal("700.00"), to.plusSeconds(1));
+
+        interestAccrualService.accrue(period);
+
+        BigDecimal interest = interest(new BigDecimal("10000.00").multiply(seconds(from, to)));
+        assertEquals(new BigDecimal("10000.00").add(interest), jdbcTemplate.queryForObject(
+                "SELECT balance FROM movimientos WHERE cuenta_id = ? AND description LIKE 'Intereses AHORRO%'",
+                BigDecimal.class, account).setScale(2, RoundingMode.UNNECESSARY));
+        assertEquals(new BigDecimal("10700.00").add(interest), currentBalance(account));
+    }
+
+    @Test
+    @DisplayName("Un débito confirmado mientras corre el bloque de intereses no se pierde")
+    void testConcurrentDebitIsNotOverwritten() throws Exception {
+        String account = openAccount("AHORRO");
+        CountDownLatch debitPosted = new CountDownLatch(1);
+        CountDownLatch commitDebit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> debit = executor.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        post(account, "DEBITO", new BigDecimal("100.00"), LocalDateTime.now());
+                        debitPosted.countDown();
+                        await(commitDebit);
+                    }));
+            await(debitPosted);
+            Future<InterestRunSummary> accrual = executor.submit(() -> interestAccrualService.accrue(period));
+            // El bloque de intereses llega a la cuenta mientras el débito sigue sin confirmar
+            Thread.sleep(300);
+            commitDebit.countDown();
+
+            debit.get(10, TimeUnit.SECONDS);
+            assertEquals(InterestRun.COMPLETED, accrual.get(10, TimeUnit.SECONDS).getStatus());
+        } finally {
+            commitDebit.countDown();
+            executor.shutdownNow();
+        }
+
+        BigDecimal interest = interest(new BigDecimal("10000.00").multiply(seconds(from, to)));
+        assertEquals(new BigDecimal("9900.00").add(interest), currentBalance(account));
+    }
+
+    @Test
+    @DisplayName("Una corrida interrumpida se reanuda desde el último id confirmado")
+    void testResumesFromCheckpoint() {
+        List<String> ids = Stream.of(openAccount("AHORRO"), openAccount("AHORRO"), openAccount("AHORRO"))
+                .sorted()
+                .toList();
+        LocalDateTime started = LocalDateTime.now().minusMinutes(5);
+        interestRunRepository.save(new InterestRun(period.toString(), InterestRun.INCOMPLETE, ids.get(0),
+                0L, BigDecimal.ZERO, started, started));
+
+        InterestRunSummary summary = interestAccrualService.accrue(period);
+
+        assertEquals(InterestRun.COMPLETED, summary.getStatus());
+        assertEquals(2L, summary.getAccountsScanned());
+        assertEquals(NO_INTEREST, interestCredited(ids.get(0)));
+        assertEquals(ids.get(2), interestRunRepository.findById(period.toString()).orElseThrow().getLastAccountId());
+    }
+
+    @Test
+    @DisplayName("Una cuenta abierta después del periodo no recibe intereses")
+    void testSkipsAccountsOpenedAfterPeriod() {
+        String account = openAccount("AHORRO");
+        jdbcTemplate.update("UPDATE cuentas SET created_at = ? WHERE id = ?", Timestamp.valueOf(to.plusDays(1)), account);
+
+        InterestRunSummary summary = interestAccrualService.accrue(period);
+
+        assertEquals(0L, summary.getCreditsPosted());
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT MAX(amount) FROM intereses_devengados WHERE cuenta_id = ?", BigDecimal.class, account));
+    }
+
+    private String openAccount(String type) {
+        Customer owner = new Customer();
+        owner.setId(customerId);
+        Account account = new Account();
+        account.setAccountType(type);
+        account.setInitialBalance(new BigDecimal("10000.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        String id = accountService.create(account).getId();
+        jdbcTemplate.update("UPDATE cuentas SET created_at = ? WHERE id = ?", Timestamp.valueOf(from.minusMonths(1)), id);
+        return id;
+    }
+
+    private void post(String accountId, BigDecimal amount, LocalDateTime date) {
+        post(accountId, "CREDITO", amount, date);
+    }
+
+    private void post(String accountId, String type, BigDecimal amount, LocalDateTime date) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(type);
+        transaction.setAmount(amount);
+        transaction.setDate(date);
+        transaction.setDescription("DEBITO".equals(type) ? "Retiro" : "Depósito");
+        transactionService.create(transaction);
+    }
+
+    private BigDecimal interestCredited(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM movimientos "
+                + "WHERE cuenta_id = ? AND description LIKE 'Intereses AHORRO%'", BigDecimal.class, accountId)
+                .setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private long countInterestMovements() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE description LIKE 'Intereses AHORRO%'", Long.class);
+    }
+
+    private BigDecimal currentBalance(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM cuentas WHERE id = ?", BigDecimal.class, accountId)
+                .setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BigDecimal seconds(LocalDateTime start, LocalDateTime end) {
+        return BigDecimal.valueOf(ChronoUnit.SECONDS.between(start, end));
+    }
+
+    private static BigDecimal interest(BigDecimal weightedBalance) {
+        return weightedBalance.multiply(RATE).divide(SECONDS_PER_YEAR, 2, RoundingMode.HALF_EVEN);
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setName("Interes Test");
+        customer.setGender("FEMENINO");
+        customer.setAge(30);
+        customer.setIdentification("8" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        return customer;
+    }
+}
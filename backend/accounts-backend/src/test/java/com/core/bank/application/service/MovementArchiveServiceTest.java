@@ -0,0 +1,167 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.TransactionRepositoryCustom;
+import com.core.bank.domain.repository.TransactionRow;
+import com.core.bank.domain.repository.impl.MovementArchiveBoundary;
+import com.core.bank.loadtest.SyntheticDataGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class MovementArchiveServiceTest {
+
+    private static final int PAGE_SIZE = 25;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MovementArchiveService movementArchiveService;
+
+    @Autowired
+    private MovementArchiveBoundary archiveBoundary;
+
+    @Autowired
+    @Qualifier("TransactionRepositoryImpl")
+    private TransactionRepositoryCustom transactionRepositoryCustom;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, 7L).generate(5, 5, 2_000, 150);
+        accountId = dataset.accountIds().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM movimientos_archivo_corte");
+        jdbcTemplate.update("DELETE FROM movimientos_archivo");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+        archiveBoundary.refresh();
+    }
+
+    @Test
+    @DisplayName("Las lecturas devuelven lo mismo antes y después de archivar y purgar")
+    void testReadsAreTransparentAcrossArchive() {
+        LocalDateTime from = LocalDateTime.now().minusDays(200);
+        LocalDateTime to = LocalDateTime.now();
+        Set<String> rangeBefore = ids(transactionRepositoryCustom.findByAccountIdAndDateRange(accountId, from, to));
+        List<String> pagesBefore = allPages(accountId, null, null);
+        List<String> windowBefore = allPages(null, to.minusDays(120), to.minusDays(30));
+        List<String> sinceBefore = allPages(null, to.minusDays(120), null);
+
+        // Un solo extremo de fecha también filtra
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos WHERE date >= ?",
+                Long.class, to.minusDays(120)), (long) sinceBefore.size());
+
+        long archived = movementArchiveService.archiveClosedMonths();
+
+        assertTrue(archived > 0);
+        assertNotNull(archiveBoundary.current());
+        assertReadsMatch(from, to, rangeBefore, pagesBefore, windowBefore);
+        assertPagesMatch(sinceBefore, allPages(null, to.minusDays(120), null));
+
+        long purged = movementArchiveService.purgeArchivedRows(Duration.ZERO);
+
+        assertEquals(archived, purged);
+        assertReadsMatch(from, to, rangeBefore, pagesBefore, windowBefore);
+        assertPagesMatch(sinceBefore, allPages(null, to.minusDays(120), null));
+    }
+
+    @Test
+    @DisplayName("Una instancia con el corte desactualizado no vuelve a copiar lo ya archivado")
+    void testStaleInstanceDoesNotArchiveTwice() {
+        long archived = movementArchiveService.archiveClosedMonths();
+        LocalDateTime boundary = archiveBoundary.current();
+
+        // Como otra instancia que aún no refrescó el corte
+        archiveBoundary.advance(null);
+
+        assertEquals(0, movementArchiveService.archiveClosedMonths());
+        assertEquals(boundary, archiveBoundary.current());
+        assertEquals(archived, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos_archivo", Long.class));
+    }
+
+    @Test
+    @DisplayName("Un rango posterior al corte no consulta el archivo")
+    void testRecentRangeOnlyReadsHotTable() {
+        movementArchiveService.archiveClosedMonths();
+        movementArchiveService.purgeArchivedRows(Duration.ZERO);
+        jdbcTemplate.update("DELETE FROM movimientos_archivo");
+
+        LocalDateTime to = LocalDateTime.now();
+        List<Transaction> recent = transactionRepositoryCustom.findByAccountIdAndDateRange(
+                accountId, archiveBoundary.current(), to);
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos WHERE cuenta_id = ?",
+                Long.class, accountId), (long) recent.size());
+    }
+
+    private void assertReadsMatch(LocalDateTime from, LocalDateTime to, Set<String> rangeBefore,
+                                  List<String> pagesBefore, List<String> windowBefore) {
+        assertEquals(rangeBefore, ids(transactionRepositoryCustom.findByAccountIdAndDateRange(accountId, from, to)));
+        assertPagesMatch(pagesBefore, allPages(accountId, null, null));
+        assertPagesMatch(windowBefore, allPages(null, to.minusDays(120), to.minusDays(30)));
+        // Las filas del listado reparten igual entre tabla caliente y archivo
+        assertPagesMatch(pagesBefore, allRowPages(accountId, null, null));
+        assertPagesMatch(windowBefore, allRowPages(null, to.minusDays(120), to.minusDays(30)));
+    }
+
+    private static void assertPagesMatch(List<String> expected, List<String> actual) {
+        // Sin duplicados ni huecos entre páginas; el orden entre movimientos del mismo segundo no es estable
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
+    private List<String> allPages(String accountId, LocalDateTime from, LocalDateTime to) {
+        List<String> ids = new ArrayList<>();
+        for (int offset = 0; ; offset += PAGE_SIZE) {
+            List<Transaction> page = transactionRepositoryCustom.findAllWithFiltersPaginated(
+                    accountId, from, to, offset, PAGE_SIZE);
+            page.forEach(transaction -> ids.add(transaction.getId()));
+            if (page.size() < PAGE_SIZE) {
+                return ids;
+            }
+        }
+    }
+
+    private List<String> allRowPages(String accountId, LocalDateTime from, LocalDateTime to) {
+        List<String> ids = new ArrayList<>();
+        for (int offset = 0; ; offset += PAGE_SIZE) {
+            List<TransactionRow> page = transactionRepositoryCustom.findRowsPaginated(
+                    accountId, from, to, offset, PAGE_SIZE);
+            page.forEach(row -> ids.add(row.id()));
+            if (page.size() < PAGE_SIZE) {
+                return ids;
+            }
+        }
+    }
+
+    private static Set<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,143 @@
+package com.core.bank.application.service;
+
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.domain.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OutboxServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Los cambios se publican en el feed con offsets crecientes y en orden de escritura")
+    void testFeedOrdersEventsByOffset() {
+        long after = lastOffset();
+
+        Customer customer = customerService.create(customer());
+        Account account = accountService.create(account(customer.getId()));
+        Transaction credit = transactionService.create(credit(account.getId()));
+        transactionService.delete(credit.getId());
+
+        outboxService.relay();
+
+        // El relay programado puede haber publicado parte de los eventos; solo importan los de esta prueba
+        Set<String> aggregates = Set.of(customer.getId(), account.getId(), credit.getId());
+        List<OutboxEvent> events = outboxService.feed(after, 1000).stream()
+                .filter(event -> aggregates.contains(event.getAggregateId()))
+                .toList();
+
+        assertEquals(List.of(OutboxEvent.CUSTOMER, OutboxEvent.ACCOUNT, OutboxEvent.MOVEMENT, OutboxEvent.MOVEMENT),
+                events.stream().map(OutboxEvent::getAggregateType).toList());
+        assertEquals(List.of(OutboxEvent.CREATED, OutboxEvent.CREATED, OutboxEvent.CREATED, OutboxEvent.DELETED),
+                events.stream().map(OutboxEvent::getEventType).toList());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getFeedOffset() > events.get(i - 1).getFeedOffset());
+        }
+        assertTrue(events.get(0).getPayload().contains(customer.getIdentification()));
+        assertFalse(events.get(0).getPayload().contains("password"));
+    }
+
+    @Test
+    @DisplayName("Un cambio revertido no deja evento en el outbox")
+    void testRolledBackChangeLeavesNoEvent() {
+        Customer customer = customerService.create(customer());
+        Account account = accountService.create(account(customer.getId()));
+        long before = countEvents();
+
+        // Saldo insuficiente: la transacción del débito se revierte junto con su evento
+        assertThrows(RuntimeException.class, () -> transactionService.create(debit(account.getId())));
+
+        assertEquals(before, countEvents());
+    }
+
+    private long lastOffset() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(feed_offset), 0) FROM outbox_eventos", Long.class);
+    }
+
+    private long countEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_eventos", Long.class);
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setName("Outbox Test");
+        customer.setGender("FEMENINO");
+        customer.setAge(30);
+        customer.setIdentification("9" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        return customer;
+    }
+
+    private static Account account(String customerId) {
+        Customer owner = new Customer();
+        owner.setId(customerId);
+        Account account = new Account();
+        account.setAccountType("AHORRO");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        return account;
+    }
+
+    private static Transaction credit(String accountId) {
+        return movement(accountId, "CREDITO", new BigDecimal("50.00"));
+    }
+
+    private static Transaction debit(String accountId) {
+        return movement(accountId, "DEBITO", new BigDecimal("5000.00"));
+    }
+
+    private static Transaction movement(String accountId, String type, BigDecimal amount) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType(type);
+        transaction.setAmount(amount);
+        transaction.setDescription("Outbox " + type);
+        return transaction;
+    }
+}
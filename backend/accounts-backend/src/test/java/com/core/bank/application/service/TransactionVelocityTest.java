@@ -0,0 +1,113 @@
+package com.core.bank.application.service;
+
+import com.core.bank.application.risk.VelocityEngine;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.velocity.rules=PT10M:count:1")
+@ActiveProfiles("h2")
+class TransactionVelocityTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private VelocityEngine velocityEngine;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Velocidad Test");
+        customer.setGender("MASCULINO");
+        customer.setAge(40);
+        customer.setIdentification("7" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        Customer owner = new Customer();
+        owner.setId(customerService.create(customer).getId());
+
+        Account account = new Account();
+        account.setAccountType("CORRIENTE");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        accountId = accountService.create(account).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("El débito cuenta para la ventana antes de confirmar")
+    void testDebitCountsBeforeCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionService.create(debit());
+
+            assertTrue(velocityEngine.check(accountId, AMOUNT).isPresent());
+        });
+
+        assertThrows(BusinessRuleException.class, () -> transactionService.create(debit()));
+    }
+
+    @Test
+    @DisplayName("Un débito que no confirma se descuenta de la ventana")
+    void testRolledBackDebitIsReversed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionService.create(debit());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(velocityEngine.check(accountId, AMOUNT).isEmpty());
+    }
+
+    private Transaction debit() {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType("DEBITO");
+        transaction.setAmount(AMOUNT);
+        transaction.setDescription("Velocidad DEBITO");
+        return transaction;
+    }
+}
@@ -0,0 +1,171 @@
+package com.core.bank.application.statement;
+
+import com.core.bank.application.service.AccountService;
+import com.core.bank.application.service.CustomerService;
+import com.core.bank.application.service.TransactionService;
+import com.core.bank.application.strategy.reports.JsonReportStrategy;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.InterestRun;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.domain.repository.InterestRunRepository;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.model.dto.ReportJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class StatementPipelineTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementPipeline statementPipeline;
+
+    @Autowired
+    private StatementStore statementStore;
+
+    @Autowired
+    private JsonReportStrategy jsonReportStrategy;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final YearMonth period = YearMonth.now().minusMonths(1);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(statementStore.path(period.toString(), "x").getParent());
+        jdbcTemplate.update("DELETE FROM intereses_corridas");
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Genera un PDF por cliente activo y al repetir el periodo salta los ya guardados")
+    void testGeneratesStatementsAndResumes() throws IOException {
+        List<String> active = List.of(customerWithMovement(), customerWithMovement(), customerWithMovement());
+        String inactive = customerWithMovement();
+        jdbcTemplate.update("UPDATE personas SET status = FALSE WHERE id = ?", inactive);
+
+        StatementRun first = new StatementRun(period, 2);
+        statementPipeline.execute(first);
+
+        assertEquals(StatementRun.COMPLETED, first.getStatus());
+        assertEquals(3, first.getStatementsWritten());
+        assertEquals(0, first.getFailures());
+        for (String customerId : active) {
+            byte[] pdf = Files.readAllBytes(statementStore.path(period.toString(), customerId));
+            assertTrue(new String(pdf, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        }
+        assertFalse(statementStore.exists(period.toString(), inactive));
+
+        StatementRun rerun = new StatementRun(period, 2);
+        statementPipeline.execute(rerun);
+
+        assertEquals(StatementRun.COMPLETED, rerun.getStatus());
+        assertEquals(0, rerun.getStatementsWritten());
+        assertEquals(3, rerun.getCustomersSkipped());
+    }
+
+    @Test
+    @DisplayName("La carga por páginas produce el mismo reporte que la consulta individual")
+    void testBulkReportsMatchSingleReport() {
+        String first = customerWithMovement();
+        String second = customerWithMovement();
+
+        List<ReportJson> bulk = jsonReportStrategy.generateReports(List.of(second, first),
+                period.atDay(1), period.atEndOfMonth());
+
+        assertEquals(2, bulk.size());
+        assertEquals(jsonReportStrategy.generateReport(UUID.fromString(second), period.atDay(1), period.atEndOfMonth()),
+                bulk.get(0));
+        assertEquals(1, bulk.get(1).getAccounts().get(0).getTransactions().size());
+    }
+
+    @Test
+    @DisplayName("Con intereses activos no genera un periodo cuyos intereses no terminaron de acreditarse")
+    void testWaitsForInterestAccrual() {
+        ReflectionTestUtils.setField(statementPipeline, "interestEnabled", true);
+        try {
+            assertThrows(BusinessRuleException.class, () -> statementPipeline.start(period));
+
+            interestRunRepository.save(new InterestRun(period.toString(), InterestRun.INCOMPLETE, null, 0L,
+                    BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now()));
+            assertFalse(statementPipeline.interestSettled(period));
+
+            interestRunRepository.save(new InterestRun(period.toString(), InterestRun.COMPLETED, null, 0L,
+                    BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now()));
+            assertTrue(statementPipeline.interestSettled(period));
+        } finally {
+            ReflectionTestUtils.setField(statementPipeline, "interestEnabled", false);
+        }
+    }
+
+    private String customerWithMovement() {
+        Customer customer = new Customer();
+        customer.setName("Estado Test");
+        customer.setGender("MASCULINO");
+        customer.setAge(40);
+        customer.setIdentification("7" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        String customerId = customerService.create(customer).getId();
+
+        Customer owner = new Customer();
+        owner.setId(customerId);
+        Account account = new Account();
+        account.setAccountType("AHORRO");
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        String accountId = accountService.create(account).getId();
+
+        Account target = new Account();
+        target.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(target);
+        transaction.setType("CREDITO");
+        transaction.setAmount(new BigDecimal("25.00"));
+        transaction.setDate(period.atDay(15).atTime(10, 0));
+        transaction.setDescription("Depósito");
+        transactionService.create(transaction);
+        return customerId;
+    }
+}
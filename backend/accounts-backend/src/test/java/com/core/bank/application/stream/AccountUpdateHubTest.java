@@ -0,0 +1,155 @@
+package com.core.bank.application.stream;
+
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountUpdateHubTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    @Mock
+    private BankMetrics bankMetrics;
+
+    private AccountUpdateHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new AccountUpdateHub(bankMetrics, BUFFER_SIZE, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("Cada suscriptor recibe solo los movimientos de sus cuentas")
+    void testFanOutFiltersByAccount() throws Exception {
+        RecordingSink first = new RecordingSink(2);
+        RecordingSink second = new RecordingSink(1);
+        hub.subscribe(Set.of("cuenta-1", "cuenta-2"), first);
+        hub.subscribe(Set.of("cuenta-2"), second);
+
+        hub.publish(update("cuenta-1", "m1"));
+        hub.publish(update("cuenta-3", "m2"));
+        hub.publish(update("cuenta-2", "m3"));
+
+        assertTrue(first.received.await(5, TimeUnit.SECONDS));
+        assertTrue(second.received.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("m1", "m3"), first.movementIds);
+        assertEquals(List.of("m3"), second.movementIds);
+    }
+
+    @Test
+    @DisplayName("Un suscriptor lento se desconecta sin bloquear a quien publica")
+    void testSlowSubscriberIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingSink slow = new BlockingSink(release);
+        RecordingSink fast = new RecordingSink(BUFFER_SIZE + 3);
+        hub.subscribe(Set.of("cuenta-1"), slow);
+        hub.subscribe(Set.of("cuenta-1"), fast);
+
+        for (int i = 0; i < BUFFER_SIZE + 3; i++) {
+            hub.publish(update("cuenta-1", "m" + i));
+        }
+
+        verify(bankMetrics, timeout(5_000)).streamSubscriberDropped(AccountUpdateHub.DROP_BUFFER_FULL);
+        assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, hub.subscriberCount());
+        assertTrue(slow.closed.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("No acepta más suscriptores que max-subscribers")
+    void testRejectsOverCapacity() {
+        AccountUpdateHub small = new AccountUpdateHub(bankMetrics, BUFFER_SIZE, 1);
+        try {
+            assertTrue(small.subscribe(Set.of("cuenta-1"), new RecordingSink(0)).isPresent());
+            assertTrue(small.subscribe(Set.of("cuenta-1"), new RecordingSink(0)).isEmpty());
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private static AccountUpdate update(String accountId, String movementId) {
+        return new AccountUpdate("CREADO", accountId, movementId, "CREDITO", BigDecimal.TEN, BigDecimal.TEN,
+                BigDecimal.TEN, "Prueba", LocalDateTime.now());
+    }
+
+    private static class RecordingSink implements AccountUpdateHub.Sink {
+
+        private final List<String> movementIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+
+        RecordingSink(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(AccountUpdate update) {
+            movementIds.add(update.movementId());
+            received.countDown();
+        }
+
+        @Override
+        public void keepAlive() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class BlockingSink implements AccountUpdateHub.Sink {
+
+        private final CountDownLatch release;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        BlockingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(AccountUpdate update) {
+            // Simula una conexión que no drena hasta que el hub la corta
+            boolean released = false;
+            while (!released) {
+                try {
+                    released = release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void keepAlive() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.core.bank.domain.repository;
+
+import com.core.bank.loadtest.SyntheticDataGenerator;
+import com.core.bank.support.QueryPlans;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.core.bank.support.QueryPlans.assertNoFullScan;
+import static com.core.bank.support.QueryPlans.assertUsesIndex;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan de cada consulta frecuente sobre el esquema de las entidades en H2 (modo MySQL): falla si alguna vuelve a
+ * recorrer la tabla completa. Los planes quedan en target/planes-consultas para comparar entre versiones. Como
+ * el esquema de H2 sale de las anotaciones, se comprueba también que sus índices existen en las migraciones.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class HotQueryPlanTest {
+
+    private static final Path REPORT = Path.of("target", "planes-consultas", "hot-query-plans.txt");
+    private static final Pattern VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+    private static final Pattern CREATED_INDEX = Pattern.compile("(?i)INDEX\\s+(\\w+)\\s*(?:\\(|ON\\b)");
+    private static final Pattern DROPPED_INDEX = Pattern.compile("(?i)DROP\\s+INDEX\\s+(\\w+)");
+    private static final Map<String, String> PLANS = new TreeMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    @Qualifier("AccountRepositoryImpl")
+    private AccountRepositoryCustom accountRepositoryCustom;
+
+    @Autowired
+    @Qualifier("CustomerRepositoryImpl")
+    private CustomerRepositoryCustom customerRepositoryCustom;
+
+    private SyntheticDataGenerator.Dataset dataset;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new SyntheticDataGenerator(jdbcTemplate, 13L).generate(30, 60, 3_000, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        StringBuilder report = new StringBuilder();
+        PLANS.forEach((query, plan) -> report.append(query).append(System.lineSeparator())
+                .append(plan).append(System.lineSeparator()).append(System.lineSeparator()));
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+    }
+
+    @Test
+    @DisplayName("Las consultas de movimientos usan sus índices compuestos")
+    void testTransactionQueries() {
+        String accountId = dataset.accountIds().get(0);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertUsesIndex(plan("transactions.sumDebitsForDay",
+                () -> transactionRepository.sumDebitsForDay(accountId, now)), "idx_movimientos_cuenta_tipo_fecha");
+        assertUsesIndex(plan("transactions.findDebitsSince",
+                () -> transactionRepository.findDebitsSince(now.minusMinutes(10))), "idx_movimientos_tipo_fecha");
+        assertUsesIndex(plan("transactions.findByAccountIdAndDateRange",
+                () -> transactionRepository.findByAccountIdAndDateRange(accountId, now.minusDays(30), now)),
+                "idx_movimientos_cuenta_fecha");
+        assertNoFullScan(plan("transactions.countByAccountId",
+                () -> transactionRepository.countByAccountId(accountId)));
+    }
+
+    @Test
+    @DisplayName("Las consultas de cuentas usan sus índices")
+    void testAccountQueries() {
+        String customerId = dataset.customerIds().get(0);
+
+        assertUsesIndex(plan("accounts.findRowsPaginated",
+                () -> accountRepositoryCustom.findRowsPaginated(null, null, 0, 10)), "idx_cuentas_creacion");
+        assertUsesIndex(plan("accounts.findRowsPaginated.customer",
+                () -> accountRepositoryCustom.findRowsPaginated(customerId, null, 0, 10)), "idx_cuentas_cliente_creacion");
+        assertNoFullScan(plan("accounts.findByCustomerIdIn",
+                () -> accountRepository.findByCustomerIdIn(List.of(customerId))));
+        assertNoFullScan(plan("accounts.countByCustomerId",
+                () -> accountRepository.countByCustomerId(customerId)));
+        assertNoFullScan(plan("accounts.findByAccountNumber",
+                () -> accountRepository.findByAccountNumber("100000")));
+        // Copia de la consulta de InterestAccrualService
+        assertUsesIndex(jdbcPlan("interest.activeAccounts", "SELECT id FROM cuentas "
+                + "WHERE account_type = ? AND status = TRUE AND id > ? ORDER BY id LIMIT ?"), "idx_cuentas_tipo_estado");
+    }
+
+    @Test
+    @DisplayName("Las consultas de clientes usan sus índices")
+    void testCustomerQueries() {
+        // El listado filtra por el discriminador y ordena por fecha de creación
+        assertUsesIndex(plan("customers.findRowsPaginated",
+                () -> customerRepositoryCustom.findRowsPaginated(null, 0, 10)), "idx_personas_tipo_");
+        assertNoFullScan(plan("customers.findByIdentification",
+                () -> customerRepository.findByIdentification("1000000000")));
+        // Copia de la consulta de StatementPipeline
+        assertUsesIndex(jdbcPlan("statements.activeCustomers", "SELECT id FROM personas "
+                + "WHERE tipo_persona = 'CLIENTE' AND status = TRUE AND id > ? ORDER BY id LIMIT ?"),
+                "idx_personas_tipo_estado");
+    }
+
+    @Test
+    @DisplayName("Los índices de las entidades existen en las migraciones de Flyway")
+    void testEntityIndexesExistInMigrations() throws IOException {
+        Set<String> migrated = migratedIndexes();
+        Set<String> missing = new TreeSet<>();
+        entityManagerFactory.getMetamodel().getEntities().forEach(entity -> {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            if (table != null) {
+                Arrays.stream(table.indexes()).map(Index::name).filter(name -> !migrated.contains(name)).forEach(missing::add);
+            }
+        });
+        assertTrue(missing.isEmpty(), "Índices sin migración: " + missing);
+    }
+
+    private String plan(String query, Runnable execution) {
+        return record(query, QueryPlans.explain(jdbcTemplate, QueryPlans.statement(execution)));
+    }
+
+    private String jdbcPlan(String query, String sql) {
+        return record(query, QueryPlans.explain(jdbcTemplate, sql));
+    }
+
+    private static String record(String query, String plan) {
+        synchronized (PLANS) {
+            PLANS.put(query, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Índices que quedan tras aplicar las migraciones en orden de versión.
+     */
+    private static Set<String> migratedIndexes() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+        Arrays.sort(scripts, Comparator.comparingInt(HotQueryPlanTest::version));
+        Set<String> indexes = new HashSet<>();
+        for (Resource script : scripts) {
+            String sql = script.getContentAsString(StandardCharsets.UTF_8);
+            Matcher dropped = DROPPED_INDEX.matcher(sql);
+            while (dropped.find()) {
+                indexes.remove(dropped.group(1));
+            }
+            Matcher created = CREATED_INDEX.matcher(sql);
+            while (created.find()) {
+                indexes.add(created.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    private static int version(Resource script) {
+        Matcher matcher = VERSION.matcher(script.getFilename());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,110 @@
+package com.core.bank.domain.repository.impl;
+
+import com.core.bank.domain.repository.AccountRepositoryCustom;
+import com.core.bank.domain.repository.CustomerRepositoryCustom;
+import com.core.bank.domain.repository.TransactionRepositoryCustom;
+import com.core.bank.loadtest.SyntheticDataGenerator;
+import com.core.bank.support.QueryPlans;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static com.core.bank.support.QueryPlans.assertUsesIndex;
+import static com.core.bank.support.QueryPlans.statement;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Plan de H2 (modo MySQL) para cada forma de los listados filtrados: solo se emiten los predicados que llegan y
+ * cada uno usa su índice.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class FilterQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("TransactionRepositoryImpl")
+    private TransactionRepositoryCustom transactionRepositoryCustom;
+
+    @Autowired
+    @Qualifier("AccountRepositoryImpl")
+    private AccountRepositoryCustom accountRepositoryCustom;
+
+    @Autowired
+    @Qualifier("CustomerRepositoryImpl")
+    private CustomerRepositoryCustom customerRepositoryCustom;
+
+    private String accountId;
+    private String customerId;
+
+    @BeforeEach
+    void setUp() {
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, 11L).generate(20, 40, 2_000, 60);
+        accountId = dataset.accountIds().get(0);
+        customerId = dataset.customerIds().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    @DisplayName("Movimientos por cuenta, con o sin fechas, usan idx_movimientos_cuenta_fecha")
+    void testAccountShapesUseAccountDateIndex() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertUsesIndex(movementsPlan(accountId, null, null), "idx_movimientos_cuenta_fecha");
+        assertUsesIndex(movementsPlan(accountId, now.minusDays(30), now), "idx_movimientos_cuenta_fecha");
+        assertUsesIndex(movementsPlan(accountId, now.minusDays(30), null), "idx_movimientos_cuenta_fecha");
+    }
+
+    @Test
+    @DisplayName("Movimientos solo por fecha usan idx_fecha, también con un solo extremo")
+    void testDateShapesUseDateIndex() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertUsesIndex(movementsPlan(null, now.minusDays(30), now), "idx_fecha");
+        assertUsesIndex(movementsPlan(null, now.minusDays(30), null), "idx_fecha");
+        assertUsesIndex(movementsPlan(null, null, now.minusDays(30)), "idx_fecha");
+    }
+
+    @Test
+    @DisplayName("Cuentas por cliente usan idx_cuentas_cliente_creacion")
+    void testAccountsByCustomerUseCustomerIndex() {
+        assertUsesIndex(plan(() -> accountRepositoryCustom.findRowsPaginated(customerId, null, 0, 10)),
+                "idx_cuentas_cliente_creacion");
+    }
+
+    @Test
+    @DisplayName("Sin filtros no se emite ningún predicado")
+    void testNoFiltersEmitNoPredicates() {
+        assertFalse(statement(() -> transactionRepositoryCustom.findRowsPaginated(null, null, null, 0, 10))
+                .contains(" where "));
+        assertFalse(statement(() -> accountRepositoryCustom.findRowsPaginated(null, "", 0, 10))
+                .contains(" where "));
+        // Customer solo lleva el discriminador de la herencia
+        assertFalse(statement(() -> customerRepositoryCustom.findRowsPaginated(" ", 0, 10))
+                .contains(" like "));
+    }
+
+    private String movementsPlan(String accountId, LocalDateTime from, LocalDateTime to) {
+        return plan(() -> transactionRepositoryCustom.findRowsPaginated(accountId, from, to, 0, 10));
+    }
+
+    private String plan(Runnable query) {
+        return QueryPlans.explain(jdbcTemplate, statement(query));
+    }
+}
@@ -1,9 +1,14 @@
 package com.core.bank.infrastructure.controller;
 
+import com.core.bank.application.dto.BatchResult;
 import com.core.bank.application.service.CustomerService;
 import com.core.bank.application.mapper.CustomerMapper;
 import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.repository.CustomerRow;
+import com.core.bank.infrastructure.exception.RejectionLog;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.CustomerCreate;
+import com.core.bank.model.dto.CustomerDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +18,14 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
@@ -36,6 +44,12 @@ class CustomersControllerTest {
     @MockitoBean
     private CustomerMapper customerMapper;
 
+    @MockitoBean
+    private BankMetrics bankMetrics;
+
+    @MockitoBean
+    private RejectionLog rejectionLog;
+
     @Test
     @WithMockUser(username = "test", roles = {"USER"})
     void testCreateCustomerEndpoint() throws Exception {
@@ -64,4 +78,24 @@ class CustomersControllerTest {
                 .with(csrf()))
             .andExpect(status().isCreated());
     }
+
+    @Test
+    @WithMockUser(username = "test", roles = {"USER"})
+    void testGetCustomersBatchEndpoint() throws Exception {
+        String found = UUID.randomUUID().toString();
+        String missing = UUID.randomUUID().toString();
+        CustomerRow row = new CustomerRow(found, "Jose Lema", "MASCULINO", 30, "1234567890",
+                "Otavalo y su principal", "0985247885", "1234", true);
+        CustomerDTO dto = new CustomerDTO();
+        dto.setName("Jose Lema");
+
+        when(customerService.findByIds(List.of(missing, found)))
+                .thenReturn(new BatchResult<>(List.of(row), List.of(missing)));
+        when(customerMapper.toDto(row)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/clientes/batch").param("ids", missing + "," + found))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].name").value("Jose Lema"))
+            .andExpect(jsonPath("$.missingIds[0]").value(missing));
+    }
 }
@@ -0,0 +1,67 @@
+package com.core.bank.infrastructure.controller;
+
+import com.core.bank.application.mapper.ChangeEventMapper;
+import com.core.bank.application.service.OutboxService;
+import com.core.bank.domain.entity.OutboxEvent;
+import com.core.bank.infrastructure.exception.RejectionLog;
+import com.core.bank.infrastructure.metrics.BankMetrics;
+import com.core.bank.model.dto.ChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EventsController.class)
+class EventsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OutboxService outboxService;
+
+    @MockitoBean
+    private ChangeEventMapper changeEventMapper;
+
+    @MockitoBean
+    private BankMetrics bankMetrics;
+
+    @MockitoBean
+    private RejectionLog rejectionLog;
+
+    @Test
+    @WithMockUser(username = "test", roles = {"USER"})
+    void testFeedReturnsLastOffsetAsNext() throws Exception {
+        OutboxEvent first = OutboxEvent.builder().feedOffset(11L).build();
+        OutboxEvent second = OutboxEvent.builder().feedOffset(12L).build();
+        when(outboxService.feed(10L, 2)).thenReturn(List.of(first, second));
+        when(changeEventMapper.toDtoList(anyList()))
+                .thenReturn(List.of(new ChangeEvent().offset(11L), new ChangeEvent().offset(12L)));
+
+        mockMvc.perform(get("/api/eventos").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.nextOffset").value(12));
+    }
+
+    @Test
+    @WithMockUser(username = "test", roles = {"USER"})
+    void testEmptyFeedKeepsOffset() throws Exception {
+        when(outboxService.feed(25L, 100)).thenReturn(List.of());
+        when(changeEventMapper.toDtoList(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/eventos").param("after", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(25));
+    }
+}
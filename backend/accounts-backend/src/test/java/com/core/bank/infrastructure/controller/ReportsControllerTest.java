@@ -1,7 +1,11 @@
 package com.core.bank.infrastructure.controller;
 
 import com.core.bank.application.service.ReportService;
+import com.core.bank.application.strategy.reports.SerializedReport;
+import com.core.bank.infrastructure.exception.RejectionLog;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -26,9 +30,18 @@ class ReportsControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private ReportService reportService;
 
+    @MockitoBean
+    private BankMetrics bankMetrics;
+
+    @MockitoBean
+    private RejectionLog rejectionLog;
+
     @Test
     @WithMockUser(username = "test", roles = {"USER"})
     void testGetReportJsonFormat() throws Exception {
@@ -68,7 +81,8 @@ class ReportsControllerTest {
                 .range(range)
                 .accounts(Arrays.asList(account));
 
-        when(reportService.generateReport(any(), any(), any(), any())).thenReturn(report);
+        when(reportService.generateJsonReport(any(), any(), any()))
+                .thenReturn(new SerializedReport(report, objectMapper.writeValueAsBytes(report)));
 
         mockMvc.perform(get("/api/reportes")
                 .param("clienteId", clienteId.toString())
@@ -0,0 +1,208 @@
+package com.core.bank.infrastructure.controller;
+
+import com.core.bank.application.service.AccountService;
+import com.core.bank.application.service.CustomerService;
+import com.core.bank.application.service.TransactionService;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Customer;
+import com.core.bank.domain.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.core.bank.support.SqlStatementBudget.atMost;
+import static com.core.bank.support.SqlStatementBudget.releasesConnectionBeforeBody;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint. Si un cambio introduce consultas adicionales
+ * (N+1, lecturas duplicadas) la prueba falla y obliga a revisar el presupuesto.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class StatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String customerId;
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Presupuesto Test");
+        customer.setGender("FEMENINO");
+        customer.setAge(29);
+        customer.setIdentification("7" + System.nanoTime() % 1_000_000_000L);
+        customer.setAddress("Quito");
+        customer.setPhone("0990000000");
+        customer.setPassword("1234");
+        customer.setStatus(true);
+        customerId = customerService.create(customer).getId();
+
+        Customer owner = new Customer();
+        owner.setId(customerId);
+        Account account = new Account();
+        account.setAccountType("AHORRO");
+        account.setInitialBalance(new BigDecimal("1000.00"));
+        account.setStatus(true);
+        account.setCustomer(owner);
+        accountId = accountService.create(account).getId();
+
+        // Movimientos para que el listado y el reporte no salgan vacíos
+        for (int i = 0; i < 5; i++) {
+            Account target = new Account();
+            target.setId(accountId);
+            Transaction credit = new Transaction();
+            credit.setAccount(target);
+            credit.setType("CREDITO");
+            credit.setAmount(new BigDecimal("25.00"));
+            credit.setDescription("Depósito " + i);
+            transactionService.create(credit);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_eventos");
+        jdbcTemplate.update("DELETE FROM movimientos");
+        jdbcTemplate.update("DELETE FROM cuentas");
+        jdbcTemplate.update("DELETE FROM personas");
+    }
+
+    @Test
+    void getClienteUsesSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/clientes/{id}", customerId))
+                .andExpect(status().isOk())
+                .andExpect(atMost(1));
+    }
+
+    @Test
+    void getCuentaUsesSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/cuentas/{id}", accountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customerId))
+                .andExpect(atMost(1))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    @Test
+    void getCuentasBatchUsesSingleStatement() throws Exception {
+        // Una consulta IN por todos los ids, no un findById por cada uno
+        String missing = UUID.randomUUID().toString();
+        mockMvc.perform(get("/api/cuentas/batch").param("ids", missing + "," + accountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(accountId))
+                .andExpect(jsonPath("$.missingIds[0]").value(missing))
+                .andExpect(atMost(1))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    @Test
+    void patchCuentaStaysWithinBudget() throws Exception {
+        // Incluye el INSERT del evento en el outbox
+        mockMvc.perform(patch("/api/cuentas/{id}", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(false))
+                .andExpect(atMost(3))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    @Test
+    void patchClienteStaysWithinBudget() throws Exception {
+        // Lectura + UPDATE + evento del outbox; el cambio se aplica sobre la entidad de la transacción
+        mockMvc.perform(patch("/api/clientes/{id}", customerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"address\":\"Loja\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address").value("Loja"))
+                .andExpect(atMost(3))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    @Test
+    void creditStaysWithinBudget() throws Exception {
+        // Lectura de cuenta + SELECT ... FOR UPDATE (sin saldo repartido) + insert + update + evento del outbox
+        mockMvc.perform(post("/api/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(movement("CREDITO")))
+                .andExpect(status().isCreated())
+                .andExpect(atMost(5));
+    }
+
+    @Test
+    void debitStaysWithinBudget() throws Exception {
+        // Lectura de cuenta + suma de débitos del día + insert + update + evento del outbox
+        mockMvc.perform(post("/api/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(movement("DEBITO")))
+                .andExpect(status().isCreated())
+                .andExpect(atMost(5));
+    }
+
+    @Test
+    void listMovimientosStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/movimientos").param("cuentaId", accountId).param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    @Test
+    void listCuentasCountsWithoutLoadingRows() throws Exception {
+        mockMvc.perform(get("/api/cuentas").param("clienteId", customerId).param("page", "0").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void jsonReportStaysWithinBudget() throws Exception {
+        // Cliente + cuentas + una consulta de movimientos por cuenta
+        LocalDate to = LocalDate.now();
+        mockMvc.perform(get("/api/reportes")
+                        .param("clienteId", customerId)
+                        .param("from", to.minusDays(30).toString())
+                        .param("to", to.toString())
+                        .param("format", "json"))
+                .andExpect(status().isOk())
+                .andExpect(atMost(3))
+                .andExpect(releasesConnectionBeforeBody());
+    }
+
+    private String movement(String type) {
+        return "{\"accountId\":\"" + accountId + "\",\"transactionType\":\"" + type
+                + "\",\"amount\":10,\"description\":\"Presupuesto SQL\"}";
+    }
+}
@@ -1,8 +1,11 @@
 package com.core.bank.infrastructure.controller;
 
+import com.core.bank.application.journal.PostingJournalService;
 import com.core.bank.application.service.TransactionService;
 import com.core.bank.application.mapper.TransactionMapper;
 import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.exception.RejectionLog;
+import com.core.bank.infrastructure.metrics.BankMetrics;
 import com.core.bank.model.dto.TransactionCreate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -37,6 +40,15 @@ class TransactionsControllerTest {
     @MockitoBean
     private TransactionMapper transactionMapper;
 
+    @MockitoBean
+    private BankMetrics bankMetrics;
+
+    @MockitoBean
+    private RejectionLog rejectionLog;
+
+    @MockitoBean
+    private PostingJournalService postingJournalService;
+
     @Test
     @WithMockUser(username = "test", roles = {"USER"})
     void testCreateDebitTransactionWithInsufficientBalanceEndpoint() throws Exception {
@@ -0,0 +1,38 @@
+package com.core.bank.infrastructure.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RejectionLogTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Los rechazos se cuentan por tipo y el conteo se reinicia en cada intervalo")
+    void testCountsPerTypeAndWindow() {
+        RejectionLog rejectionLog = new RejectionLog(3, Duration.ofSeconds(1), 5);
+
+        for (int i = 1; i <= 8; i++) {
+            assertEquals(i, rejectionLog.record("business_rule", 10));
+        }
+        assertEquals(1, rejectionLog.record("not_found", 10));
+        assertEquals(9, rejectionLog.record("business_rule", 10 + SECOND - 1));
+
+        assertEquals(1, rejectionLog.record("business_rule", 10 + SECOND));
+        assertEquals(1, rejectionLog.record("not_found", 10 + SECOND));
+    }
+
+    @Test
+    @DisplayName("Los rechazos esperados no capturan stack trace")
+    void testRejectionsAreStackless() {
+        assertEquals(0, new BusinessRuleException("Saldo no disponible").getStackTrace().length);
+        assertEquals(0, new ResourceNotFoundException("Account", "id", "1").getStackTrace().length);
+        assertEquals(0, new ResourceAlreadyExistsException("Cliente ya existe").getStackTrace().length);
+        assertNull(new BusinessRuleException("Saldo no disponible").getCause());
+    }
+}
@@ -0,0 +1,113 @@
+package com.core.bank.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Enrutamiento primario/réplica con dos bases H2 embebidas; cada una identifica su origen en la tabla origen.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("Las transacciones de solo lectura van a la réplica")
+    void testReadOnlyTransactionUsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("Las transacciones de escritura van al primario")
+    void testReadWriteTransactionUsesPrimary() {
+        assertEquals("primary", readWrite.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("Sin transacción se usa el primario")
+    void testNoTransactionUsesPrimary() {
+        assertEquals("primary", origin());
+    }
+
+    @Test
+    @DisplayName("Tras una escritura reciente del cliente las lecturas van al primario")
+    void testPinnedReadOnlyTransactionUsesPrimary() {
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertEquals("primary", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("Una lectura marcada para el primario no usa la réplica y deja la marca como estaba")
+    void testOnPrimaryRestoresPin() {
+        assertEquals("primary", ReplicaRoutingContext.onPrimary(() -> readOnly.execute(status -> origin())));
+        assertFalse(ReplicaRoutingContext.isPrimaryPinned());
+        assertEquals("replica", readOnly.execute(status -> origin()));
+
+        ReplicaRoutingContext.pinToPrimary();
+        ReplicaRoutingContext.onPrimary(() -> readOnly.execute(status -> origin()));
+        assertTrue(ReplicaRoutingContext.isPrimaryPinned());
+    }
+
+    @Test
+    @DisplayName("Una lectura dentro de una transacción de escritura sigue en el primario")
+    void testReadOnlyJoiningReadWriteUsesPrimary() {
+        String origin = readWrite.execute(status -> readOnly.execute(inner -> origin()));
+
+        assertEquals("primary", origin);
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static EmbeddedDatabase embedded(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO origen (nombre) VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,95 @@
+package com.core.bank.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountsLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.customers}")
+    private int customers;
+
+    @Value("${loadtest.accounts}")
+    private int accounts;
+
+    @Value("${loadtest.movements}")
+    private int movements;
+
+    @Value("${loadtest.history-days}")
+    private int historyDays;
+
+    @Value("${loadtest.threads}")
+    private int threads;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.mix.credit}")
+    private int creditWeight;
+
+    @Value("${loadtest.mix.debit}")
+    private int debitWeight;
+
+    @Value("${loadtest.mix.list}")
+    private int listWeight;
+
+    @Value("${loadtest.mix.report}")
+    private int reportWeight;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        long seedStart = System.nanoTime();
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, seed)
+                .generate(customers, accounts, movements, historyDays);
+        log.info("Datos sintéticos: {} clientes, {} cuentas, {} movimientos en {} ms",
+                customers, accounts, movements, (System.nanoTime() - seedStart) / 1_000_000);
+
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, dataset,
+                new LoadDriver.WorkloadMix(creditWeight, debitWeight, listWeight, reportWeight), seed);
+
+        driver.run(threads, Duration.ofSeconds(warmupSeconds));
+        LoadResult result = driver.run(threads, Duration.ofSeconds(durationSeconds));
+
+        String mode = virtualThreads ? "virtual" : "platform";
+        String title = String.format("Carga mixta: %d hilos cliente, semilla=%d, modo=%s", threads, seed, mode);
+        log.info("{}{}", System.lineSeparator(), result.format(title));
+        result.write(Path.of(reportDir, "loadtest-report-" + mode + ".txt"), title);
+
+        assertTrue(result.totalRequests() > 0);
+        assertTrue(result.totalErrors() * 100 < result.totalRequests(),
+                "Más del 1% de las peticiones terminaron en error");
+    }
+}
@@ -0,0 +1,119 @@
+package com.core.bank.loadtest;
+
+import com.core.bank.application.service.TransactionService;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Filas por segundo al registrar movimientos en bloque, sin lotes JDBC (batch_size=1) y con el
+ * tamaño de lote del perfil batching.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest", "batching"})
+@SpringBootTest
+class BulkPostingBenchmark {
+
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.bulk.accounts:200}")
+    private int accounts;
+
+    @Value("${loadtest.bulk.movements:20000}")
+    private int movements;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Test
+    void bulkPosting() throws Exception {
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, seed)
+                .generate(accounts / 2, accounts, 0, 1);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Registro masivo: %d movimientos en bloques de %d, %d cuentas%n%-12s %12s %12s%n",
+                movements, CHUNK, accounts, "batch_size", "segundos", "filas/s"));
+
+        for (int size : new int[]{1, batchSize}) {
+            // Calentamiento con la misma configuración antes de medir
+            post(dataset, size, movements / 10);
+            long start = System.nanoTime();
+            int posted = post(dataset, size, movements);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            assertEquals(movements, posted);
+            report.append(String.format(Locale.ROOT, "%-12d %12.2f %12.0f%n", size, seconds, posted / seconds));
+        }
+
+        log.info("{}{}", System.lineSeparator(), report);
+        Path file = Path.of(reportDir, "bulk-posting-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+
+    private int post(SyntheticDataGenerator.Dataset dataset, int jdbcBatchSize, int count) {
+        Random random = new Random(seed);
+        int posted = 0;
+        while (posted < count) {
+            List<Transaction> chunk = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK && posted + i < count; i++) {
+                chunk.add(credit(dataset.accountIds().get(random.nextInt(dataset.accountIds().size())), random));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                transactionService.createAll(chunk);
+            });
+            posted += chunk.size();
+        }
+        return posted;
+    }
+
+    private static Transaction credit(String accountId, Random random) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType("CREDITO");
+        transaction.setAmount(BigDecimal.valueOf(1 + random.nextInt(100)));
+        transaction.setDescription("Registro masivo");
+        return transaction;
+    }
+}
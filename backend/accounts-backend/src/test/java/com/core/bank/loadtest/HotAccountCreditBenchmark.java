@@ -0,0 +1,146 @@
+package com.core.bank.loadtest;
+
+import com.core.bank.application.service.AccountService;
+import com.core.bank.application.service.BalanceStripingService;
+import com.core.bank.application.service.TransactionService;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Créditos por segundo sobre una sola cuenta con muchos hilos: saldo en una fila frente a saldo repartido.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest"})
+@SpringBootTest
+class HotAccountCreditBenchmark {
+
+    private static final BigDecimal CREDIT = new BigDecimal("1.00");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BalanceStripingService balanceStripingService;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.threads}")
+    private int threads;
+
+    @Value("${loadtest.hot-account.credits:4000}")
+    private int credits;
+
+    @Value("${loadtest.hot-account.slots:16}")
+    private int slots;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Test
+    void hotAccountCredits() throws Exception {
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, seed)
+                .generate(2, 2, 0, 1);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Créditos sobre una cuenta: %d por modo, %d hilos%n%-10s %12s %12s %10s%n",
+                credits, threads, "slots", "segundos", "créditos/s", "fallidos"));
+
+        int[] modes = {0, slots};
+        for (int i = 0; i < modes.length; i++) {
+            String accountId = dataset.accountIds().get(i);
+            accountService.changeBalanceSlots(accountId, modes[i]);
+            BigDecimal before = balance(accountId);
+
+            // Calentamiento con la misma configuración antes de medir
+            post(accountId, credits / 10);
+            long start = System.nanoTime();
+            int failed = post(accountId, credits);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int posted = credits - failed;
+            report.append(String.format(Locale.ROOT, "%-10d %12.2f %12.0f %10d%n",
+                    modes[i], seconds, posted / seconds, failed));
+
+            if (modes[i] > 0) {
+                balanceStripingService.consolidateAll();
+                int applied = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM movimientos WHERE cuenta_id = ?", Integer.class, accountId);
+                assertEquals(0, before.add(CREDIT.multiply(BigDecimal.valueOf(applied))).compareTo(balance(accountId)));
+            }
+        }
+
+        log.info("{}{}", System.lineSeparator(), report);
+        Path file = Path.of(reportDir, "hot-account-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+
+    /**
+     * Registra {@code count} créditos desde {@code threads} hilos; devuelve cuántos fallaron.
+     */
+    private int post(String accountId, int count) throws Exception {
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        transactionService.create(credit(accountId));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return failed.get();
+    }
+
+    private BigDecimal balance(String accountId) {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM cuentas WHERE id = ?", BigDecimal.class, accountId);
+    }
+
+    private static Transaction credit(String accountId) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setType("CREDITO");
+        transaction.setAmount(CREDIT);
+        transaction.setDescription("Recaudación");
+        return transaction;
+    }
+}
@@ -0,0 +1,160 @@
+package com.core.bank.loadtest;
+
+import com.core.bank.application.mapper.AccountMapper;
+import com.core.bank.application.mapper.CustomerMapper;
+import com.core.bank.application.mapper.TransactionMapper;
+import com.core.bank.domain.repository.AccountRepositoryCustom;
+import com.core.bank.domain.repository.CustomerRepositoryCustom;
+import com.core.bank.domain.repository.TransactionRepositoryCustom;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Latencia y memoria asignada por página de los listados: entidades gestionadas + MapStruct (como antes, en la
+ * misma transacción que usaba cada servicio) frente a filas construidas en la consulta en transacción de solo
+ * lectura. H2 corre en el mismo hilo, así que los bytes incluyen lo que asigna el motor; la diferencia entre
+ * modos es lo que se ahorra en la aplicación.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest"})
+@SpringBootTest
+class ListProjectionBenchmark {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("AccountRepositoryImpl")
+    private AccountRepositoryCustom accountRepositoryCustom;
+
+    @Autowired
+    @Qualifier("CustomerRepositoryImpl")
+    private CustomerRepositoryCustom customerRepositoryCustom;
+
+    @Autowired
+    @Qualifier("TransactionRepositoryImpl")
+    private TransactionRepositoryCustom transactionRepositoryCustom;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.customers}")
+    private int customers;
+
+    @Value("${loadtest.accounts}")
+    private int accounts;
+
+    @Value("${loadtest.movements}")
+    private int movements;
+
+    @Value("${loadtest.history-days}")
+    private int historyDays;
+
+    @Value("${loadtest.list-projection.pages:2000}")
+    private int pages;
+
+    @Value("${loadtest.list-projection.page-size:100}")
+    private int pageSize;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Test
+    void listPages() throws Exception {
+        new SyntheticDataGenerator(jdbcTemplate, seed).generate(customers, accounts, movements, historyDays);
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Listados: %d páginas de %d por modo%n%-22s %10s %10s %14s%n",
+                pages, pageSize, "modo", "p50 (µs)", "p99 (µs)", "bytes/página"));
+
+        int accountPages = Math.max(1, accounts / pageSize);
+        measure(report, "cuentas entidades", readWrite, accountPages, offset ->
+                accountRepositoryCustom.findAllWithFiltersPaginated(null, null, offset, pageSize)
+                        .stream().map(accountMapper::toDto).toList());
+        measure(report, "cuentas filas", readOnly, accountPages, offset ->
+                accountRepositoryCustom.findRowsPaginated(null, null, offset, pageSize)
+                        .stream().map(accountMapper::toDto).toList());
+
+        int customerPages = Math.max(1, customers / pageSize);
+        measure(report, "clientes entidades", readWrite, customerPages, offset ->
+                customerRepositoryCustom.findAllWithSearchPaginated(null, offset, pageSize)
+                        .stream().map(customerMapper::toDto).toList());
+        measure(report, "clientes filas", readOnly, customerPages, offset ->
+                customerRepositoryCustom.findRowsPaginated(null, offset, pageSize)
+                        .stream().map(customerMapper::toDto).toList());
+
+        // Las primeras páginas, que son las que se piden; más profundo domina el OFFSET en ambos modos
+        int movementPages = Math.max(1, Math.min(movements / pageSize, 20));
+        measure(report, "movimientos entidades", readOnly, movementPages, offset ->
+                transactionRepositoryCustom.findAllWithFiltersPaginated(null, null, null, offset, pageSize)
+                        .stream().map(transactionMapper::toDto).toList());
+        measure(report, "movimientos filas", readOnly, movementPages, offset ->
+                transactionRepositoryCustom.findRowsPaginated(null, null, null, offset, pageSize)
+                        .stream().map(transactionMapper::toDto).toList());
+
+        log.info("{}{}", System.lineSeparator(), report);
+        Path file = Path.of(reportDir, "list-projection-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+
+    private void measure(StringBuilder report, String mode, TransactionTemplate template, int pageCount,
+                         IntFunction<List<?>> page) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        Random random = new Random(seed);
+
+        // Calentamiento con el mismo modo antes de medir
+        for (int i = 0; i < pages / 10; i++) {
+            int offset = random.nextInt(pageCount) * pageSize;
+            template.execute(status -> page.apply(offset));
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < pages; i++) {
+            int offset = random.nextInt(pageCount) * pageSize;
+            long start = System.nanoTime();
+            template.execute(status -> page.apply(offset));
+            histogram.record(System.nanoTime() - start);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        report.append(String.format(Locale.ROOT, "%-22s %10d %10d %14d%n", mode,
+                histogram.percentileMicros(50), histogram.percentileMicros(99), allocated / pages));
+    }
+}
@@ -0,0 +1,150 @@
+package com.core.bank.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Cliente HTTP multi-hilo que ejecuta una carga mixta contra la API y registra latencias por endpoint.
+ */
+public class LoadDriver {
+
+    public static final String CREDIT = "POST /api/movimientos CREDITO";
+    public static final String DEBIT = "POST /api/movimientos DEBITO";
+    public static final String DEBIT_REJECTED = "POST /api/movimientos DEBITO (rechazado)";
+    public static final String LIST = "GET /api/movimientos";
+    public static final String REPORT = "GET /api/reportes";
+
+    private final String baseUrl;
+    private final SyntheticDataGenerator.Dataset dataset;
+    private final WorkloadMix mix;
+    private final long seed;
+    private final HttpClient httpClient;
+
+    public LoadDriver(String baseUrl, SyntheticDataGenerator.Dataset dataset, WorkloadMix mix, long seed) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.seed = seed;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public LoadResult run(int threads, Duration duration) throws Exception {
+        Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new java.util.ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Random random = new Random(seed + i);
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(random, histograms);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new LoadResult(histograms, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void execute(Random random, Map<String, LatencyHistogram> histograms) {
+        int roll = random.nextInt(mix.total());
+        if (roll < mix.credit()) {
+            post(random, "CREDITO", 10 + random.nextInt(500), histograms);
+        } else if (roll < mix.credit() + mix.debit()) {
+            // Montos altos para que varias cuentas alcancen el cupo diario durante la prueba
+            post(random, "DEBITO", 150 + random.nextInt(450), histograms);
+        } else if (roll < mix.credit() + mix.debit() + mix.list()) {
+            String accountId = pick(random, dataset.accountIds());
+            get(LIST, "/api/movimientos?page=" + random.nextInt(5) + "&size=10&cuentaId=" + accountId, histograms);
+        } else {
+            LocalDate to = LocalDate.now();
+            String customerId = pick(random, dataset.accountOwners());
+            get(REPORT, "/api/reportes?clienteId=" + customerId + "&from=" + to.minusDays(30)
+                    + "&to=" + to + "&format=json", histograms);
+        }
+    }
+
+    private void post(Random random, String type, int amount, Map<String, LatencyHistogram> histograms) {
+        String body = String.format(Locale.ROOT,
+                "{\"accountId\":\"%s\",\"transactionType\":\"%s\",\"amount\":%d,\"description\":\"Carga %s\"}",
+                pick(random, dataset.accountIds()), type, amount, type);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/movimientos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        String endpoint = "CREDITO".equals(type) ? CREDIT : DEBIT;
+        long start = System.nanoTime();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long elapsed = System.nanoTime() - start;
+            if (status == 201) {
+                histogram(histograms, endpoint).record(elapsed);
+            } else if (status == 409 && DEBIT.equals(endpoint)) {
+                histogram(histograms, DEBIT_REJECTED).record(elapsed);
+            } else {
+                histogram(histograms, endpoint).recordError();
+            }
+        } catch (IOException e) {
+            histogram(histograms, endpoint).recordError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void get(String endpoint, String path, Map<String, LatencyHistogram> histograms) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        long start = System.nanoTime();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 200) {
+                histogram(histograms, endpoint).record(System.nanoTime() - start);
+            } else {
+                histogram(histograms, endpoint).recordError();
+            }
+        } catch (IOException e) {
+            histogram(histograms, endpoint).recordError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String endpoint) {
+        return histograms.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    public record WorkloadMix(int credit, int debit, int list, int report) {
+
+        public int total() {
+            return credit + debit + list + report;
+        }
+    }
+}
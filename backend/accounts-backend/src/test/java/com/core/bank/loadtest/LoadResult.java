@@ -0,0 +1,58 @@
+package com.core.bank.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LoadResult {
+
+    private final Map<String, LatencyHistogram> histograms;
+    private final Duration elapsed;
+
+    public LoadResult(Map<String, LatencyHistogram> histograms, Duration elapsed) {
+        this.histograms = new TreeMap<>(histograms);
+        this.elapsed = elapsed;
+    }
+
+    public Map<String, LatencyHistogram> histograms() {
+        return histograms;
+    }
+
+    public long totalRequests() {
+        return histograms.values().stream().mapToLong(LatencyHistogram::count).sum();
+    }
+
+    public long totalErrors() {
+        return histograms.values().stream().mapToLong(LatencyHistogram::errors).sum();
+    }
+
+    public String format(String title) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        StringBuilder out = new StringBuilder();
+        out.append(title).append(System.lineSeparator());
+        out.append(String.format(Locale.ROOT, "Duración: %.1f s | Peticiones: %d | Errores: %d | Throughput total: %.1f req/s%n",
+                seconds, totalRequests(), totalErrors(), totalRequests() / seconds));
+        out.append(String.format(Locale.ROOT, "%-42s %9s %7s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Count", "Errors", "req/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)"));
+        histograms.forEach((endpoint, histogram) -> out.append(String.format(Locale.ROOT,
+                "%-42s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint,
+                histogram.count(),
+                histogram.errors(),
+                histogram.count() / seconds,
+                histogram.percentileMicros(50) / 1000.0,
+                histogram.percentileMicros(99) / 1000.0,
+                histogram.percentileMicros(99.9) / 1000.0,
+                histogram.maxMicros() / 1000.0)));
+        return out.toString();
+    }
+
+    public void write(Path file, String title) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, format(title));
+    }
+}
@@ -0,0 +1,169 @@
+package com.core.bank.loadtest;
+
+import com.core.bank.application.service.TransactionService;
+import com.core.bank.domain.entity.Account;
+import com.core.bank.domain.entity.Transaction;
+import com.core.bank.infrastructure.exception.BusinessRuleException;
+import com.core.bank.infrastructure.exception.GlobalExceptionHandler;
+import com.core.bank.model.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Rechazos por segundo: excepción con stack trace y log por rechazo (comportamiento anterior) frente a la
+ * excepción sin stack y el log con límite de {@link GlobalExceptionHandler}, lanzadas a la misma profundidad.
+ * La última fila mide el rechazo completo de un débito sin saldo en {@link TransactionService}.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles({"h2", "loadtest"})
+@SpringBootTest
+class RejectionPathBenchmark {
+
+    private static final String MESSAGE = "Saldo no disponible";
+    private static final Logger HANDLER_LOG = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.threads}")
+    private int threads;
+
+    @Value("${loadtest.rejections.count:200000}")
+    private int count;
+
+    // Del orden de la pila de una petición MVC con filtros y proxies transaccionales
+    @Value("${loadtest.rejections.depth:150}")
+    private int depth;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Test
+    void rejectionPath() throws Exception {
+        SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(jdbcTemplate, seed).generate(1, 1, 0, 1);
+        String accountId = dataset.accountIds().get(0);
+        jdbcTemplate.update("UPDATE cuentas SET current_balance = 0 WHERE id = ?", accountId);
+
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "Rechazos: %d por modo, %d hilos, profundidad %d%n%-22s %12s %14s%n",
+                count, threads, depth, "modo", "segundos", "rechazos/s"));
+
+        measure(report, "anterior", count, this::legacyRejection);
+        measure(report, "sin stack", count, this::currentRejection);
+        measure(report, "débito completo", count / 10, () -> rejectedDebit(accountId));
+
+        log.info("{}{}", System.lineSeparator(), report);
+        Path file = Path.of(reportDir, "rejection-path-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+
+    private void measure(StringBuilder report, String mode, int iterations, Runnable rejection) throws Exception {
+        // Calentamiento con el mismo modo antes de medir
+        run(iterations / 10, rejection);
+        long start = System.nanoTime();
+        run(iterations, rejection);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report.append(String.format(Locale.ROOT, "%-22s %12.2f %14.0f%n", mode, seconds, iterations / seconds));
+    }
+
+    private void run(int iterations, Runnable rejection) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int share = iterations / threads + (t < iterations % threads ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < share; i++) {
+                        rejection.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void legacyRejection() {
+        try {
+            throwAt(depth, () -> new RuntimeException(MESSAGE));
+        } catch (RuntimeException e) {
+            HANDLER_LOG.warn("Business rule violation: {}", e.getMessage());
+            meterRegistry.counter("bank.api.rejections", "type", "business_rule").increment();
+            ErrorResponse errorResponse = new ErrorResponse()
+                    .code(HttpStatus.CONFLICT.value())
+                    .message(e.getMessage())
+                    .timestamp(OffsetDateTime.now());
+            new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+    }
+
+    private void currentRejection() {
+        try {
+            throwAt(depth, () -> new BusinessRuleException(MESSAGE));
+        } catch (BusinessRuleException e) {
+            exceptionHandler.handleBusinessRuleException(e, null);
+        }
+    }
+
+    private void rejectedDebit(String accountId) {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction debit = new Transaction();
+        debit.setAccount(account);
+        debit.setType("DEBITO");
+        debit.setAmount(BigDecimal.TEN);
+        debit.setDescription("Rechazo");
+        try {
+            transactionService.create(debit);
+        } catch (BusinessRuleException e) {
+            exceptionHandler.handleBusinessRuleException(e, null);
+        }
+    }
+
+    private static void throwAt(int frames, Supplier<RuntimeException> exception) {
+        if (frames <= 0) {
+            throw exception.get();
+        }
+        throwAt(frames - 1, exception);
+    }
+}
@@ -0,0 +1,172 @@
+package com.core.bank.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Genera clientes, cuentas y movimientos de forma determinista a partir de una semilla.
+ * Los saldos de cada cuenta quedan consistentes con la secuencia de movimientos generada.
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] GENDERS = {"MASCULINO", "FEMENINO", "OTRO"};
+    private static final String[] ACCOUNT_TYPES = {"AHORRO", "CORRIENTE"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(int customers, int accounts, int movements, int historyDays) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        List<String> customerIds = insertCustomers(customers, now);
+        List<SeedAccount> seedAccounts = buildAccounts(accounts, customerIds, now.minusDays(historyDays));
+        insertAccounts(seedAccounts);
+        insertMovements(seedAccounts, movements, historyDays, now);
+        updateBalances(seedAccounts);
+
+        return new Dataset(customerIds,
+                seedAccounts.stream().map(SeedAccount::id).toList(),
+                seedAccounts.stream().map(SeedAccount::customerId).toList());
+    }
+
+    private List<String> insertCustomers(int count, LocalDateTime now) {
+        List<String> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String id = nextUuid();
+            ids.add(id);
+            rows.add(new Object[]{
+                    id, "CLIENTE", "Cliente " + i, GENDERS[random.nextInt(GENDERS.length)],
+                    18 + random.nextInt(60), String.format("%010d", 1_000_000_000L + i),
+                    "Direccion " + i, String.format("09%08d", i), String.format("%04d", random.nextInt(10_000)),
+                    true, Timestamp.valueOf(now), Timestamp.valueOf(now)
+            });
+            if (rows.size() == BATCH_SIZE) {
+                flushCustomers(rows);
+            }
+        }
+        flushCustomers(rows);
+        return ids;
+    }
+
+    private void flushCustomers(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO personas (id, tipo_persona, name, gender, age, identification, "
+                + "address, phone, password, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        rows.clear();
+    }
+
+    private List<SeedAccount> buildAccounts(int count, List<String> customerIds, LocalDateTime createdAt) {
+        List<SeedAccount> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String customerId = customerIds.get(i < customerIds.size() ? i : random.nextInt(customerIds.size()));
+            BigDecimal initial = BigDecimal.valueOf(500 + random.nextInt(4_500)).setScale(2, RoundingMode.HALF_UP);
+            accounts.add(new SeedAccount(nextUuid(), String.valueOf(100_000 + i),
+                    ACCOUNT_TYPES[random.nextInt(ACCOUNT_TYPES.length)], initial, customerId, createdAt,
+                    new BigDecimal[]{initial}));
+        }
+        return accounts;
+    }
+
+    private void insertMovements(List<SeedAccount> accounts, int count, int historyDays, LocalDateTime now) {
+        long windowSeconds = historyDays * 86_400L;
+        long[] offsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = (long) (random.nextDouble() * windowSeconds);
+        }
+        // Orden cronológico para que el saldo de cada movimiento sea el saldo acumulado real
+        Arrays.sort(offsets);
+        LocalDateTime start = now.minusSeconds(windowSeconds);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            SeedAccount account = accounts.get(random.nextInt(accounts.size()));
+            BigDecimal balance = account.balance()[0];
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(300)).setScale(2, RoundingMode.HALF_UP);
+            boolean debit = random.nextBoolean() && balance.compareTo(amount) >= 0;
+            balance = debit ? balance.subtract(amount) : balance.add(amount);
+            account.balance()[0] = balance;
+
+            Timestamp date = Timestamp.valueOf(start.plusSeconds(offsets[i]));
+            rows.add(new Object[]{
+                    nextUuid(), date, debit ? "RETIRO" : "DEPOSITO", debit ? "DEBITO" : "CREDITO",
+                    amount, balance, account.id(), date
+            });
+            if (rows.size() == BATCH_SIZE) {
+                flushMovements(rows);
+            }
+        }
+        flushMovements(rows);
+    }
+
+    private void flushMovements(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO movimientos (id, date, description, transaction_type, amount, "
+                + "balance, cuenta_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void insertAccounts(List<SeedAccount> accounts) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (SeedAccount account : accounts) {
+            Timestamp createdAt = Timestamp.valueOf(account.createdAt());
+            rows.add(new Object[]{
+                    account.id(), account.accountNumber(), account.accountType(), account.initialBalance(),
+                    account.initialBalance(), true, account.customerId(), createdAt, createdAt
+            });
+            if (rows.size() == BATCH_SIZE) {
+                flushAccounts(rows);
+            }
+        }
+        flushAccounts(rows);
+    }
+
+    private void updateBalances(List<SeedAccount> accounts) {
+        List<Object[]> rows = accounts.stream()
+                .map(account -> new Object[]{account.balance()[0], account.id()})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE cuentas SET current_balance = ? WHERE id = ?", rows);
+    }
+
+    private void flushAccounts(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cuentas (id, account_number, account_type, initial_balance, "
+                + "current_balance, status, cliente_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        rows.clear();
+    }
+
+    private String nextUuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private record SeedAccount(String id, String accountNumber, String accountType, BigDecimal initialBalance,
+                               String customerId, LocalDateTime createdAt, BigDecimal[] balance) {
+    }
+
+    public record Dataset(List<String> customerIds, List<String> accountIds, List<String> accountOwners) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.core.bank.support;
+
+import com.core.bank.infrastructure.persistence.SqlStatementContext;
+import com.core.bank.infrastructure.persistence.SqlStatementStats;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL que emite Hibernate para una consulta y su plan en H2. El EXPLAIN no evalúa los parámetros, así que se
+ * ligan a null. Requiere el inspector de sentencias (app.sql-stats.enabled, activo por defecto).
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    /**
+     * Única sentencia emitida por la consulta, con los espacios normalizados.
+     */
+    public static String statement(Runnable query) {
+        SqlStatementStats stats = SqlStatementContext.open();
+        try {
+            query.run();
+        } finally {
+            SqlStatementContext.close();
+        }
+        Set<String> shapes = stats.getShapes();
+        assertEquals(1, shapes.size(), shapes::toString);
+        return shapes.iterator().next().replaceAll("\\s+", " ");
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        Object[] nulls = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, nulls).toLowerCase(Locale.ROOT);
+    }
+
+    public static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains("." + index), plan);
+        assertNoFullScan(plan);
+    }
+
+    public static void assertNoFullScan(String plan) {
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+}
@@ -0,0 +1,40 @@
+package com.core.bank.support;
+
+import com.core.bank.infrastructure.persistence.SqlStatementBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Falla la prueba cuando un endpoint ejecuta más sentencias SQL que las declaradas o serializa la respuesta
+ * sin haber devuelto la conexión JDBC.
+ * Requiere que la petición pase por {@link SqlStatementBudgetFilter} (contexto completo con MockMvc).
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER);
+            assertNotNull(header, "La respuesta no incluye " + SqlStatementBudgetFilter.STATEMENTS_HEADER);
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= budget, String.format("%s %s ejecutó %d sentencias SQL (presupuesto: %d)",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), statements, budget));
+        };
+    }
+
+    /**
+     * Falla si al empezar a escribir la respuesta la petición sigue con una conexión JDBC tomada.
+     */
+    public static ResultMatcher releasesConnectionBeforeBody() {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementBudgetFilter.CONNECTIONS_HEADER);
+            assertNotNull(header, "La respuesta no incluye " + SqlStatementBudgetFilter.CONNECTIONS_HEADER);
+            assertTrue(Integer.parseInt(header) == 0, String.format("%s %s serializó la respuesta con %s conexión(es) JDBC tomada(s)",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), header));
+        };
+    }
+}
@@ -4,7 +4,7 @@ import { Account } from '../../services/account';
 import { Client } from '../../services/client';
 import { NotificationService } from '../../services/notification';
 import { of } from 'rxjs';
-import { Cuenta, Cliente } from '../../services/models';
+import { Cuenta, Opcion } from '../../services/models';
 
 describe('Accounts Component', () => {
   let component: Accounts;
@@ -25,18 +25,8 @@ describe('Accounts Component', () => {
     }
   ];
 
-  const mockClientes: Cliente[] = [
-    {
-      id: 'cust-1',
-      name: 'Juan Pérez',
-      gender: 'MASCULINO',
-      age: 30,
-      identification: '123456789',
-      address: 'Calle 1',
-      phone: '123456789',
-      password: 'pass',
-      status: true
-    }
+  const mockClientes: Opcion[] = [
+    { id: 'cust-1', label: 'Juan Pérez (123456789)' }
   ];
 
   beforeEach(async () => {
@@ -49,7 +39,7 @@ describe('Accounts Component', () => {
       listarPorCliente: jest.fn()
     };
     const clientServiceMock = {
-      listar: jest.fn()
+      buscar: jest.fn()
     };
     const notificationServiceMock = {
       success: jest.fn(),
@@ -79,16 +69,14 @@ describe('Accounts Component', () => {
 
   it('should load clients when opening new account modal', () => {
     
-    clientService.listar.mockReturnValue(
-      of({ content: mockClientes, page: 0, size: 200, totalElements: 1, totalPages: 1 })
-    );
+    clientService.buscar.mockReturnValue(of(mockClientes));
 
     component.onNewAccount();
 
     
-    expect(clientService.listar).toHaveBeenCalledWith(0, 200);
+    expect(clientService.buscar).toHaveBeenCalledWith('');
     expect(component.filteredClients.length).toBe(1);
-    expect(component.filteredClients[0].name).toBe('Juan Pérez');
+    expect(component.filteredClients[0].label).toBe('Juan Pérez (123456789)');
     expect(component.showModal).toBe(true);
     expect(component.modalMode).toBe('create');
   });
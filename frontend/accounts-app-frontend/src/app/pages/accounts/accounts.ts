@@ -1,12 +1,12 @@
-import { Component, OnInit, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
+import { Component, OnInit, OnDestroy, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { Observable, BehaviorSubject } from 'rxjs';
-import { switchMap, shareReplay, tap, map } from 'rxjs/operators';
+import { Observable, BehaviorSubject, Subject, Subscription, of } from 'rxjs';
+import { switchMap, shareReplay, tap, map, catchError, debounceTime, distinctUntilChanged } from 'rxjs/operators';
 import { Account } from '../../services/account';
 import { Client } from '../../services/client';
 import { NotificationService } from '../../services/notification';
-import { Cuenta, AccountRequest, Cliente } from '../../services/models';
+import { Cuenta, AccountRequest, Opcion } from '../../services/models';
 import { Movements } from '../movements/movements';
 
 @Component({
@@ -17,7 +17,7 @@ import { Movements } from '../movements/movements';
   styleUrl: './accounts.scss',
   changeDetection: ChangeDetectionStrategy.OnPush
 })
-export class Accounts implements OnInit {
+export class Accounts implements OnInit, OnDestroy {
   @Input() clientIdFilter: string = '';
   @Input() isModal: boolean = false;
   
@@ -51,7 +51,10 @@ export class Accounts implements OnInit {
     currentBalance: 0
   };
 
-  filteredClients: Cliente[] = [];
+  filteredClients: Opcion[] = [];
+  clientSearchTerm = '';
+  private clientSearch$ = new Subject<string>();
+  private clientSearchSubscription?: Subscription;
 
   get currentPage(): number {
     return this.pagination$.value.currentPage;
@@ -77,6 +80,15 @@ export class Accounts implements OnInit {
   ) {}
 
   ngOnInit(): void {
+    // Búsqueda por prefijo en el servidor a medida que se escribe
+    this.clientSearchSubscription = this.clientSearch$.pipe(
+      debounceTime(250),
+      distinctUntilChanged(),
+      switchMap(term => this.clientService.buscar(term).pipe(catchError(() => of([] as Opcion[]))))
+    ).subscribe(options => {
+      this.filteredClients = options;
+      this.cdr.markForCheck();
+    });
     if (this.clientIdFilter) {
       this.formData.customerId = this.clientIdFilter;
       this.loadAccountsByClient(this.clientIdFilter);
@@ -85,6 +97,10 @@ export class Accounts implements OnInit {
     }
   }
 
+  ngOnDestroy(): void {
+    this.clientSearchSubscription?.unsubscribe();
+  }
+
   loadAccountsByClient(clientId: string): void {
     this.accountService.listarPorCliente(clientId).subscribe({
       next: (response: any) => {
@@ -99,15 +115,20 @@ export class Accounts implements OnInit {
   }
 
   loadClients(): void {
-    this.clientService.listar(0, 200).subscribe({
-      next: (response: any) => {
-        this.filteredClients = response.content || response || [];
+    this.clientSearchTerm = '';
+    this.clientService.buscar('').subscribe({
+      next: (options: Opcion[]) => {
+        this.filteredClients = options;
         this.cdr.markForCheck();
       },
       error: () => this.cdr.markForCheck()
     });
   }
 
+  onClientSearch(): void {
+    this.clientSearch$.next(this.clientSearchTerm.trim());
+  }
+
   loadAccounts(): void {
     this.accounts$ = this.pagination$.pipe(
       switchMap(pagination =>
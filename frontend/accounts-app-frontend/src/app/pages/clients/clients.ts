@@ -1,13 +1,14 @@
-import { Component, OnInit, ChangeDetectionStrategy, ChangeDetectorRef } from '@angular/core';
+import { Component, OnInit, OnDestroy, ChangeDetectionStrategy, ChangeDetectorRef } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { Observable, BehaviorSubject } from 'rxjs';
+import { Observable, BehaviorSubject, Subscription } from 'rxjs';
 import { switchMap, shareReplay, tap, map } from 'rxjs/operators';
 import { Client } from '../../services/client';
 import { Account } from '../../services/account';
 import { Movement } from '../../services/movement';
+import { AccountStream } from '../../services/account-stream';
 import { NotificationService } from '../../services/notification';
-import { Cliente, CustomerRequest } from '../../services/models';
+import { Cliente, CustomerRequest, ActualizacionCuenta } from '../../services/models';
 import { Reports } from '../reports/reports';
 
 @Component({
@@ -18,7 +19,7 @@ import { Reports } from '../reports/reports';
   styleUrl: './clients.scss',
   changeDetection: ChangeDetectionStrategy.OnPush
 })
-export class Clients implements OnInit {
+export class Clients implements OnInit, OnDestroy {
   searchTerm = '';
   clients$!: Observable<Cliente[]>;
   showPassword = false;
@@ -50,6 +51,8 @@ export class Clients implements OnInit {
   showAccountFormModal = false;
   showMovementFormModal = false;
   currentClient: Cliente | null = null;
+  private streamSubscription?: Subscription;
+  private streamConnected = false;
 
   formData: CustomerRequest = {
     name: '',
@@ -96,6 +99,7 @@ export class Clients implements OnInit {
     private clientService: Client,
     private accountService: Account,
     private movementService: Movement,
+    private accountStream: AccountStream,
     private notificationService: NotificationService,
     private cdr: ChangeDetectorRef
   ) {}
@@ -104,6 +108,10 @@ export class Clients implements OnInit {
     this.loadClients();
   }
 
+  ngOnDestroy(): void {
+    this.streamSubscription?.unsubscribe();
+  }
+
   loadClients(): void {
     this.clients$ = this.pagination$.pipe(
       switchMap(pagination =>
@@ -312,6 +320,7 @@ export class Clients implements OnInit {
 
   onCloseAccountsModal(): void {
     this.showAccountsModal = false;
+    this.streamSubscription?.unsubscribe();
     this.cdr.markForCheck();
   }
 
@@ -341,6 +350,7 @@ export class Clients implements OnInit {
     this.accountService.listarPorCliente(this.selectedClientId, 0, 100).subscribe({
       next: (response: any) => {
         this.clientAccounts = response.content || [];
+        this.subscribeToUpdates();
         this.cdr.markForCheck();
       },
       error: (err: any) => {
@@ -350,6 +360,37 @@ export class Clients implements OnInit {
     });
   }
 
+  // Saldo y movimientos de las cuentas del cliente por SSE, sin volver a consultar tras cada registro
+  subscribeToUpdates(): void {
+    this.streamSubscription?.unsubscribe();
+    this.streamSubscription = this.accountStream
+      .suscribir(this.clientAccounts.map(a => a.id), conectado => this.streamConnected = conectado)
+      .subscribe(update => this.applyUpdate(update));
+  }
+
+  applyUpdate(update: ActualizacionCuenta): void {
+    const account = this.clientAccounts.find(a => a.id === update.accountId);
+    if (account) {
+      account.currentBalance = update.currentBalance;
+    }
+    if (update.accountId === this.selectedAccountId) {
+      if (update.eventType === 'CREADO') {
+        this.accountMovements = [{
+          id: update.movementId,
+          date: update.date,
+          description: update.description,
+          transactionType: update.transactionType,
+          amount: update.amount,
+          balance: update.balance,
+          accountId: update.accountId
+        }, ...this.accountMovements].slice(0, 50);
+      } else {
+        this.accountMovements = this.accountMovements.filter(m => m.id !== update.movementId);
+      }
+    }
+    this.cdr.markForCheck();
+  }
+
   onSelectAccount(account: any): void {
     this.selectedAccountId = account.id;
     this.loadAccountMovements();
@@ -483,7 +524,9 @@ export class Clients implements OnInit {
       next: () => {
         this.notificationService.show('Movimiento registrado correctamente', 'success');
         this.showMovementFormModal = false;
-        this.loadAccountMovements();
+        if (!this.streamConnected) {
+          this.loadAccountMovements();
+        }
       },
       
     });
@@ -1,12 +1,13 @@
-import { Component, OnInit, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
+import { Component, OnInit, OnDestroy, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { Observable, BehaviorSubject } from 'rxjs';
-import { switchMap, shareReplay, tap, map } from 'rxjs/operators';
+import { Observable, BehaviorSubject, Subject, Subscription, of } from 'rxjs';
+import { switchMap, shareReplay, tap, map, filter, scan, startWith, catchError, debounceTime, distinctUntilChanged } from 'rxjs/operators';
 import { Movement } from '../../services/movement';
 import { Account } from '../../services/account';
+import { AccountStream } from '../../services/account-stream';
 import { NotificationService } from '../../services/notification';
-import { Movimiento, TransactionRequest, Cuenta } from '../../services/models';
+import { Movimiento, TransactionRequest, Cuenta, ActualizacionCuenta, Opcion } from '../../services/models';
 
 @Component({
   selector: 'app-movements',
@@ -16,14 +17,14 @@ import { Movimiento, TransactionRequest, Cuenta } from '../../services/models';
   styleUrl: './movements.scss',
   changeDetection: ChangeDetectionStrategy.OnPush
 })
-export class Movements implements OnInit {
+export class Movements implements OnInit, OnDestroy {
   @Input() accountIdFilter: string = '';
   @Input() isModal: boolean = false;
   
   movements$!: Observable<Movimiento[]>;
   accounts$!: Observable<Cuenta[]>;
-  allAccounts: Cuenta[] = [];
-  filteredAccounts: Cuenta[] = [];
+  allAccounts: Opcion[] = [];
+  filteredAccounts: Opcion[] = [];
   selectedAccount: Cuenta | null = null;
   selectedAccountId = '';
   searchTerm = '';
@@ -36,6 +37,22 @@ export class Movements implements OnInit {
     totalRecords: 0
   });
 
+  // Movimientos recibidos por SSE; los creados se anteponen a la primera página y los eliminados se quitan sin volver a consultar
+  private pushedMovements$ = new Subject<{ removed: boolean; movement: Movimiento }>();
+  private streamSubscription?: Subscription;
+  private streamConnected = false;
+  private subscribedAccounts = new Set<string>();
+  // Altas y bajas recibidas por SSE desde la última consulta, para el total sin volver a contar
+  private pushedRecords = 0;
+
+  // Búsqueda de cuentas por prefijo en el servidor; se recuerdan las opciones vistas para mostrar la elegida
+  private accountSearch$ = new Subject<string>();
+  private accountSearchSubscription?: Subscription;
+  private knownAccounts = new Map<string, Opcion>();
+
+  // Número de cuenta de cada movimiento listado, resuelto con una sola llamada por página
+  accountNumbers = new Map<string, string>();
+
   showModal = false;
   modalMode: 'create' | 'edit' = 'create';
   selectedMovementId: string = '';
@@ -61,18 +78,26 @@ export class Movements implements OnInit {
   }
 
   get totalRecords(): number {
-    return this.pagination$.value.totalRecords;
+    return this.pagination$.value.totalRecords + this.pushedRecords;
   }
 
   constructor(
     private movementService: Movement,
     private accountService: Account,
+    private accountStream: AccountStream,
     private notificationService: NotificationService,
     private cdr: ChangeDetectorRef
   ) {}
 
   ngOnInit(): void {
-    this.loadAccounts();
+    this.accountSearchSubscription = this.accountSearch$.pipe(
+      debounceTime(250),
+      distinctUntilChanged(),
+      switchMap(term => this.accountService.buscar(term).pipe(catchError(() => of([] as Opcion[]))))
+    ).subscribe(options => {
+      this.filteredAccounts = this.remember(options);
+      this.cdr.markForCheck();
+    });
     if (this.accountIdFilter) {
       this.selectedAccountId = this.accountIdFilter;
       this.formData.accountId = this.accountIdFilter;
@@ -86,33 +111,66 @@ export class Movements implements OnInit {
           this.cdr.markForCheck();
         }
       });
-      this.loadMovementsByAccount(this.accountIdFilter);
+      // Misma consulta paginada que la vista general para que los movimientos del stream se integren
+      this.loadMovements();
+      this.subscribeToUpdates([this.accountIdFilter]);
     } else {
+      this.loadAccounts();
       this.loadMovements();
     }
   }
 
-  loadAccounts(): void {
-    this.accountService.listar(0, 100, '').subscribe({
-      next: (response: any) => {
-        this.allAccounts = response.content || [];
-        this.cdr.markForCheck();
-      },
-      error: (err: any) => {
-        console.error('Error loading accounts:', err);
+  ngOnDestroy(): void {
+    this.streamSubscription?.unsubscribe();
+    this.accountSearchSubscription?.unsubscribe();
+  }
+
+  subscribeToUpdates(accountIds: string[]): void {
+    this.streamSubscription?.unsubscribe();
+    this.subscribedAccounts = new Set(accountIds);
+    this.streamSubscription = this.accountStream
+      .suscribir(accountIds, conectado => this.streamConnected = conectado)
+      .subscribe(update => this.applyUpdate(update));
+  }
+
+  applyUpdate(update: ActualizacionCuenta): void {
+    if (this.selectedAccount?.id === update.accountId) {
+      this.selectedAccount = { ...this.selectedAccount, currentBalance: update.currentBalance };
+    }
+    const removed = update.eventType === 'ELIMINADO';
+    if (update.eventType === 'CREADO' || removed) {
+      if (!removed) {
+        this.resolveAccounts([update.accountId]);
       }
-    });
+      if (!this.selectedAccountId || update.accountId === this.selectedAccountId) {
+        this.pushedRecords += removed ? -1 : 1;
+      }
+      this.pushedMovements$.next({
+        removed,
+        movement: {
+          id: update.movementId,
+          date: update.date,
+          description: update.description,
+          type: update.transactionType,
+          amount: update.amount,
+          balance: update.balance,
+          accountId: update.accountId
+        }
+      });
+    }
+    this.cdr.markForCheck();
   }
 
-  loadMovementsByAccount(accountId: string): void {
-    this.movementService.listarPorCuenta(accountId).subscribe({
-      next: (response: any) => {
-        this.movements$ = new Promise(resolve => resolve(response.content || response)) as any;
+  loadAccounts(): void {
+    this.accountService.buscar('', 100).subscribe({
+      next: (options: Opcion[]) => {
+        this.allAccounts = this.remember(options);
+        this.filteredAccounts = this.allAccounts;
+        this.subscribeToUpdates(this.allAccounts.map(a => a.id));
         this.cdr.markForCheck();
       },
       error: (err: any) => {
-        console.error('Error loading movements:', err);
-        this.cdr.markForCheck();
+        console.error('Error loading accounts:', err);
       }
     });
   }
@@ -122,6 +180,7 @@ export class Movements implements OnInit {
       switchMap(pagination =>
         this.movementService.listar(pagination.currentPage - 1, pagination.pageSize, this.selectedAccountId).pipe(
           tap((response: any) => {
+            this.pushedRecords = 0;
             const newPagination = {
               currentPage: pagination.currentPage,
               pageSize: pagination.pageSize,
@@ -135,7 +194,16 @@ export class Movements implements OnInit {
             }
             this.cdr.markForCheck();
           }),
-          map((response: any) => response.content || [])
+          map((response: any) => response.content || []),
+          tap((movements: Movimiento[]) => this.resolveAccounts(movements.map(m => m.accountId))),
+          switchMap((movements: Movimiento[]) => this.pushedMovements$.pipe(
+            filter(({ removed, movement }) => (removed || pagination.currentPage === 1)
+              && (!this.selectedAccountId || movement.accountId === this.selectedAccountId)),
+            scan((current: Movimiento[], { removed, movement }) => removed
+              ? current.filter(m => m.id !== movement.id)
+              : [movement, ...current].slice(0, pagination.pageSize), movements),
+            startWith(movements)
+          ))
         )
       ),
       shareReplay(1)
@@ -149,6 +217,23 @@ export class Movements implements OnInit {
     });
   }
 
+  resolveAccounts(accountIds: (string | undefined)[]): void {
+    if (this.isModal) {
+      return;
+    }
+    const ids = [...new Set(accountIds)].filter((id): id is string => !!id && !this.accountNumbers.has(id));
+    if (ids.length === 0) {
+      return;
+    }
+    this.accountService.obtenerVarios(ids).subscribe({
+      next: lote => {
+        lote.content.forEach(account => this.accountNumbers.set(account.id!, account.accountNumber));
+        this.cdr.markForCheck();
+      },
+      error: () => this.cdr.markForCheck()
+    });
+  }
+
   onSearch(): void {
     this.pagination$.next({ ...this.pagination$.value, currentPage: 1 });
     this.loadMovements();
@@ -156,36 +241,47 @@ export class Movements implements OnInit {
 
   onAccountFilterToggle(): void {
     this.accountFilterOpen = !this.accountFilterOpen;
-    if (this.accountFilterOpen) {
-      this.filterAccounts();
-    }
   }
 
   filterAccounts(): void {
-    if (!this.accountSearchTerm.trim()) {
-      this.filteredAccounts = [...this.allAccounts];
-    } else {
-      const term = this.accountSearchTerm.toLowerCase();
-      this.filteredAccounts = this.allAccounts.filter(account =>
-        account.accountNumber.toLowerCase().includes(term) ||
-        account.accountType.toLowerCase().includes(term)
-      );
-    }
+    this.accountSearch$.next(this.accountSearchTerm.trim());
   }
 
   onAccountSelected(accountId: string): void {
     this.selectedAccountId = accountId;
     this.accountFilterOpen = false;
     this.accountSearchTerm = '';
+    this.filterAccounts();
     this.onSearch();
   }
 
+  // Opciones del formulario: la cuenta elegida se mantiene aunque ya no coincida con la búsqueda
+  get formAccounts(): Opcion[] {
+    const selected = this.knownAccounts.get(this.formData.accountId);
+    return selected && !this.filteredAccounts.includes(selected)
+      ? [selected, ...this.filteredAccounts]
+      : this.filteredAccounts;
+  }
+
   getSelectedAccountName(): string {
     if (!this.formData.accountId) {
       return 'Seleccionar Cuenta';
     }
-    const account = this.allAccounts.find(a => a.id === this.formData.accountId);
-    return account ? `${account.accountNumber} - ${account.accountType}` : 'Cuenta no encontrada';
+    if (this.selectedAccount?.id === this.formData.accountId) {
+      return `${this.selectedAccount.accountNumber} - ${this.selectedAccount.accountType}`;
+    }
+    return this.knownAccounts.get(this.formData.accountId)?.label ?? 'Cuenta no encontrada';
+  }
+
+  private remember(options: Opcion[]): Opcion[] {
+    return options.map(option => {
+      const known = this.knownAccounts.get(option.id);
+      if (known && known.label === option.label) {
+        return known;
+      }
+      this.knownAccounts.set(option.id, option);
+      return option;
+    });
   }
 
   onNewMovement(): void {
@@ -197,6 +293,8 @@ export class Movements implements OnInit {
       amount: 0,
       accountId: this.selectedAccountId
     };
+    this.accountSearchTerm = '';
+    this.filterAccounts();
     this.showModal = true;
     this.cdr.markForCheck();
   }
@@ -212,6 +310,7 @@ export class Movements implements OnInit {
 
     this.movementService.crear(this.formData).subscribe({
       next: () => {
+        const accountId = this.formData.accountId;
         this.notificationService.success('Movimiento creado correctamente');
         this.showModal = false;
         this.formData = {
@@ -221,7 +320,10 @@ export class Movements implements OnInit {
           amount: 0,
           accountId: ''
         };
-        this.loadMovements();
+        // Con el stream abierto el movimiento y el saldo llegan por SSE, solo si la cuenta está suscrita
+        if (!this.streamConnected || !this.subscribedAccounts.has(accountId)) {
+          this.loadMovements();
+        }
         this.cdr.markForCheck();
       },
       error: () => {
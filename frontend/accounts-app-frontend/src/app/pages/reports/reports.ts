@@ -1,10 +1,12 @@
-import { Component, OnInit, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
+import { Component, OnInit, OnDestroy, ChangeDetectionStrategy, ChangeDetectorRef, Input } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
+import { Subject, Subscription, of } from 'rxjs';
+import { catchError, debounceTime, distinctUntilChanged, switchMap } from 'rxjs/operators';
 import { Report } from '../../services/report';
 import { Client } from '../../services/client';
 import { NotificationService } from '../../services/notification';
-import { Cliente } from '../../services/models';
+import { Opcion } from '../../services/models';
 
 @Component({
   selector: 'app-reports',
@@ -14,13 +16,13 @@ import { Cliente } from '../../services/models';
   styleUrl: './reports.scss',
   changeDetection: ChangeDetectionStrategy.OnPush
 })
-export class Reports implements OnInit {
+export class Reports implements OnInit, OnDestroy {
   @Input() clientIdFilter: string = '';
   @Input() isModal: boolean = false;
   
-  clients: Cliente[] = [];
-  filteredClients: Cliente[] = [];
+  filteredClients: Opcion[] = [];
   selectedClientId: string = '';
+  selectedClientLabel = '';
   clientFilterOpen = false;
   clientSearchTerm = '';
   dateFrom: string = '';
@@ -30,6 +32,9 @@ export class Reports implements OnInit {
   reportGenerated = false;
   reportData: any = null;
 
+  private clientSearch$ = new Subject<string>();
+  private clientSearchSubscription?: Subscription;
+
   constructor(
     private reportService: Report,
     private clientService: Client,
@@ -38,9 +43,20 @@ export class Reports implements OnInit {
   ) {}
 
   ngOnInit(): void {
-    this.loadClients();
+    // Búsqueda por prefijo en el servidor a medida que se escribe
+    this.clientSearchSubscription = this.clientSearch$.pipe(
+      debounceTime(250),
+      distinctUntilChanged(),
+      switchMap(term => this.clientService.buscar(term).pipe(catchError(() => of([] as Opcion[]))))
+    ).subscribe(options => {
+      this.filteredClients = options;
+      this.cdr.markForCheck();
+    });
     if (this.clientIdFilter) {
       this.selectedClientId = this.clientIdFilter;
+      this.loadSelectedClient(this.clientIdFilter);
+    } else {
+      this.loadClients();
     }
     const today = new Date();
     const firstDay = new Date(today.getFullYear(), today.getMonth(), 1);
@@ -48,11 +64,14 @@ export class Reports implements OnInit {
     this.dateTo = today.toISOString().split('T')[0];
   }
 
+  ngOnDestroy(): void {
+    this.clientSearchSubscription?.unsubscribe();
+  }
+
   loadClients(): void {
-    this.clientService.listar(0, 200, '').subscribe({
-      next: (response: any) => {
-        this.clients = response.content || [];
-        this.filteredClients = this.clients;
+    this.clientService.buscar('').subscribe({
+      next: (options: Opcion[]) => {
+        this.filteredClients = options;
         this.cdr.markForCheck();
       },
       error: (err: any) => {
@@ -62,38 +81,35 @@ export class Reports implements OnInit {
     });
   }
 
+  loadSelectedClient(clientId: string): void {
+    this.clientService.obtener(clientId).subscribe({
+      next: client => {
+        this.selectedClientLabel = `${client.name} (${client.identification})`;
+        this.cdr.markForCheck();
+      },
+      error: () => this.cdr.markForCheck()
+    });
+  }
+
   onClientFilterToggle(): void {
     this.clientFilterOpen = !this.clientFilterOpen;
-    if (this.clientFilterOpen) {
-      this.filterClients();
-    }
   }
 
   filterClients(): void {
-    if (!this.clientSearchTerm.trim()) {
-      this.filteredClients = [...this.clients];
-    } else {
-      const term = this.clientSearchTerm.toLowerCase();
-      this.filteredClients = this.clients.filter(client =>
-        client.name.toLowerCase().includes(term) ||
-        client.identification.toLowerCase().includes(term)
-      );
-    }
+    this.clientSearch$.next(this.clientSearchTerm.trim());
   }
 
-  onClientSelected(clientId: string): void {
-    this.selectedClientId = clientId;
+  onClientSelected(client: Opcion): void {
+    this.selectedClientId = client.id;
+    this.selectedClientLabel = client.label;
     this.clientFilterOpen = false;
     this.clientSearchTerm = '';
+    this.filterClients();
     this.cdr.markForCheck();
   }
 
   getSelectedClientName(): string {
-    if (!this.selectedClientId) {
-      return 'Seleccionar Cliente';
-    }
-    const client = this.clients.find(c => c.id === this.selectedClientId);
-    return client ? client.name : 'Seleccionar Cliente';
+    return this.selectedClientId && this.selectedClientLabel ? this.selectedClientLabel : 'Seleccionar Cliente';
   }
 
   onClientSelect(): void {
@@ -175,8 +191,7 @@ export class Reports implements OnInit {
   }
 
   getClientName(clientId: string): string {
-    const client = this.clients.find(c => c.id === clientId);
-    return client ? client.name : 'Cliente';
+    return clientId === this.selectedClientId && this.selectedClientLabel ? this.selectedClientLabel : 'Cliente';
   }
 
   clearReport(): void {
@@ -0,0 +1,22 @@
+import { TestBed } from '@angular/core/testing';
+
+import { AccountStream } from './account-stream';
+
+describe('AccountStream', () => {
+  let service: AccountStream;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({});
+    service = TestBed.inject(AccountStream);
+  });
+
+  it('should be created', () => {
+    expect(service).toBeTruthy();
+  });
+
+  it('should complete without accounts', () => {
+    let completed = false;
+    service.suscribir([]).subscribe({ complete: () => completed = true });
+    expect(completed).toBe(true);
+  });
+});
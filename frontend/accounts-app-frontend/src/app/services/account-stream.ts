@@ -0,0 +1,40 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable } from 'rxjs';
+import { ActualizacionCuenta } from './models';
+import { environment } from '../../environments/environment';
+
+@Injectable({
+  providedIn: 'root',
+})
+export class AccountStream {
+  private apiUrl = `${environment.apiUrl}/cuentas/stream`;
+
+  constructor(private zone: NgZone) {}
+
+  /**
+   * Movimientos y saldo de las cuentas indicadas vía SSE. EventSource reconecta solo;
+   * onEstado informa si la conexión está abierta para decidir si hace falta recargar.
+   */
+  suscribir(cuentaIds: string[], onEstado?: (conectado: boolean) => void): Observable<ActualizacionCuenta> {
+    return new Observable<ActualizacionCuenta>(subscriber => {
+      if (typeof EventSource === 'undefined' || cuentaIds.length === 0) {
+        subscriber.complete();
+        return;
+      }
+
+      const url = `${this.apiUrl}?cuentaIds=${cuentaIds.map(id => encodeURIComponent(id)).join(',')}`;
+      const source = new EventSource(url);
+
+      source.onopen = () => this.zone.run(() => onEstado?.(true));
+      source.onerror = () => this.zone.run(() => onEstado?.(false));
+      source.addEventListener('movimiento', (event: MessageEvent) => {
+        this.zone.run(() => subscriber.next(JSON.parse(event.data) as ActualizacionCuenta));
+      });
+
+      return () => {
+        source.close();
+        onEstado?.(false);
+      };
+    });
+  }
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Cuenta, PaginatedResponse } from './models';
+import { Cuenta, Lote, Opcion, PaginatedResponse } from './models';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -24,10 +24,23 @@ export class Account {
     return this.http.get<PaginatedResponse<Cuenta>>(this.apiUrl, { params });
   }
 
+  buscar(q: string, limit: number = 20): Observable<Opcion[]> {
+    const params = new HttpParams()
+      .set('q', q)
+      .set('limit', limit.toString());
+
+    return this.http.get<Opcion[]>(`${this.apiUrl}/lookup`, { params });
+  }
+
   obtener(id: string): Observable<Cuenta> {
     return this.http.get<Cuenta>(`${this.apiUrl}/${id}`);
   }
 
+  obtenerVarios(ids: string[]): Observable<Lote<Cuenta>> {
+    const params = new HttpParams().set('ids', ids.join(','));
+    return this.http.get<Lote<Cuenta>>(`${this.apiUrl}/batch`, { params });
+  }
+
   crear(cuenta: Cuenta): Observable<Cuenta> {
     return this.http.post<Cuenta>(this.apiUrl, cuenta);
   }
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable, map } from 'rxjs';
-import { Cliente, PaginatedResponse } from './models';
+import { Cliente, Lote, Opcion, PaginatedResponse } from './models';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -24,10 +24,23 @@ export class Client {
     return this.http.get<PaginatedResponse<Cliente>>(this.apiUrl, { params });
   }
 
+  buscar(q: string, limit: number = 20): Observable<Opcion[]> {
+    const params = new HttpParams()
+      .set('q', q)
+      .set('limit', limit.toString());
+
+    return this.http.get<Opcion[]>(`${this.apiUrl}/lookup`, { params });
+  }
+
   obtener(id: string): Observable<Cliente> {
     return this.http.get<Cliente>(`${this.apiUrl}/${id}`);
   }
 
+  obtenerVarios(ids: string[]): Observable<Lote<Cliente>> {
+    const params = new HttpParams().set('ids', ids.join(','));
+    return this.http.get<Lote<Cliente>>(`${this.apiUrl}/batch`, { params });
+  }
+
   crear(cliente: Cliente): Observable<Cliente> {
     return this.http.post<Cliente>(this.apiUrl, cliente);
   }
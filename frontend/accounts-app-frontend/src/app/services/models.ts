@@ -45,6 +45,18 @@ export interface PaginatedResponse<T> {
   totalPages: number;
 }
 
+// Opción de un selector: id y etiqueta, sin el resto de los datos
+export interface Opcion {
+  id: string;
+  label: string;
+}
+
+// Respuesta de una consulta por varios ids: lo encontrado en el orden pedido y los ids que no existen
+export interface Lote<T> {
+  content: T[];
+  missingIds: string[];
+}
+
 export interface Cuenta {
   id?: string;
   accountNumber: string;
@@ -99,3 +111,15 @@ export interface TransactionUpdateRequest {
   amount?: number;
   balance?: number;
 }
+
+export interface ActualizacionCuenta {
+  eventType: 'CREADO' | 'ELIMINADO';
+  accountId: string;
+  movementId: string;
+  transactionType: 'CREDITO' | 'DEBITO';
+  amount: number;
+  balance: number;
+  currentBalance: number;
+  description: string;
+  date: string;
+}